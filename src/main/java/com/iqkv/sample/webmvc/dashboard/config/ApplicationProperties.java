@@ -16,8 +16,16 @@
 
 package com.iqkv.sample.webmvc.dashboard.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Properties specific to Dashboard.
@@ -25,7 +33,546 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * <p>Properties are configured in the {@code application.yml} file.
  */
 @ConfigurationProperties(prefix = "iqkv", ignoreUnknownFields = true)
+@Getter
 @Setter
 public class ApplicationProperties {
 
+  private final Security security = new Security();
+
+  private final UserImport userImport = new UserImport();
+
+  private final UserPurge userPurge = new UserPurge();
+
+  private final Mail mail = new Mail();
+
+  private final Cache cache = new Cache();
+
+  private final Threading threading = new Threading();
+
+  private final Executors executors = new Executors();
+
+  private final ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+
+  private final Spa spa = new Spa();
+
+  @Getter
+  @Setter
+  public static class Security {
+
+    /**
+     * Bearer tokens longer than this are rejected as malformed before being parsed.
+     */
+    private int jwtMaxLength = 8192;
+
+    private final JwtDecoderCache jwtDecoderCache = new JwtDecoderCache();
+
+    private final PasswordHashing passwordHashing = new PasswordHashing();
+
+    private final KnownUsersFilter knownUsersFilter = new KnownUsersFilter();
+
+    private final RateLimit rateLimit = new RateLimit();
+
+    private final FailedLogins failedLogins = new FailedLogins();
+
+    /**
+     * Cache of verified JWTs placed in front of the signature check.
+     */
+    @Getter
+    @Setter
+    public static class JwtDecoderCache {
+
+      private boolean enabled = true;
+
+      private int maxEntries = 10_000;
+    }
+
+    /**
+     * Bounded pool running the BCrypt hashing off the request threads.
+     */
+    @Getter
+    @Setter
+    public static class PasswordHashing {
+
+      /**
+       * BCrypt work factor; stored hashes of another cost are upgraded on the next successful login.
+       */
+      private int strength = 10;
+
+      /**
+       * Hashing threads, defaults to the number of available processors.
+       */
+      private int poolSize = Runtime.getRuntime().availableProcessors();
+
+      /**
+       * Hashes waiting for a thread beyond which requests are rejected with a 429 status.
+       */
+      private int queueCapacity = 64;
+    }
+
+    /**
+     * Bloom filter of the existing logins and emails, short-circuiting lookups of unknown users.
+     */
+    @Getter
+    @Setter
+    public static class KnownUsersFilter {
+
+      private boolean enabled = true;
+
+      private long expectedEntries = 100_000;
+
+      private double falsePositiveProbability = 0.01;
+
+      /**
+       * Delay between two full rebuilds, which forget the deleted users.
+       */
+      private Duration rebuildInterval = Duration.ofHours(1);
+    }
+
+    /**
+     * Token buckets throttling the unauthenticated endpoints which hash passwords or send emails, both by client
+     * address and by targeted login or email, before any of that work is done.
+     */
+    @Getter
+    @Setter
+    public static class RateLimit {
+
+      private boolean enabled = true;
+
+      /**
+       * Buckets of each limit, shared by the keys hashed to them; memory stays bounded whatever the number of keys.
+       */
+      private int buckets = 4096;
+
+      private final Limit authenticate = new Limit(30, 10, Duration.ofMinutes(1));
+
+      private final Limit register = new Limit(10, 3, Duration.ofHours(1));
+
+      private final Limit resetPassword = new Limit(10, 3, Duration.ofHours(1));
+
+      /**
+       * Activation keys are not tied to a login or email known upfront, only clients are limited.
+       */
+      private final Limit activate = new Limit(30, 0, Duration.ofMinutes(1));
+
+      @Getter
+      @Setter
+      public static class Limit {
+
+        /**
+         * Requests of a client address per period, unlimited when 0.
+         */
+        private int clientPermits;
+
+        /**
+         * Requests targeting a login or email per period, unlimited when 0.
+         */
+        private int keyPermits;
+
+        /**
+         * Time for an emptied bucket to refill, which is also the longest burst allowed.
+         */
+        private Duration period;
+
+        public Limit(int clientPermits, int keyPermits, Duration period) {
+          this.clientPermits = clientPermits;
+          this.keyPermits = keyPermits;
+          this.period = period;
+        }
+      }
+    }
+
+    /**
+     * Failed logins counted in memory by login and by client address, locking out the hot-failing ones before
+     * their password is verified.
+     */
+    @Getter
+    @Setter
+    public static class FailedLogins {
+
+      private boolean enabled = true;
+
+      /**
+       * Sliding window over which the failures are counted.
+       */
+      private Duration window = Duration.ofMinutes(15);
+
+      /**
+       * Failures of a login within the window locking it out, until older failures leave the window.
+       */
+      private int loginThreshold = 10;
+
+      /**
+       * Failures of a client address within the window locking it out, whatever the logins tried.
+       */
+      private int clientThreshold = 100;
+
+      /**
+       * Logins and client addresses tracked at most; beyond it, those with the fewest failures are evicted.
+       */
+      private int maxEntries = 100_000;
+    }
+  }
+
+  /**
+   * Bulk creation of users from a CSV or NDJSON upload.
+   */
+  @Getter
+  @Setter
+  public static class UserImport {
+
+    /**
+     * Rows checked, hashed and inserted together, in a transaction of their own.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Rejected rows detailed in the import report, beyond which they are only counted.
+     */
+    private int maxReportedErrors = 1000;
+  }
+
+  /**
+   * Nightly removal of the users not activated within 3 days.
+   */
+  @Getter
+  @Setter
+  public static class UserPurge {
+
+    /**
+     * Users removed together, in a transaction of their own.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Time after which no new chunk is started, the remaining users being left to the next run.
+     */
+    private Duration timeBudget = Duration.ofMinutes(15);
+  }
+
+  /**
+   * Delivery of the emails recorded in the event publication registry.
+   */
+  @Getter
+  @Setter
+  public static class Mail {
+
+    /**
+     * SMTP connections opened at the same time.
+     */
+    private int sessions = 2;
+
+    /**
+     * Emails sent over a single SMTP connection.
+     */
+    private int batchSize = 8;
+
+    /**
+     * Attempts to send an email before leaving it to the resubmission.
+     */
+    private int maxAttempts = 3;
+
+    /**
+     * Delay before the second attempt, doubled for each further attempt.
+     */
+    private Duration initialBackoff = Duration.ofSeconds(2);
+
+    /**
+     * Age of an unsent email after which it is submitted again.
+     */
+    private Duration resubmitAfter = Duration.ofMinutes(5);
+
+    /**
+     * Delay between two looks for unsent emails.
+     */
+    private Duration resubmitInterval = Duration.ofMinutes(1);
+
+    /**
+     * Age of a sent email after which its publication is deleted.
+     */
+    private Duration sentRetention = Duration.ofHours(1);
+
+    /**
+     * Delay between two deletions of the sent emails.
+     */
+    private Duration purgeInterval = Duration.ofMinutes(10);
+  }
+
+  /**
+   * Storage tiers of the caches, by cache name.
+   */
+  @Getter
+  @Setter
+  public static class Cache {
+
+    /**
+     * Tiers of the caches, by cache name. Caches not listed keep a heap tier sized and expired by the
+     * {@code application-settings.cache.ehcache} properties.
+     */
+    private Map<String, Tier> tiers = new LinkedHashMap<>();
+
+    private final Invalidation invalidation = new Invalidation();
+
+    private final WarmUp warmUp = new WarmUp();
+
+    private final RefreshAhead refreshAhead = new RefreshAhead();
+
+    @Getter
+    @Setter
+    public static class Tier {
+
+      /**
+       * Entries kept on the heap, defaults to {@code application-settings.cache.ehcache.max-entries}.
+       */
+      private Long heapEntries;
+
+      /**
+       * Size of the off-heap tier holding the entries evicted from the heap, none when not set. Off-heap memory
+       * counts against {@code -XX:MaxDirectMemorySize}.
+       */
+      private DataSize offHeap;
+
+      /**
+       * Time to live of the entries, defaults to {@code application-settings.cache.ehcache.time-to-live-seconds}.
+       */
+      private Duration timeToLive;
+
+      /**
+       * Time an entry is kept after it was last read, none when not set. Once an entry is read, it replaces the
+       * time to live of that entry.
+       */
+      private Duration timeToIdle;
+
+      /**
+       * Advice given to the heap tier when it is full.
+       */
+      private EvictionAdvice evictionAdvisor = EvictionAdvice.NONE;
+    }
+
+    /**
+     * Propagation of the evictions of the user caches to the other instances.
+     */
+    @Getter
+    @Setter
+    public static class Invalidation {
+
+      /**
+       * Bus carrying the evictions: {@code loopback} within this instance only, or {@code jdbc} through the
+       * {@code cache_invalidation} table shared by all the instances.
+       */
+      private String bus = "loopback";
+
+      /**
+       * Evictions published together, as soon as that many are waiting.
+       */
+      private int batchSize = 100;
+
+      /**
+       * Delay between two publications of the waiting evictions.
+       */
+      private Duration batchWindow = Duration.ofMillis(200);
+
+      /**
+       * Delay between two reads of the evictions published by the other instances.
+       */
+      private Duration pollInterval = Duration.ofSeconds(1);
+
+      /**
+       * Evictions published that long before the previous read are read again, covering late commits and clock
+       * differences between the instances.
+       */
+      private Duration lookback = Duration.ofSeconds(10);
+
+      /**
+       * Age after which the published evictions are deleted.
+       */
+      private Duration retention = Duration.ofHours(1);
+    }
+
+    /**
+     * Loading of the most recently active users into the user caches, before the application accepts traffic.
+     */
+    @Getter
+    @Setter
+    public static class WarmUp {
+
+      private boolean enabled = true;
+
+      /**
+       * Users loaded, most recently modified first.
+       */
+      private int users = 10000;
+
+      /**
+       * Users loaded by each query.
+       */
+      private int batchSize = 500;
+
+      /**
+       * Queries running at the same time.
+       */
+      private int parallelism = 4;
+
+      /**
+       * Time after which the warm-up stops, leaving the remaining users to be cached on first use.
+       */
+      private Duration timeBudget = Duration.ofSeconds(30);
+    }
+
+    /**
+     * Reloading of the users read by login or by email shortly before they expire, while the cached user is still
+     * served.
+     */
+    @Getter
+    @Setter
+    public static class RefreshAhead {
+
+      private boolean enabled = true;
+
+      /**
+       * Fraction of the time to live of the user caches: users read while they have less than that left to live
+       * are reloaded in the background.
+       */
+      private double fraction = 0.2;
+    }
+
+    public enum EvictionAdvice {
+      /**
+       * Any entry may be evicted.
+       */
+      NONE,
+
+      /**
+       * Entries are only evicted when no other choice is left, for small caches of reference data.
+       */
+      KEEP_ALL,
+    }
+  }
+
+  /**
+   * Guards of the virtual threads, used for the requests and the tasks when {@code spring.threads.virtual.enabled}
+   * is set.
+   */
+  @Getter
+  @Setter
+  public static class Threading {
+
+    /**
+     * Whether to count the virtual threads pinned to their carrier thread, from a JFR event stream.
+     */
+    private boolean monitorPinning = true;
+
+    /**
+     * Pinned virtual threads blocked for less than this are not counted.
+     */
+    private Duration pinnedThreshold = Duration.ofMillis(20);
+  }
+
+  /**
+   * Executors of the background workloads, each with its own threads, queue and rejection policy.
+   */
+  @Getter
+  @Setter
+  public static class Executors {
+
+    /**
+     * Rendering the emails and waiting for their delivery; emails rejected are left to the resubmission.
+     */
+    private final Pool mail = new Pool(16, 1000, RejectionPolicy.ABORT);
+
+    /**
+     * Reloading the users refreshed ahead of expiry; users rejected are left to expire.
+     */
+    private final Pool cacheMaintenance = new Pool(2, 1000, RejectionPolicy.ABORT);
+
+    /**
+     * Bulk operations, such as hashing the passwords of the user import apart from the logins.
+     */
+    private final Pool bulk = new Pool(Math.max(1, Runtime.getRuntime().availableProcessors() / 2), 10_000, RejectionPolicy.CALLER_RUNS);
+
+    /**
+     * Scheduled cleanup jobs, such as the purge of the not activated users, apart from the frequent scheduled
+     * tasks. Runs are scheduled rather than queued, the queue capacity and rejection policy do not apply.
+     */
+    private final Pool cleanup = new Pool(1, 0, RejectionPolicy.ABORT);
+
+    @Getter
+    @Setter
+    public static class Pool {
+
+      private int poolSize;
+
+      /**
+       * Tasks waiting for a thread, beyond which the rejection policy applies.
+       */
+      private int queueCapacity;
+
+      private RejectionPolicy rejectionPolicy;
+
+      public Pool(int poolSize, int queueCapacity, RejectionPolicy rejectionPolicy) {
+        this.poolSize = poolSize;
+        this.queueCapacity = queueCapacity;
+        this.rejectionPolicy = rejectionPolicy;
+      }
+    }
+
+    /**
+     * What becomes of a task submitted to a full executor. No policy drops a task silently.
+     */
+    public enum RejectionPolicy {
+      /**
+       * The submitter gets a {@link java.util.concurrent.RejectedExecutionException}.
+       */
+      ABORT,
+
+      /**
+       * The submitter runs the task itself, slowing down to the pace of the executor.
+       */
+      CALLER_RUNS,
+    }
+  }
+
+  /**
+   * Adaptive limit of the requests processed at once, applied to each group of {@code /api} and management routes
+   * apart. Health probes are never limited.
+   */
+  @Getter
+  @Setter
+  public static class ConcurrencyLimit {
+
+    private boolean enabled = true;
+
+    private int initialLimit = 20;
+
+    private int minLimit = 4;
+
+    private int maxLimit = 500;
+
+    /**
+     * Growth of the recent latency over its long-term average tolerated before the limit shrinks.
+     */
+    private double tolerance = 2.0;
+
+    /**
+     * Weight of each new latency sample in the limit, from 0 (never adjusted) to 1 (no smoothing).
+     */
+    private double smoothing = 0.2;
+
+    /**
+     * Sent in the {@code Retry-After} header of the rejected requests, rounded up to the second.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+  }
+
+  /**
+   * Forwarding of the client routes to {@code index.html}.
+   */
+  @Getter
+  @Setter
+  public static class Spa {
+
+    /**
+     * Paths starting with any of these are served by the server and never forwarded, such as the REST API.
+     */
+    private List<String> excludedPrefixes = new ArrayList<>(List.of("/api", "/management", "/v3/api-docs", "/h2-console"));
+  }
 }
@@ -24,9 +24,15 @@ import org.slf4j.LoggerFactory;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.aop.interceptor.SimpleAsyncUncaughtExceptionHandler;
 import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.SimpleAsyncTaskSchedulerBuilder;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -42,13 +48,24 @@ public class AsyncConfiguration implements AsyncConfigurer {
 
   private final TaskExecutionProperties taskExecutionProperties;
 
-  public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties) {
+  private final Environment environment;
+
+  public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties, Environment environment) {
     this.taskExecutionProperties = taskExecutionProperties;
+    this.environment = environment;
   }
 
   @Override
   @Bean(name = "taskExecutor")
   public Executor getAsyncExecutor() {
+    if (Threading.VIRTUAL.isActive(environment)) {
+      LOG.debug("Creating Async Task Executor on virtual threads");
+      SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(taskExecutionProperties.getThreadNamePrefix());
+      executor.setVirtualThreads(true);
+      // Threads are cheap but what the tasks wait for is not: callers wait beyond the concurrency of the former pool
+      executor.setConcurrencyLimit(taskExecutionProperties.getPool().getMaxSize());
+      return new ExceptionHandlingAsyncTaskExecutor(executor);
+    }
     LOG.debug("Creating Async Task Executor");
     ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
     executor.setCorePoolSize(taskExecutionProperties.getPool().getCoreSize());
@@ -58,6 +75,21 @@ public class AsyncConfiguration implements AsyncConfigurer {
     return new ExceptionHandlingAsyncTaskExecutor(executor);
   }
 
+  /**
+   * The default scheduler of Spring Boot, backing off when another scheduler is declared such as the
+   * {@link Constants#CLEANUP_SCHEDULER}: declared here for the other {@code @Scheduled} methods.
+   */
+  @Bean(name = "taskScheduler")
+  public TaskScheduler taskScheduler(
+      ThreadPoolTaskSchedulerBuilder threadPoolTaskSchedulerBuilder,
+      SimpleAsyncTaskSchedulerBuilder simpleAsyncTaskSchedulerBuilder
+  ) {
+    if (Threading.VIRTUAL.isActive(environment)) {
+      return simpleAsyncTaskSchedulerBuilder.build();
+    }
+    return threadPoolTaskSchedulerBuilder.build();
+  }
+
   @Override
   public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
     return new SimpleAsyncUncaughtExceptionHandler();
@@ -17,14 +17,20 @@
 package com.iqkv.sample.webmvc.dashboard.config;
 
 import java.time.Duration;
+import java.util.Map;
 
 import com.iqkv.boot.cache.CacheProperties;
 import com.iqkv.boot.cache.PrefixedKeyGenerator;
 import org.ehcache.config.builders.CacheConfigurationBuilder;
 import org.ehcache.config.builders.ExpiryPolicyBuilder;
 import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.expiry.ExpiryPolicy;
 import org.ehcache.jsr107.Eh107Configuration;
 import org.hibernate.cache.jcache.ConfigSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
@@ -39,22 +45,16 @@ import org.springframework.context.annotation.Configuration;
 @EnableCaching
 public class CacheConfiguration {
 
+  private static final Logger LOG = LoggerFactory.getLogger(CacheConfiguration.class);
+
   private GitProperties gitProperties;
   private BuildProperties buildProperties;
-  private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
-
-  public CacheConfiguration(CacheProperties cacheProperties) {
-    CacheProperties.Ehcache ehcache = cacheProperties.getEhcache();
-
-    jcacheConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
-        CacheConfigurationBuilder.newCacheConfigurationBuilder(
-                Object.class,
-                Object.class,
-                ResourcePoolsBuilder.heap(ehcache.getMaxEntries())
-            )
-            .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
-            .build()
-    );
+  private final CacheProperties.Ehcache ehcache;
+  private final Map<String, ApplicationProperties.Cache.Tier> tiers;
+
+  public CacheConfiguration(CacheProperties cacheProperties, ApplicationProperties applicationProperties) {
+    this.ehcache = cacheProperties.getEhcache();
+    this.tiers = applicationProperties.getCache().getTiers();
   }
 
   @Bean
@@ -78,8 +78,44 @@ public class CacheConfiguration {
     if (cache != null) {
       cache.clear();
     } else {
-      cm.createCache(cacheName, jcacheConfiguration);
+      cm.createCache(cacheName, jcacheConfiguration(cacheName, cm.getClassLoader()));
+    }
+    // Published by the cache metrics as gets by result, puts, evictions and removals
+    cm.enableStatistics(cacheName, true);
+  }
+
+  /**
+   * Builds the configuration of a cache: a heap tier, followed by an off-heap tier when one is sized for the cache.
+   */
+  private javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration(String cacheName, ClassLoader classLoader) {
+    ApplicationProperties.Cache.Tier tier = tiers.getOrDefault(cacheName, new ApplicationProperties.Cache.Tier());
+    long heapEntries = tier.getHeapEntries() != null ? tier.getHeapEntries() : ehcache.getMaxEntries();
+    Duration timeToLive = tier.getTimeToLive() != null ? tier.getTimeToLive() : Duration.ofSeconds(ehcache.getTimeToLiveSeconds());
+
+    ResourcePoolsBuilder resourcePools = ResourcePoolsBuilder.newResourcePoolsBuilder().heap(heapEntries, EntryUnit.ENTRIES);
+    if (tier.getOffHeap() != null) {
+      resourcePools = resourcePools.offheap(Math.max(1, tier.getOffHeap().toMegabytes()), MemoryUnit.MB);
+    }
+    CacheConfigurationBuilder<Object, Object> builder = CacheConfigurationBuilder.newCacheConfigurationBuilder(
+        Object.class,
+        Object.class,
+        resourcePools
+    ).withExpiry(expiry(timeToLive, tier.getTimeToIdle()));
+    if (tier.getEvictionAdvisor() == ApplicationProperties.Cache.EvictionAdvice.KEEP_ALL) {
+      builder = builder.withEvictionAdvisor((key, value) -> true);
+    }
+    if (tier.getOffHeap() != null) {
+      builder = builder.withValueSerializer(new UserCacheSerializer(classLoader));
+      LOG.debug("Cache '{}' keeps {} entries on heap and {} off heap", cacheName, heapEntries, tier.getOffHeap());
+    }
+    return Eh107Configuration.fromEhcacheCacheConfiguration(builder.build());
+  }
+
+  private static ExpiryPolicy<Object, Object> expiry(Duration timeToLive, Duration timeToIdle) {
+    if (timeToIdle == null) {
+      return ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive);
     }
+    return ExpiryPolicyBuilder.expiry().create(timeToLive).access(timeToIdle).update(timeToLive).build();
   }
 
   @Autowired(required = false)
@@ -25,6 +25,12 @@ public final class Constants {
   public static final String LOGIN_REGEX = "^(?>[a-zA-Z0-9!$&*+=?^_`{|}~.-]+@[a-zA-Z0-9-]+(?:\\.[a-zA-Z0-9-]+)*)|(?>[_.@A-Za-z0-9-]+)$";
   public static final String DEFAULT_LANGUAGE = "en";
 
+  // Names of the executors isolating the background workloads from each other, sized by iqkv.executors
+  public static final String MAIL_EXECUTOR = "mailExecutor";
+  public static final String CACHE_MAINTENANCE_EXECUTOR = "cacheMaintenanceExecutor";
+  public static final String BULK_EXECUTOR = "bulkExecutor";
+  public static final String CLEANUP_SCHEDULER = "cleanupScheduler";
+
   private Constants() {
   }
 }
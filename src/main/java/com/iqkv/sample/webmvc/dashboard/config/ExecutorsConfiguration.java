@@ -0,0 +1,101 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.config;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import com.iqkv.sample.webmvc.dashboard.management.ExecutorMetersService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Executors of the background workloads, sized by {@code iqkv.executors}.
+ *
+ * <p>Each workload gets its own threads, queue and rejection policy, so that a slow one, such as emails waiting on
+ * the SMTP server, cannot starve the others. The executors are measured under their bean name by the Spring Boot
+ * task executor metrics, their rejected tasks by the {@link ExecutorMetersService}, and listed by the
+ * {@code executors} management endpoint. They run on platform threads whatever the threading mode.
+ */
+@Configuration
+public class ExecutorsConfiguration {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ExecutorsConfiguration.class);
+
+  private final ApplicationProperties.Executors properties;
+
+  private final ExecutorMetersService metersService;
+
+  public ExecutorsConfiguration(ApplicationProperties applicationProperties, ExecutorMetersService metersService) {
+    this.properties = applicationProperties.getExecutors();
+    this.metersService = metersService;
+  }
+
+  /**
+   * The SMTP client blocks on the network within {@code synchronized} sections, which would pin virtual threads to
+   * their carrier.
+   */
+  @Bean(name = Constants.MAIL_EXECUTOR)
+  public ThreadPoolTaskExecutor mailExecutor() {
+    return executor(Constants.MAIL_EXECUTOR, "dashboard-mail-", properties.getMail());
+  }
+
+  @Bean(name = Constants.CACHE_MAINTENANCE_EXECUTOR)
+  public ThreadPoolTaskExecutor cacheMaintenanceExecutor() {
+    return executor(Constants.CACHE_MAINTENANCE_EXECUTOR, "dashboard-cache-maintenance-", properties.getCacheMaintenance());
+  }
+
+  @Bean(name = Constants.BULK_EXECUTOR)
+  public ThreadPoolTaskExecutor bulkExecutor() {
+    return executor(Constants.BULK_EXECUTOR, "dashboard-bulk-", properties.getBulk());
+  }
+
+  @Bean(name = Constants.CLEANUP_SCHEDULER)
+  public ThreadPoolTaskScheduler cleanupScheduler() {
+    LOG.debug("Creating cleanup Task Scheduler");
+    ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+    scheduler.setPoolSize(properties.getCleanup().getPoolSize());
+    scheduler.setThreadNamePrefix("dashboard-cleanup-");
+    return scheduler;
+  }
+
+  private ThreadPoolTaskExecutor executor(String beanName, String threadNamePrefix, ApplicationProperties.Executors.Pool pool) {
+    LOG.debug("Creating {} Task Executor", beanName);
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(pool.getPoolSize());
+    executor.setMaxPoolSize(pool.getPoolSize());
+    executor.setQueueCapacity(pool.getQueueCapacity());
+    executor.setThreadNamePrefix(threadNamePrefix);
+    executor.setRejectedExecutionHandler(rejectionHandler(beanName, pool.getRejectionPolicy()));
+    return executor;
+  }
+
+  private RejectedExecutionHandler rejectionHandler(String beanName, ApplicationProperties.Executors.RejectionPolicy policy) {
+    RejectedExecutionHandler handler = switch (policy) {
+      case ABORT -> new ThreadPoolExecutor.AbortPolicy();
+      case CALLER_RUNS -> new ThreadPoolExecutor.CallerRunsPolicy();
+    };
+    return (task, executor) -> {
+      metersService.trackRejected(beanName);
+      handler.rejectedExecution(task, executor);
+    };
+  }
+}
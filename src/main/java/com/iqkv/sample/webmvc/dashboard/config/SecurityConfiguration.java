@@ -20,22 +20,37 @@ import static org.springframework.security.config.Customizer.withDefaults;
 
 import com.iqkv.boot.security.AuthoritiesConstants;
 import com.iqkv.boot.security.SecurityProperties;
+import com.iqkv.sample.webmvc.dashboard.management.ConcurrencyLimitMetersService;
+import com.iqkv.sample.webmvc.dashboard.management.SecurityMetersService;
+import com.iqkv.sample.webmvc.dashboard.security.AuthenticationRateLimiter;
+import com.iqkv.sample.webmvc.dashboard.security.AuthorityRegistry;
+import com.iqkv.sample.webmvc.dashboard.security.AuthoritySetJwtAuthenticationConverter;
+import com.iqkv.sample.webmvc.dashboard.security.AuthoritySetMethodSecurityExpressionHandler;
+import com.iqkv.sample.webmvc.dashboard.security.BoundedPasswordEncoder;
+import com.iqkv.sample.webmvc.dashboard.security.BulkPasswordEncoder;
+import com.iqkv.sample.webmvc.dashboard.web.filter.ConcurrencyLimitFilter;
+import com.iqkv.sample.webmvc.dashboard.web.filter.RateLimitFilter;
 import com.iqkv.sample.webmvc.dashboard.web.filter.SpaWebFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.server.resource.web.BearerTokenAuthenticationEntryPoint;
 import org.springframework.security.oauth2.server.resource.web.access.BearerTokenAccessDeniedHandler;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+import org.springframework.security.web.csrf.CsrfFilter;
 import org.springframework.security.web.header.writers.ReferrerPolicyHeaderWriter;
 import org.springframework.security.web.servlet.util.matcher.MvcRequestMatcher;
+import org.springframework.web.filter.CorsFilter;
 import org.springframework.web.servlet.handler.HandlerMappingIntrospector;
 
 @Configuration
@@ -44,21 +59,59 @@ public class SecurityConfiguration {
 
   private final SecurityProperties securityProperties;
 
-  public SecurityConfiguration(SecurityProperties securityProperties) {
+  private final ApplicationProperties applicationProperties;
+
+  public SecurityConfiguration(SecurityProperties securityProperties, ApplicationProperties applicationProperties) {
     this.securityProperties = securityProperties;
+    this.applicationProperties = applicationProperties;
+  }
+
+  @Bean
+  public PasswordEncoder passwordEncoder(SecurityMetersService metersService) {
+    ApplicationProperties.Security.PasswordHashing passwordHashing = applicationProperties.getSecurity().getPasswordHashing();
+    return new BoundedPasswordEncoder(
+        passwordHashing.getStrength(),
+        passwordHashing.getPoolSize(),
+        passwordHashing.getQueueCapacity(),
+        metersService
+    );
+  }
+
+  @Bean
+  public BulkPasswordEncoder bulkPasswordEncoder(@Qualifier(Constants.BULK_EXECUTOR) ThreadPoolTaskExecutor bulkExecutor) {
+    ApplicationProperties.Security.PasswordHashing passwordHashing = applicationProperties.getSecurity().getPasswordHashing();
+    return new BulkPasswordEncoder(passwordHashing.getStrength(), bulkExecutor.getThreadPoolExecutor());
   }
 
+  /**
+   * Static, as advised for the method security infrastructure, and resolving the registry lazily.
+   */
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  static MethodSecurityExpressionHandler methodSecurityExpressionHandler(ObjectProvider<AuthorityRegistry> authorityRegistry) {
+    return new AuthoritySetMethodSecurityExpressionHandler(authorityRegistry::getObject);
   }
 
   @Bean
-  public SecurityFilterChain filterChain(HttpSecurity http, MvcRequestMatcher.Builder mvc) throws Exception {
+  public SecurityFilterChain filterChain(
+      HttpSecurity http,
+      MvcRequestMatcher.Builder mvc,
+      AuthorityRegistry authorityRegistry,
+      ConcurrencyLimitMetersService concurrencyLimitMetersService,
+      AuthenticationRateLimiter authenticationRateLimiter
+  ) throws Exception {
+    // Both ahead of the authentication, so that rejected requests cost neither a token decoding nor a password
+    // hashing, and throttled clients do not take a place within the concurrency limit
+    if (applicationProperties.getSecurity().getRateLimit().isEnabled()) {
+      http.addFilterAfter(new RateLimitFilter(authenticationRateLimiter), CorsFilter.class);
+    }
+    ApplicationProperties.ConcurrencyLimit concurrencyLimit = applicationProperties.getConcurrencyLimit();
+    if (concurrencyLimit.isEnabled()) {
+      http.addFilterBefore(new ConcurrencyLimitFilter(concurrencyLimit, concurrencyLimitMetersService), CsrfFilter.class);
+    }
     http
         .cors(withDefaults())
         .csrf(csrf -> csrf.disable())
-        .addFilterAfter(new SpaWebFilter(), BasicAuthenticationFilter.class)
+        .addFilterAfter(new SpaWebFilter(applicationProperties.getSpa().getExcludedPrefixes()), BasicAuthenticationFilter.class)
         .headers(headers ->
             headers
                 .contentSecurityPolicy(csp -> csp.policyDirectives(securityProperties.getContentSecurityPolicy()))
@@ -85,14 +138,14 @@ public class SecurityConfiguration {
                 .requestMatchers(mvc.pattern("/api/activate")).permitAll()
                 .requestMatchers(mvc.pattern("/api/account/reset-password/init")).permitAll()
                 .requestMatchers(mvc.pattern("/api/account/reset-password/finish")).permitAll()
-                .requestMatchers(mvc.pattern("/api/admin/**")).hasAuthority(AuthoritiesConstants.ADMIN)
+                .requestMatchers(mvc.pattern("/api/admin/**")).access(authorityRegistry.hasAuthority(AuthoritiesConstants.ADMIN))
                 .requestMatchers(mvc.pattern("/api/**")).authenticated()
-                .requestMatchers(mvc.pattern("/v3/api-docs/**")).hasAuthority(AuthoritiesConstants.ADMIN)
+                .requestMatchers(mvc.pattern("/v3/api-docs/**")).access(authorityRegistry.hasAuthority(AuthoritiesConstants.ADMIN))
                 .requestMatchers(mvc.pattern("/management/health")).permitAll()
                 .requestMatchers(mvc.pattern("/management/health/**")).permitAll()
                 .requestMatchers(mvc.pattern("/management/info")).permitAll()
                 .requestMatchers(mvc.pattern("/management/prometheus")).permitAll()
-                .requestMatchers(mvc.pattern("/management/**")).hasAuthority(AuthoritiesConstants.ADMIN)
+                .requestMatchers(mvc.pattern("/management/**")).access(authorityRegistry.hasAuthority(AuthoritiesConstants.ADMIN))
         )
         .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
         .exceptionHandling(exceptions ->
@@ -100,7 +153,9 @@ public class SecurityConfiguration {
                 .authenticationEntryPoint(new BearerTokenAuthenticationEntryPoint())
                 .accessDeniedHandler(new BearerTokenAccessDeniedHandler())
         )
-        .oauth2ResourceServer(oauth2 -> oauth2.jwt(withDefaults()));
+        .oauth2ResourceServer(oauth2 ->
+            oauth2.jwt(jwt -> jwt.jwtAuthenticationConverter(new AuthoritySetJwtAuthenticationConverter(authorityRegistry)))
+        );
     return http.build();
   }
 
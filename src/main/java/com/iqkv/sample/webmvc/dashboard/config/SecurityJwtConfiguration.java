@@ -23,10 +23,11 @@ import javax.crypto.spec.SecretKeySpec;
 
 import com.iqkv.boot.security.SecurityProperties;
 import com.iqkv.sample.webmvc.dashboard.management.SecurityMetersService;
+import com.iqkv.sample.webmvc.dashboard.security.CachingJwtDecoder;
+import com.iqkv.sample.webmvc.dashboard.security.ClassifyingJwtDecoder;
+import com.iqkv.sample.webmvc.dashboard.security.HmacJwtMinter;
 import com.nimbusds.jose.jwk.source.ImmutableSecret;
 import com.nimbusds.jose.util.Base64;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
@@ -37,37 +38,25 @@ import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 @Configuration
 public class SecurityJwtConfiguration {
 
-  private static final Logger LOG = LoggerFactory.getLogger(SecurityJwtConfiguration.class);
-
   private final SecurityProperties securityProperties;
 
-  public SecurityJwtConfiguration(SecurityProperties securityProperties) {
+  private final ApplicationProperties applicationProperties;
+
+  public SecurityJwtConfiguration(SecurityProperties securityProperties, ApplicationProperties applicationProperties) {
     this.securityProperties = securityProperties;
+    this.applicationProperties = applicationProperties;
   }
 
   @Bean
   public JwtDecoder jwtDecoder(SecurityMetersService metersService) {
-    NimbusJwtDecoder jwtDecoder = NimbusJwtDecoder.withSecretKey(getSecretKey()).macAlgorithm(JWT_ALGORITHM).build();
-    return token -> {
-      try {
-        return jwtDecoder.decode(token);
-      } catch (Exception e) {
-        if (e.getMessage().contains("Invalid signature")) {
-          metersService.trackTokenInvalidSignature();
-        } else if (e.getMessage().contains("Jwt expired at")) {
-          metersService.trackTokenExpired();
-        } else if (
-            e.getMessage().contains("Invalid JWT serialization")
-            || e.getMessage().contains("Malformed token")
-            || e.getMessage().contains("Invalid unsecured/JWS/JWE")
-        ) {
-          metersService.trackTokenMalformed();
-        } else {
-          LOG.error("Unknown JWT error {}", e.getMessage());
-        }
-        throw e;
-      }
-    };
+    NimbusJwtDecoder nimbusJwtDecoder = NimbusJwtDecoder.withSecretKey(getSecretKey()).macAlgorithm(JWT_ALGORITHM).build();
+    nimbusJwtDecoder.setJwtValidator(ClassifyingJwtDecoder.timestampValidator());
+    ApplicationProperties.Security security = applicationProperties.getSecurity();
+    ApplicationProperties.Security.JwtDecoderCache decoderCache = security.getJwtDecoderCache();
+    JwtDecoder jwtDecoder = decoderCache.isEnabled()
+        ? new CachingJwtDecoder(nimbusJwtDecoder, decoderCache.getMaxEntries(), metersService)
+        : nimbusJwtDecoder;
+    return new ClassifyingJwtDecoder(jwtDecoder, metersService, security.getJwtMaxLength());
   }
 
   @Bean
@@ -75,6 +64,11 @@ public class SecurityJwtConfiguration {
     return new NimbusJwtEncoder(new ImmutableSecret<>(getSecretKey()));
   }
 
+  @Bean
+  public HmacJwtMinter jwtMinter(JwtEncoder jwtEncoder) {
+    return new HmacJwtMinter(getSecretKey(), jwtEncoder);
+  }
+
   private SecretKey getSecretKey() {
     byte[] keyBytes = Base64.from(securityProperties.getAuthentication().getJwt().getBase64Secret()).decode();
     return new SecretKeySpec(keyBytes, 0, keyBytes.length, JWT_ALGORITHM.getName());
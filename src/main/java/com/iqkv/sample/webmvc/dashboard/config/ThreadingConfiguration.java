@@ -0,0 +1,95 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.config;
+
+import java.sql.SQLException;
+import javax.sql.DataSource;
+
+import com.iqkv.sample.webmvc.dashboard.management.ThreadingMetersService;
+import com.iqkv.sample.webmvc.dashboard.management.VirtualThreadPinningMonitor;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+/**
+ * Reports the threading mode selected by {@code spring.threads.virtual.enabled}, under which Spring Boot runs the
+ * servlet requests, and {@link AsyncConfiguration} the scheduled and {@code @Async} tasks.
+ *
+ * <p>On virtual threads nothing bounds the requests in flight but the JDBC connection pool: the suggested pool size
+ * is published next to the Hikari meters, and the threads pinned to their carrier are counted.
+ */
+@Configuration
+public class ThreadingConfiguration {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ThreadingConfiguration.class);
+
+  private final Environment environment;
+
+  private final ThreadingMetersService metersService;
+
+  private final ObjectProvider<DataSource> dataSource;
+
+  public ThreadingConfiguration(Environment environment, ThreadingMetersService metersService, ObjectProvider<DataSource> dataSource) {
+    this.environment = environment;
+    this.metersService = metersService;
+    this.dataSource = dataSource;
+  }
+
+  @Bean
+  @ConditionalOnThreading(Threading.VIRTUAL)
+  @ConditionalOnProperty(name = "iqkv.threading.monitor-pinning", havingValue = "true", matchIfMissing = true)
+  public VirtualThreadPinningMonitor virtualThreadPinningMonitor(ApplicationProperties applicationProperties) {
+    return new VirtualThreadPinningMonitor(metersService, applicationProperties.getThreading().getPinnedThreshold());
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void reportThreading() {
+    boolean virtual = Threading.VIRTUAL.isActive(environment);
+    int processors = Runtime.getRuntime().availableProcessors();
+    // Starting point of the HikariCP pool sizing guidance, cores * 2 + effective spindles
+    int suggestedConnections = processors * 2 + 1;
+    metersService.bindThreading(virtual, suggestedConnections);
+    if (virtual) {
+      LOG.info(
+          "Requests and tasks run on virtual threads, bounded by {} JDBC connections ({} suggested for {} processors)",
+          maximumPoolSize(dataSource.getIfAvailable()),
+          suggestedConnections,
+          processors
+      );
+    }
+  }
+
+  private static Object maximumPoolSize(DataSource dataSource) {
+    try {
+      if (dataSource != null && dataSource.isWrapperFor(HikariConfigMXBean.class)) {
+        return dataSource.unwrap(HikariConfigMXBean.class).getMaximumPoolSize();
+      }
+    } catch (SQLException e) {
+      LOG.debug("Cannot read the size of the JDBC connection pool: {}", e.getMessage());
+    }
+    return "an unknown number of";
+  }
+}
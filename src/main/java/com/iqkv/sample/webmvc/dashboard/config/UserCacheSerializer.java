@@ -0,0 +1,242 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.iqkv.sample.webmvc.dashboard.domain.Authority;
+import com.iqkv.sample.webmvc.dashboard.domain.User;
+import com.iqkv.sample.webmvc.dashboard.repository.cache.UserPrincipal;
+import org.ehcache.impl.serialization.PlainJavaSerializer;
+import org.ehcache.spi.serialization.Serializer;
+import org.ehcache.spi.serialization.SerializerException;
+
+/**
+ * Serializer of the cache values moved out of the heap.
+ *
+ * <p>{@link UserPrincipal} values, held by the Spring caches of the users, as well as {@link User} and
+ * {@link Authority} values, are written field by field instead of through Java serialization, which records the
+ * class descriptors of the whole class hierarchy in every entry. Other values, such as the Hibernate cache entries,
+ * are Java serialized.
+ */
+public class UserCacheSerializer implements Serializer<Object> {
+
+  private static final byte JAVA = 0;
+  private static final byte USER = 1;
+  private static final byte AUTHORITY = 2;
+  private static final byte PRINCIPAL = 3;
+
+  private final PlainJavaSerializer<Object> javaSerializer;
+
+  public UserCacheSerializer(ClassLoader classLoader) {
+    this.javaSerializer = new PlainJavaSerializer<>(classLoader);
+  }
+
+  @Override
+  public ByteBuffer serialize(Object object) throws SerializerException {
+    if (!(object instanceof UserPrincipal) && !(object instanceof User) && !(object instanceof Authority)) {
+      ByteBuffer serialized = javaSerializer.serialize(object);
+      ByteBuffer buffer = ByteBuffer.allocate(serialized.remaining() + 1);
+      buffer.put(JAVA).put(serialized).flip();
+      return buffer;
+    }
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      if (object instanceof UserPrincipal principal) {
+        out.writeByte(PRINCIPAL);
+        writePrincipal(principal, out);
+      } else if (object instanceof User user) {
+        out.writeByte(USER);
+        writeUser(user, out);
+      } else {
+        out.writeByte(AUTHORITY);
+        out.writeUTF(((Authority) object).getName());
+      }
+    } catch (IOException e) {
+      throw new SerializerException(e);
+    }
+    return ByteBuffer.wrap(bytes.toByteArray());
+  }
+
+  @Override
+  public Object read(ByteBuffer binary) throws ClassNotFoundException, SerializerException {
+    byte type = binary.get();
+    if (type == JAVA) {
+      return javaSerializer.read(binary);
+    }
+    try (DataInputStream in = new DataInputStream(new ByteBufferInputStream(binary))) {
+      return switch (type) {
+        case PRINCIPAL -> readPrincipal(in);
+        case USER -> readUser(in);
+        default -> authority(in.readUTF());
+      };
+    } catch (IOException e) {
+      throw new SerializerException(e);
+    }
+  }
+
+  @Override
+  public boolean equals(Object object, ByteBuffer binary) throws ClassNotFoundException, SerializerException {
+    return object.equals(read(binary));
+  }
+
+  private static void writePrincipal(UserPrincipal principal, DataOutput out) throws IOException {
+    out.writeBoolean(principal.getId() != null);
+    if (principal.getId() != null) {
+      out.writeLong(principal.getId());
+    }
+    writeString(principal.getUsername(), out);
+    writeString(principal.getPassword(), out);
+    out.writeBoolean(principal.isActivated());
+    out.writeShort(principal.getAuthorityNames().size());
+    for (String authorityName : principal.getAuthorityNames()) {
+      out.writeUTF(authorityName);
+    }
+  }
+
+  private static UserPrincipal readPrincipal(DataInput in) throws IOException {
+    Long id = in.readBoolean() ? in.readLong() : null;
+    String login = readString(in);
+    String password = readString(in);
+    boolean activated = in.readBoolean();
+    int authorityCount = in.readShort();
+    List<String> authorityNames = new ArrayList<>(authorityCount);
+    for (int i = 0; i < authorityCount; i++) {
+      authorityNames.add(in.readUTF());
+    }
+    return UserPrincipal.of(id, login, password, activated, authorityNames);
+  }
+
+  private static void writeUser(User user, DataOutput out) throws IOException {
+    out.writeBoolean(user.getId() != null);
+    if (user.getId() != null) {
+      out.writeLong(user.getId());
+    }
+    writeString(user.getLogin(), out);
+    writeString(user.getPassword(), out);
+    writeString(user.getFirstName(), out);
+    writeString(user.getLastName(), out);
+    writeString(user.getEmail(), out);
+    out.writeBoolean(user.isActivated());
+    writeString(user.getLangKey(), out);
+    writeString(user.getImageUrl(), out);
+    writeString(user.getActivationKey(), out);
+    writeString(user.getResetKey(), out);
+    writeInstant(user.getResetDate(), out);
+    writeString(user.getCreatedBy(), out);
+    writeInstant(user.getCreatedDate(), out);
+    writeString(user.getLastModifiedBy(), out);
+    writeInstant(user.getLastModifiedDate(), out);
+    out.writeShort(user.getAuthorities().size());
+    for (Authority authority : user.getAuthorities()) {
+      out.writeUTF(authority.getName());
+    }
+  }
+
+  private static User readUser(DataInput in) throws IOException {
+    User user = new User();
+    if (in.readBoolean()) {
+      user.setId(in.readLong());
+    }
+    user.setLogin(readString(in));
+    user.setPassword(readString(in));
+    user.setFirstName(readString(in));
+    user.setLastName(readString(in));
+    user.setEmail(readString(in));
+    user.setActivated(in.readBoolean());
+    user.setLangKey(readString(in));
+    user.setImageUrl(readString(in));
+    user.setActivationKey(readString(in));
+    user.setResetKey(readString(in));
+    user.setResetDate(readInstant(in));
+    user.setCreatedBy(readString(in));
+    user.setCreatedDate(readInstant(in));
+    user.setLastModifiedBy(readString(in));
+    user.setLastModifiedDate(readInstant(in));
+    int authorityCount = in.readShort();
+    Set<Authority> authorities = new HashSet<>(authorityCount * 2);
+    for (int i = 0; i < authorityCount; i++) {
+      authorities.add(authority(in.readUTF()));
+    }
+    user.setAuthorities(authorities);
+    return user;
+  }
+
+  private static Authority authority(String name) {
+    // Cached authorities were loaded from the database
+    return new Authority().name(name).setIsPersisted();
+  }
+
+  private static void writeString(String value, DataOutput out) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeUTF(value);
+    }
+  }
+
+  private static String readString(DataInput in) throws IOException {
+    return in.readBoolean() ? in.readUTF() : null;
+  }
+
+  private static void writeInstant(Instant value, DataOutput out) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeLong(value.getEpochSecond());
+      out.writeInt(value.getNano());
+    }
+  }
+
+  private static Instant readInstant(DataInput in) throws IOException {
+    return in.readBoolean() ? Instant.ofEpochSecond(in.readLong(), in.readInt()) : null;
+  }
+
+  private static final class ByteBufferInputStream extends InputStream {
+
+    private final ByteBuffer buffer;
+
+    private ByteBufferInputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+      int read = Math.min(length, buffer.remaining());
+      buffer.get(bytes, offset, read);
+      return read;
+    }
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iqkv.sample.webmvc.dashboard.management;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint showing the hit ratio and evictions of each cache, from the cache meters bound to the JCache
+ * statistics.
+ */
+@Component
+@Endpoint(id = "cachestatistics")
+public class CacheStatisticsEndpoint {
+
+  private static final String CACHE_TAG = "cache";
+
+  private final javax.cache.CacheManager cacheManager;
+
+  private final MeterRegistry registry;
+
+  public CacheStatisticsEndpoint(javax.cache.CacheManager cacheManager, MeterRegistry registry) {
+    this.cacheManager = cacheManager;
+    this.registry = registry;
+  }
+
+  @ReadOperation
+  public Map<String, CacheStatistics> caches() {
+    Map<String, CacheStatistics> caches = new TreeMap<>();
+    for (String cacheName : cacheManager.getCacheNames()) {
+      caches.put(cacheName, statistics(cacheName));
+    }
+    return caches;
+  }
+
+  @ReadOperation
+  public CacheStatistics cache(@Selector String cacheName) {
+    return cacheManager.getCache(cacheName) != null ? statistics(cacheName) : null;
+  }
+
+  private CacheStatistics statistics(String cacheName) {
+    long hits = count(registry.find("cache.gets").tags(CACHE_TAG, cacheName, "result", "hit"));
+    long misses = count(registry.find("cache.gets").tags(CACHE_TAG, cacheName, "result", "miss"));
+    return new CacheStatistics(
+        hits,
+        misses,
+        hits + misses == 0 ? 0 : (double) hits / (hits + misses),
+        count(registry.find("cache.puts").tags(CACHE_TAG, cacheName)),
+        count(registry.find("cache.evictions").tags(CACHE_TAG, cacheName)),
+        count(registry.find("cache.removals").tags(CACHE_TAG, cacheName))
+    );
+  }
+
+  private static long count(Search search) {
+    Meter meter = search.meter();
+    if (meter == null) {
+      return 0;
+    }
+    for (Measurement measurement : meter.measure()) {
+      return (long) measurement.getValue();
+    }
+    return 0;
+  }
+
+  /**
+   * Statistics of a cache since the application started.
+   */
+  public record CacheStatistics(long hits, long misses, double hitRatio, long puts, long evictions, long removals) {}
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.management;
+
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ConcurrencyLimitMetersService {
+
+  public static final String LIMIT_METER_NAME = "http.server.concurrency.limit";
+  public static final String LIMIT_METER_DESCRIPTION = "Indicates the requests allowed in flight at once, adjusted from their latency.";
+  public static final String IN_FLIGHT_METER_NAME = "http.server.concurrency.in-flight";
+  public static final String IN_FLIGHT_METER_DESCRIPTION = "Indicates the requests currently in flight.";
+  public static final String REJECTED_METER_NAME = "http.server.concurrency.rejected";
+  public static final String REJECTED_METER_DESCRIPTION =
+      "Indicates the requests rejected with a 503 status because the concurrency limit was reached.";
+  public static final String REJECTED_METER_BASE_UNIT = "requests";
+  public static final String GROUP_DIMENSION = "group";
+
+  private final MeterRegistry registry;
+
+  public ConcurrencyLimitMetersService(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  public void bindGroup(String group, Supplier<Number> limit, Supplier<Number> inFlight) {
+    Gauge.builder(LIMIT_METER_NAME, limit).description(LIMIT_METER_DESCRIPTION).tag(GROUP_DIMENSION, group).register(registry);
+    Gauge.builder(IN_FLIGHT_METER_NAME, inFlight).description(IN_FLIGHT_METER_DESCRIPTION).tag(GROUP_DIMENSION, group).register(registry);
+    rejectedCounter(group);
+  }
+
+  public void trackRejected(String group) {
+    rejectedCounter(group).increment();
+  }
+
+  private Counter rejectedCounter(String group) {
+    return Counter.builder(REJECTED_METER_NAME)
+        .baseUnit(REJECTED_METER_BASE_UNIT)
+        .description(REJECTED_METER_DESCRIPTION)
+        .tag(GROUP_DIMENSION, group)
+        .register(registry);
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ExecutorMetersService {
+
+  public static final String EXECUTOR_REJECTED_METER_NAME = "executor.rejected";
+  public static final String EXECUTOR_REJECTED_METER_DESCRIPTION =
+      "Indicates the tasks submitted to an executor whose threads and queue were full, handled by its rejection policy.";
+  public static final String EXECUTOR_REJECTED_METER_BASE_UNIT = "tasks";
+  public static final String EXECUTOR_NAME_DIMENSION = "name";
+
+  private final MeterRegistry registry;
+
+  public ExecutorMetersService(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  /**
+   * Counts a task rejected by an executor, tagged with its bean name like the {@code executor.*} meters that Spring
+   * Boot binds for the executor beans.
+   */
+  public void trackRejected(String name) {
+    Counter.builder(EXECUTOR_REJECTED_METER_NAME)
+        .baseUnit(EXECUTOR_REJECTED_METER_BASE_UNIT)
+        .description(EXECUTOR_REJECTED_METER_DESCRIPTION)
+        .tag(EXECUTOR_NAME_DIMENSION, name)
+        .register(registry)
+        .increment();
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.management;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint showing the live saturation of each executor, from the {@code executor.*} meters of the
+ * executors bound to the registry, by bean name.
+ */
+@Component
+@Endpoint(id = "executors")
+public class ExecutorsEndpoint {
+
+  private static final String NAME_TAG = ExecutorMetersService.EXECUTOR_NAME_DIMENSION;
+
+  private final MeterRegistry registry;
+
+  public ExecutorsEndpoint(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  @ReadOperation
+  public Map<String, ExecutorSaturation> executors() {
+    Map<String, ExecutorSaturation> executors = new TreeMap<>();
+    for (Meter meter : registry.find("executor.pool.max").meters()) {
+      String name = meter.getId().getTag(NAME_TAG);
+      executors.put(name, saturation(name));
+    }
+    return executors;
+  }
+
+  @ReadOperation
+  public ExecutorSaturation executor(@Selector String name) {
+    return registry.find("executor.pool.max").tag(NAME_TAG, name).meter() != null ? saturation(name) : null;
+  }
+
+  private ExecutorSaturation saturation(String name) {
+    long maxPoolSize = value(registry.find("executor.pool.max").tag(NAME_TAG, name));
+    long active = value(registry.find("executor.active").tag(NAME_TAG, name));
+    long queued = value(registry.find("executor.queued").tag(NAME_TAG, name));
+    long queueRemaining = value(registry.find("executor.queue.remaining").tag(NAME_TAG, name));
+    return new ExecutorSaturation(
+        value(registry.find("executor.pool.size").tag(NAME_TAG, name)),
+        maxPoolSize,
+        active,
+        queued,
+        queueRemaining,
+        value(registry.find("executor.completed").tag(NAME_TAG, name)),
+        value(registry.find(ExecutorMetersService.EXECUTOR_REJECTED_METER_NAME).tag(NAME_TAG, name)),
+        maxPoolSize == 0 ? 0 : (double) active / maxPoolSize,
+        queued + queueRemaining == 0 ? 0 : (double) queued / (queued + queueRemaining)
+    );
+  }
+
+  private static long value(Search search) {
+    Meter meter = search.meter();
+    if (meter == null) {
+      return 0;
+    }
+    for (Measurement measurement : meter.measure()) {
+      return (long) measurement.getValue();
+    }
+    return 0;
+  }
+
+  /**
+   * Current state of an executor, the saturations being the fractions of its threads busy and of its queue used.
+   */
+  public record ExecutorSaturation(
+      long poolSize,
+      long maxPoolSize,
+      long active,
+      long queued,
+      long queueRemaining,
+      long completed,
+      long rejected,
+      double threadSaturation,
+      double queueSaturation
+  ) {}
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.management;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint listing the logins and client addresses with the most failed logins in the current window.
+ */
+@Component
+@Endpoint(id = "failedlogins")
+public class FailedLoginsEndpoint {
+
+  private static final int DEFAULT_LIMIT = 20;
+
+  private final Offenders offenders;
+
+  public FailedLoginsEndpoint(Offenders offenders) {
+    this.offenders = offenders;
+  }
+
+  /**
+   * @param limit the offenders listed of each kind, 20 by default.
+   * @return the top offenders by kind, {@code logins} and {@code clients}, most failing first.
+   */
+  @ReadOperation
+  public Map<String, List<Offender>> offenders(@Nullable Integer limit) {
+    return offenders.topOffenders(limit != null && limit > 0 ? limit : DEFAULT_LIMIT);
+  }
+
+  /**
+   * Source of the failed logins, implemented by the tracker counting them.
+   */
+  public interface Offenders {
+    Map<String, List<Offender>> topOffenders(int limit);
+  }
+
+  /**
+   * A login or client address, its failures estimated over the window, and whether it is locked out.
+   */
+  public record Offender(String key, long failures, boolean lockedOut) {}
+}
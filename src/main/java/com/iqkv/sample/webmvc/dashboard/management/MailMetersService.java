@@ -0,0 +1,92 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iqkv.sample.webmvc.dashboard.management;
+
+import java.time.Duration;
+import java.util.Collection;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Service;
+
+@Service
+public class MailMetersService {
+
+  public static final String MAIL_DELIVERY_METER_NAME = "mail.delivery";
+  public static final String MAIL_DELIVERY_METER_DESCRIPTION = "Indicates the attempts to send an email, by result.";
+  public static final String MAIL_DELIVERY_METER_BASE_UNIT = "emails";
+  public static final String MAIL_DELIVERY_METER_RESULT_DIMENSION = "result";
+
+  public static final String MAIL_LATENCY_METER_NAME = "mail.delivery.latency";
+  public static final String MAIL_LATENCY_METER_DESCRIPTION = "Indicates the time from the request of an email to its delivery to the SMTP server.";
+
+  public static final String MAIL_QUEUE_METER_NAME = "mail.delivery.queue";
+  public static final String MAIL_QUEUE_METER_DESCRIPTION = "Indicates the emails waiting for an SMTP connection.";
+
+  public static final String MAIL_BATCH_METER_NAME = "mail.delivery.batch-size";
+  public static final String MAIL_BATCH_METER_DESCRIPTION = "Indicates the emails sent over each SMTP connection.";
+
+  private final MeterRegistry registry;
+
+  private final Counter mailSentCounter;
+  private final Counter mailFailedCounter;
+
+  private final Timer mailLatencyTimer;
+
+  private final DistributionSummary mailBatchSummary;
+
+  public MailMetersService(MeterRegistry registry) {
+    this.registry = registry;
+
+    this.mailSentCounter = mailDeliveryCounterForResultBuilder("sent").register(registry);
+    this.mailFailedCounter = mailDeliveryCounterForResultBuilder("failed").register(registry);
+    this.mailLatencyTimer = Timer.builder(MAIL_LATENCY_METER_NAME).description(MAIL_LATENCY_METER_DESCRIPTION).register(registry);
+    this.mailBatchSummary = DistributionSummary.builder(MAIL_BATCH_METER_NAME)
+        .baseUnit(MAIL_DELIVERY_METER_BASE_UNIT)
+        .description(MAIL_BATCH_METER_DESCRIPTION)
+        .register(registry);
+  }
+
+  private Counter.Builder mailDeliveryCounterForResultBuilder(String result) {
+    return Counter.builder(MAIL_DELIVERY_METER_NAME)
+        .baseUnit(MAIL_DELIVERY_METER_BASE_UNIT)
+        .description(MAIL_DELIVERY_METER_DESCRIPTION)
+        .tag(MAIL_DELIVERY_METER_RESULT_DIMENSION, result);
+  }
+
+  /**
+   * Publishes the size of the queue in front of the SMTP connections.
+   */
+  public void bindMailQueue(Collection<?> queue) {
+    Gauge.builder(MAIL_QUEUE_METER_NAME, queue, Collection::size).description(MAIL_QUEUE_METER_DESCRIPTION).register(registry);
+  }
+
+  public void trackMailBatch(int size) {
+    this.mailBatchSummary.record(size);
+  }
+
+  public void trackMailSent(Duration latency) {
+    this.mailSentCounter.increment();
+    this.mailLatencyTimer.record(latency);
+  }
+
+  public void trackMailFailed() {
+    this.mailFailedCounter.increment();
+  }
+}
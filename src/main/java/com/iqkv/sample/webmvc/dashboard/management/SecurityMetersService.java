@@ -16,8 +16,13 @@
 
 package com.iqkv.sample.webmvc.dashboard.management;
 
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -29,16 +34,77 @@ public class SecurityMetersService {
   public static final String INVALID_TOKENS_METER_BASE_UNIT = "errors";
   public static final String INVALID_TOKENS_METER_CAUSE_DIMENSION = "cause";
 
+  public static final String TOKEN_CACHE_METER_NAME = "security.authentication.token-cache";
+  public static final String TOKEN_CACHE_METER_DESCRIPTION =
+      "Indicates lookups of the decoded tokens cache, by result.";
+  public static final String TOKEN_CACHE_METER_BASE_UNIT = "lookups";
+  public static final String TOKEN_CACHE_METER_RESULT_DIMENSION = "result";
+
+  public static final String PASSWORD_HASHING_METER_NAME = "security.authentication.password-hashing";
+  public static final String PASSWORD_HASHING_METER_DESCRIPTION = "Indicates the time spent hashing or verifying passwords.";
+  public static final String PASSWORD_HASHING_REJECTED_METER_NAME = "security.authentication.password-hashing.rejected";
+  public static final String PASSWORD_HASHING_REJECTED_METER_DESCRIPTION =
+      "Indicates password hashing requests rejected because the hashing pool was saturated.";
+  public static final String PASSWORD_HASHING_REJECTED_METER_BASE_UNIT = "requests";
+  public static final String PASSWORD_HASHING_QUEUE_METER_NAME = "security.authentication.password-hashing.queue";
+  public static final String PASSWORD_HASHING_QUEUE_METER_DESCRIPTION = "Indicates password hashing requests waiting for a thread.";
+
+  public static final String USER_LOOKUPS_METER_NAME = "security.authentication.user-lookups";
+  public static final String USER_LOOKUPS_METER_DESCRIPTION =
+      "Indicates lookups of unknown users, either avoided by the known users filter or run as a false positive of it.";
+  public static final String USER_LOOKUPS_METER_BASE_UNIT = "lookups";
+  public static final String USER_LOOKUPS_METER_RESULT_DIMENSION = "result";
+  public static final String USER_LOOKUPS_FALSE_POSITIVE_RATE_METER_NAME = "security.authentication.user-lookups.false-positive-rate";
+  public static final String USER_LOOKUPS_FALSE_POSITIVE_RATE_METER_DESCRIPTION =
+      "Indicates the share of unknown users the known users filter failed to reject.";
+
+  public static final String THROTTLED_METER_NAME = "security.authentication.throttled";
+  public static final String THROTTLED_METER_DESCRIPTION =
+      "Indicates requests to the unauthenticated endpoints rejected by a rate limit or a lockout, by endpoint and limited key.";
+  public static final String THROTTLED_METER_BASE_UNIT = "requests";
+  public static final String THROTTLED_METER_ENDPOINT_DIMENSION = "endpoint";
+  public static final String THROTTLED_METER_KEY_DIMENSION = "key";
+
+  private final MeterRegistry registry;
+
   private final Counter tokenInvalidSignatureCounter;
   private final Counter tokenExpiredCounter;
   private final Counter tokenUnsupportedCounter;
   private final Counter tokenMalformedCounter;
 
+  private final Counter tokenCacheHitCounter;
+  private final Counter tokenCacheMissCounter;
+  private final Counter tokenCacheEvictionCounter;
+
+  private final Timer passwordHashingTimer;
+  private final Counter passwordHashingRejectedCounter;
+
+  private final Counter userLookupAvoidedCounter;
+  private final Counter userLookupFalsePositiveCounter;
+
   public SecurityMetersService(MeterRegistry registry) {
+    this.registry = registry;
+
     this.tokenInvalidSignatureCounter = invalidTokensCounterForCauseBuilder("invalid-signature").register(registry);
     this.tokenExpiredCounter = invalidTokensCounterForCauseBuilder("expired").register(registry);
     this.tokenUnsupportedCounter = invalidTokensCounterForCauseBuilder("unsupported").register(registry);
     this.tokenMalformedCounter = invalidTokensCounterForCauseBuilder("malformed").register(registry);
+
+    this.tokenCacheHitCounter = tokenCacheCounterForResultBuilder("hit").register(registry);
+    this.tokenCacheMissCounter = tokenCacheCounterForResultBuilder("miss").register(registry);
+    this.tokenCacheEvictionCounter = tokenCacheCounterForResultBuilder("eviction").register(registry);
+
+    this.passwordHashingTimer = Timer.builder(PASSWORD_HASHING_METER_NAME).description(PASSWORD_HASHING_METER_DESCRIPTION).register(registry);
+    this.passwordHashingRejectedCounter = Counter.builder(PASSWORD_HASHING_REJECTED_METER_NAME)
+        .baseUnit(PASSWORD_HASHING_REJECTED_METER_BASE_UNIT)
+        .description(PASSWORD_HASHING_REJECTED_METER_DESCRIPTION)
+        .register(registry);
+
+    this.userLookupAvoidedCounter = userLookupsCounterForResultBuilder("avoided").register(registry);
+    this.userLookupFalsePositiveCounter = userLookupsCounterForResultBuilder("false-positive").register(registry);
+    Gauge.builder(USER_LOOKUPS_FALSE_POSITIVE_RATE_METER_NAME, this, SecurityMetersService::userLookupFalsePositiveRate)
+        .description(USER_LOOKUPS_FALSE_POSITIVE_RATE_METER_DESCRIPTION)
+        .register(registry);
   }
 
   private Counter.Builder invalidTokensCounterForCauseBuilder(String cause) {
@@ -48,6 +114,35 @@ public class SecurityMetersService {
         .tag(INVALID_TOKENS_METER_CAUSE_DIMENSION, cause);
   }
 
+  private Counter.Builder tokenCacheCounterForResultBuilder(String result) {
+    return Counter.builder(TOKEN_CACHE_METER_NAME)
+        .baseUnit(TOKEN_CACHE_METER_BASE_UNIT)
+        .description(TOKEN_CACHE_METER_DESCRIPTION)
+        .tag(TOKEN_CACHE_METER_RESULT_DIMENSION, result);
+  }
+
+  private Counter.Builder userLookupsCounterForResultBuilder(String result) {
+    return Counter.builder(USER_LOOKUPS_METER_NAME)
+        .baseUnit(USER_LOOKUPS_METER_BASE_UNIT)
+        .description(USER_LOOKUPS_METER_DESCRIPTION)
+        .tag(USER_LOOKUPS_METER_RESULT_DIMENSION, result);
+  }
+
+  private double userLookupFalsePositiveRate() {
+    double falsePositives = userLookupFalsePositiveCounter.count();
+    double unknownUsers = falsePositives + userLookupAvoidedCounter.count();
+    return unknownUsers == 0 ? 0 : falsePositives / unknownUsers;
+  }
+
+  /**
+   * Publishes the size of the queue in front of the password hashing threads.
+   */
+  public void bindPasswordHashingQueue(Collection<?> queue) {
+    Gauge.builder(PASSWORD_HASHING_QUEUE_METER_NAME, queue, Collection::size)
+        .description(PASSWORD_HASHING_QUEUE_METER_DESCRIPTION)
+        .register(registry);
+  }
+
   public void trackTokenInvalidSignature() {
     this.tokenInvalidSignatureCounter.increment();
   }
@@ -63,4 +158,47 @@ public class SecurityMetersService {
   public void trackTokenMalformed() {
     this.tokenMalformedCounter.increment();
   }
+
+  public void trackTokenCacheHit() {
+    this.tokenCacheHitCounter.increment();
+  }
+
+  public void trackTokenCacheMiss() {
+    this.tokenCacheMissCounter.increment();
+  }
+
+  public void trackTokenCacheEviction() {
+    this.tokenCacheEvictionCounter.increment();
+  }
+
+  public void trackPasswordHashing(long durationNanos) {
+    this.passwordHashingTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void trackPasswordHashingRejected() {
+    this.passwordHashingRejectedCounter.increment();
+  }
+
+  public void trackUserLookupAvoided() {
+    this.userLookupAvoidedCounter.increment();
+  }
+
+  public void trackUserLookupFalsePositive() {
+    this.userLookupFalsePositiveCounter.increment();
+  }
+
+  /**
+   * @param endpoint the throttled endpoint.
+   * @param key the kind of key whose limit was reached: {@code client} or {@code target} for the rate limits,
+   *     {@code locked-login} or {@code locked-client} for the failed logins.
+   */
+  public void trackThrottled(String endpoint, String key) {
+    Counter.builder(THROTTLED_METER_NAME)
+        .baseUnit(THROTTLED_METER_BASE_UNIT)
+        .description(THROTTLED_METER_DESCRIPTION)
+        .tag(THROTTLED_METER_ENDPOINT_DIMENSION, endpoint)
+        .tag(THROTTLED_METER_KEY_DIMENSION, key)
+        .register(registry)
+        .increment();
+  }
 }
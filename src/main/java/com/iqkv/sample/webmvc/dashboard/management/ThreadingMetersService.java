@@ -0,0 +1,70 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.management;
+
+import java.time.Duration;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ThreadingMetersService {
+
+  public static final String THREADS_MODE_METER_NAME = "threads.mode";
+  public static final String THREADS_MODE_METER_DESCRIPTION = "Indicates whether the requests and the tasks run on virtual or platform threads.";
+  public static final String THREADS_MODE_METER_MODE_DIMENSION = "mode";
+
+  public static final String PINNED_THREADS_METER_NAME = "threads.virtual.pinned";
+  public static final String PINNED_THREADS_METER_DESCRIPTION =
+      "Indicates the virtual threads that blocked while pinned to their carrier thread, and for how long.";
+
+  public static final String JDBC_CONNECTIONS_SUGGESTED_METER_NAME = "jdbc.connections.suggested";
+  public static final String JDBC_CONNECTIONS_SUGGESTED_METER_DESCRIPTION =
+      "Indicates the suggested size of the JDBC connection pool: twice the available processors, plus one.";
+  public static final String JDBC_CONNECTIONS_SUGGESTED_METER_BASE_UNIT = "connections";
+
+  private final MeterRegistry registry;
+
+  private final Timer pinnedThreadsTimer;
+
+  public ThreadingMetersService(MeterRegistry registry) {
+    this.registry = registry;
+
+    this.pinnedThreadsTimer = Timer.builder(PINNED_THREADS_METER_NAME).description(PINNED_THREADS_METER_DESCRIPTION).register(registry);
+  }
+
+  /**
+   * Publishes the threading mode, and the JDBC pool size suggested for the available processors, to be compared
+   * with {@code hikaricp.connections.max} and {@code hikaricp.connections.pending}.
+   */
+  public void bindThreading(boolean virtual, int suggestedConnections) {
+    Gauge.builder(THREADS_MODE_METER_NAME, () -> 1)
+        .description(THREADS_MODE_METER_DESCRIPTION)
+        .tag(THREADS_MODE_METER_MODE_DIMENSION, virtual ? "virtual" : "platform")
+        .register(registry);
+    Gauge.builder(JDBC_CONNECTIONS_SUGGESTED_METER_NAME, () -> suggestedConnections)
+        .baseUnit(JDBC_CONNECTIONS_SUGGESTED_METER_BASE_UNIT)
+        .description(JDBC_CONNECTIONS_SUGGESTED_METER_DESCRIPTION)
+        .register(registry);
+  }
+
+  public void trackPinnedThread(Duration duration) {
+    this.pinnedThreadsTimer.record(duration);
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iqkv.sample.webmvc.dashboard.management;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Service;
+
+@Service
+public class UserMetersService {
+
+  public static final String PURGED_USERS_METER_NAME = "users.purge.removed";
+  public static final String PURGED_USERS_METER_DESCRIPTION = "Indicates the not activated users removed by the nightly purge.";
+  public static final String PURGED_USERS_METER_BASE_UNIT = "users";
+
+  public static final String PURGE_CHUNKS_METER_NAME = "users.purge.chunks";
+  public static final String PURGE_CHUNKS_METER_DESCRIPTION = "Indicates the time spent removing each chunk of not activated users.";
+
+  public static final String PURGE_RUNS_METER_NAME = "users.purge.runs";
+  public static final String PURGE_RUNS_METER_DESCRIPTION =
+      "Indicates the duration of the purges, by outcome: complete, or stopped by the time budget.";
+  public static final String PURGE_RUNS_METER_OUTCOME_DIMENSION = "outcome";
+
+  public static final String CACHE_INVALIDATIONS_METER_NAME = "users.cache.invalidations";
+  public static final String CACHE_INVALIDATIONS_METER_DESCRIPTION = "Indicates the evictions of the user caches, by direction: published or received.";
+  public static final String CACHE_INVALIDATIONS_METER_BASE_UNIT = "evictions";
+  public static final String CACHE_INVALIDATIONS_METER_DIRECTION_DIMENSION = "direction";
+
+  public static final String CACHE_INVALIDATION_LAG_METER_NAME = "users.cache.invalidation.lag";
+  public static final String CACHE_INVALIDATION_LAG_METER_DESCRIPTION =
+      "Indicates the time from the commit evicting a user to the eviction of the user caches of this instance.";
+
+  public static final String CACHE_WARM_UP_METER_NAME = "users.cache.warm-up";
+  public static final String CACHE_WARM_UP_METER_DESCRIPTION = "Indicates the duration of the warm-up of the user caches at startup.";
+
+  public static final String CACHE_WARM_UP_USERS_METER_NAME = "users.cache.warm-up.loaded";
+  public static final String CACHE_WARM_UP_USERS_METER_DESCRIPTION = "Indicates the users loaded into the user caches at startup.";
+
+  public static final String CACHE_LOADS_METER_NAME = "users.cache.loads";
+  public static final String CACHE_LOADS_METER_DESCRIPTION =
+      "Indicates the loads of the user caches, by cache and by outcome: queried on a miss, coalesced with the query of a concurrent miss, or refreshed ahead of expiry.";
+  public static final String CACHE_LOADS_METER_CACHE_DIMENSION = "cache";
+  public static final String CACHE_LOADS_METER_OUTCOME_DIMENSION = "outcome";
+
+  private final MeterRegistry registry;
+
+  private final Counter purgedUsersCounter;
+
+  private final Timer purgeChunksTimer;
+
+  private final Timer purgeCompleteTimer;
+  private final Timer purgeBudgetExhaustedTimer;
+
+  private final Counter cacheInvalidationsPublishedCounter;
+  private final Counter cacheInvalidationsReceivedCounter;
+
+  private final Timer cacheInvalidationLagTimer;
+
+  private final Timer cacheWarmUpTimer;
+
+  private final Counter cacheWarmUpUsersCounter;
+
+  public UserMetersService(MeterRegistry registry) {
+    this.registry = registry;
+
+    this.purgedUsersCounter = Counter.builder(PURGED_USERS_METER_NAME)
+        .baseUnit(PURGED_USERS_METER_BASE_UNIT)
+        .description(PURGED_USERS_METER_DESCRIPTION)
+        .register(registry);
+    this.purgeChunksTimer = Timer.builder(PURGE_CHUNKS_METER_NAME).description(PURGE_CHUNKS_METER_DESCRIPTION).register(registry);
+    this.purgeCompleteTimer = purgeRunsTimerForOutcomeBuilder("complete").register(registry);
+    this.purgeBudgetExhaustedTimer = purgeRunsTimerForOutcomeBuilder("budget-exhausted").register(registry);
+    this.cacheInvalidationsPublishedCounter = cacheInvalidationsCounterForDirectionBuilder("published").register(registry);
+    this.cacheInvalidationsReceivedCounter = cacheInvalidationsCounterForDirectionBuilder("received").register(registry);
+    this.cacheInvalidationLagTimer = Timer.builder(CACHE_INVALIDATION_LAG_METER_NAME)
+        .description(CACHE_INVALIDATION_LAG_METER_DESCRIPTION)
+        .register(registry);
+    this.cacheWarmUpTimer = Timer.builder(CACHE_WARM_UP_METER_NAME).description(CACHE_WARM_UP_METER_DESCRIPTION).register(registry);
+    this.cacheWarmUpUsersCounter = Counter.builder(CACHE_WARM_UP_USERS_METER_NAME)
+        .baseUnit(PURGED_USERS_METER_BASE_UNIT)
+        .description(CACHE_WARM_UP_USERS_METER_DESCRIPTION)
+        .register(registry);
+  }
+
+  private Counter.Builder cacheInvalidationsCounterForDirectionBuilder(String direction) {
+    return Counter.builder(CACHE_INVALIDATIONS_METER_NAME)
+        .baseUnit(CACHE_INVALIDATIONS_METER_BASE_UNIT)
+        .description(CACHE_INVALIDATIONS_METER_DESCRIPTION)
+        .tag(CACHE_INVALIDATIONS_METER_DIRECTION_DIMENSION, direction);
+  }
+
+  private Counter cacheLoadsCounter(String cache, String outcome) {
+    return Counter.builder(CACHE_LOADS_METER_NAME)
+        .description(CACHE_LOADS_METER_DESCRIPTION)
+        .tag(CACHE_LOADS_METER_CACHE_DIMENSION, cache)
+        .tag(CACHE_LOADS_METER_OUTCOME_DIMENSION, outcome)
+        .register(registry);
+  }
+
+  private Timer.Builder purgeRunsTimerForOutcomeBuilder(String outcome) {
+    return Timer.builder(PURGE_RUNS_METER_NAME).description(PURGE_RUNS_METER_DESCRIPTION).tag(PURGE_RUNS_METER_OUTCOME_DIMENSION, outcome);
+  }
+
+  public void trackPurgeChunk(int removedUsers, long durationNanos) {
+    this.purgedUsersCounter.increment(removedUsers);
+    this.purgeChunksTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void trackPurgeRun(boolean complete, long durationNanos) {
+    (complete ? this.purgeCompleteTimer : this.purgeBudgetExhaustedTimer).record(durationNanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void trackCacheInvalidationsPublished(int evictions) {
+    this.cacheInvalidationsPublishedCounter.increment(evictions);
+  }
+
+  public void trackCacheInvalidationReceived(Duration lag) {
+    this.cacheInvalidationsReceivedCounter.increment();
+    this.cacheInvalidationLagTimer.record(lag);
+  }
+
+  public void trackCacheWarmUp(long loadedUsers, long durationNanos) {
+    this.cacheWarmUpUsersCounter.increment(loadedUsers);
+    this.cacheWarmUpTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void trackCacheLoadQueried(String cache) {
+    cacheLoadsCounter(cache, "queried").increment();
+  }
+
+  public void trackCacheLoadCoalesced(String cache) {
+    cacheLoadsCounter(cache, "coalesced").increment();
+  }
+
+  public void trackCacheLoadRefreshed(String cache) {
+    cacheLoadsCounter(cache, "refreshed").increment();
+  }
+}
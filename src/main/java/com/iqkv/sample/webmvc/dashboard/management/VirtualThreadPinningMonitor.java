@@ -0,0 +1,107 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.management;
+
+import java.time.Duration;
+import java.util.List;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Counts the virtual threads pinned to their carrier thread while blocked, such as in a {@code synchronized}
+ * section around I/O, from the {@code jdk.VirtualThreadPinned} events of a JFR stream.
+ *
+ * <p>A pinned virtual thread holds one of the few carrier threads for as long as it blocks, so a code path pinning
+ * under load starves all the other virtual threads. The frame where the thread blocked is logged at debug level.
+ */
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+  private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+  private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+  private final ThreadingMetersService metersService;
+
+  private final Duration threshold;
+
+  private RecordingStream stream;
+
+  public VirtualThreadPinningMonitor(ThreadingMetersService metersService, Duration threshold) {
+    this.metersService = metersService;
+    this.threshold = threshold;
+  }
+
+  @Override
+  public synchronized void start() {
+    try {
+      RecordingStream recordingStream = new RecordingStream();
+      recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+      recordingStream.onEvent(PINNED_EVENT, this::pinned);
+      recordingStream.startAsync();
+      stream = recordingStream;
+      LOG.debug("Monitoring virtual threads pinned for more than {}", threshold);
+    } catch (RuntimeException e) {
+      // Flight recorder left out of the runtime image, or disabled
+      LOG.warn("Cannot monitor pinned virtual threads: {}", e.getMessage());
+    }
+  }
+
+  @Override
+  public synchronized void stop() {
+    if (stream != null) {
+      stream.close();
+      stream = null;
+    }
+  }
+
+  @Override
+  public synchronized boolean isRunning() {
+    return stream != null;
+  }
+
+  private void pinned(RecordedEvent event) {
+    metersService.trackPinnedThread(event.getDuration());
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Virtual thread pinned for {} at {}", event.getDuration(), callerFrame(event));
+    }
+  }
+
+  /**
+   * The first frame outside of the JDK, which holds the monitor or called the native code pinning the thread.
+   */
+  private static String callerFrame(RecordedEvent event) {
+    if (event.getStackTrace() == null) {
+      return "unknown frame";
+    }
+    List<RecordedFrame> frames = event.getStackTrace().getFrames();
+    RecordedFrame caller = frames.stream().filter(frame -> !isJdkFrame(frame)).findFirst().orElse(frames.isEmpty() ? null : frames.get(0));
+    if (caller == null) {
+      return "unknown frame";
+    }
+    return caller.getMethod().getType().getName() + '.' + caller.getMethod().getName() + ':' + caller.getLineNumber();
+  }
+
+  private static boolean isJdkFrame(RecordedFrame frame) {
+    String type = frame.getMethod().getType().getName();
+    return type.startsWith("java.") || type.startsWith("jdk.") || type.startsWith("sun.");
+  }
+}
@@ -16,16 +16,27 @@
 
 package com.iqkv.sample.webmvc.dashboard.repository;
 
+import jakarta.persistence.QueryHint;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import com.iqkv.sample.webmvc.dashboard.domain.User;
-import org.springframework.cache.annotation.Cacheable;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -41,19 +52,91 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
   List<User> findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant dateTime);
 
+  List<UserKeys> findByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBeforeOrderByIdAsc(Instant dateTime, Limit limit);
+
+  /**
+   * Deletes the authorities of the given users that are still not activated, declaring the join table as the only
+   * table touched so that the rest of the second-level cache is kept.
+   */
+  @Modifying
+  @Query(
+      value = "delete from iqkv_user_authority where user_id in (select id from iqkv_user where id in :ids and activated = false)",
+      nativeQuery = true
+  )
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "iqkv_user_authority"))
+  int deleteNotActivatedUsersAuthorities(@Param("ids") Collection<Long> ids);
+
+  @Modifying
+  @Query("delete from User u where u.id in :ids and u.activated = false")
+  int deleteNotActivatedUsers(@Param("ids") Collection<Long> ids);
+
   Optional<User> findOneByResetKey(String resetKey);
 
   Optional<User> findOneByEmailIgnoreCase(String email);
 
   Optional<User> findOneByLogin(String login);
 
+  /**
+   * Loads a user with its authorities, bypassing the {@link #USERS_BY_LOGIN_CACHE} cache maintained by the
+   * {@link com.iqkv.sample.webmvc.dashboard.repository.cache.UserLookupCache}.
+   */
   @EntityGraph(attributePaths = "authorities")
-  @Cacheable(cacheNames = USERS_BY_LOGIN_CACHE)
   Optional<User> findOneWithAuthoritiesByLogin(String login);
 
+  /**
+   * Loads a user with its authorities, bypassing the {@link #USERS_BY_EMAIL_CACHE} cache maintained by the
+   * {@link com.iqkv.sample.webmvc.dashboard.repository.cache.UserLookupCache}.
+   */
   @EntityGraph(attributePaths = "authorities")
-  @Cacheable(cacheNames = USERS_BY_EMAIL_CACHE)
   Optional<User> findOneWithAuthoritiesByEmailIgnoreCase(String email);
 
   Page<User> findAllByIdNotNullAndActivatedIsTrue(Pageable pageable);
+
+  /**
+   * Ids of the activated users, most recently modified first, standing for the most recently active ones.
+   */
+  @Query("select u.id from User u where u.activated = true order by u.lastModifiedDate desc nulls last, u.id desc")
+  List<Long> findRecentlyModifiedActivatedUserIds(Limit limit);
+
+  @EntityGraph(attributePaths = "authorities")
+  List<User> findAllWithAuthoritiesByIdIn(Collection<Long> ids);
+
+  @Query("select u.login from User u where u.login in :logins")
+  List<String> findExistingLogins(@Param("logins") Collection<String> logins);
+
+  @Query("select u.email from User u where u.email in :emails")
+  List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+  Window<User> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+  Window<User> findAllByIdNotNullAndActivatedIsTrue(ScrollPosition position, Sort sort, Limit limit);
+
+  /**
+   * Streams all the users with their authorities in id order, through a forward-only cursor. The rows are read
+   * in batches of the fetch size and bypass the second-level cache, so the caller only needs to detach them.
+   */
+  @EntityGraph(attributePaths = "authorities")
+  @QueryHints(
+      {
+          @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+          @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+          @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"),
+      }
+  )
+  Stream<User> streamAllByOrderByIdAsc();
+
+  @Query(value = "select login from iqkv_user union all select email from iqkv_user where email is not null", nativeQuery = true)
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  Stream<String> streamAllLoginsAndEmails();
+
+  /**
+   * Projection of the keys the users are cached by.
+   */
+  interface UserKeys {
+    Long getId();
+
+    String getLogin();
+
+    String getEmail();
+  }
 }
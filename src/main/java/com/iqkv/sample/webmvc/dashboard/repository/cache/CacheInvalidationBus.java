@@ -0,0 +1,39 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.repository.cache;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Carries the evictions of the user caches between the instances of the application.
+ */
+public interface CacheInvalidationBus {
+  /**
+   * Publishes a batch of evictions to all the instances.
+   *
+   * @param invalidations the evictions, in the order they were issued.
+   */
+  void publish(List<UserCacheInvalidation> invalidations);
+
+  /**
+   * Registers a listener of the published evictions. Listeners may receive an eviction more than once.
+   *
+   * @param listener the listener, called with each batch of received evictions.
+   */
+  void subscribe(Consumer<List<UserCacheInvalidation>> listener);
+}
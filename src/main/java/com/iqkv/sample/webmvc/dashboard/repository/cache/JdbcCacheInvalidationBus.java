@@ -0,0 +1,151 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.repository.cache;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import com.iqkv.sample.webmvc.dashboard.config.ApplicationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link CacheInvalidationBus} sharing the evictions through the {@code cache_invalidation} table, without any
+ * broker.
+ *
+ * <p>Each instance inserts its evictions in batches, and polls the ones of the other instances by publication date.
+ * Rows are inserted after the transaction evicting the users committed, and may become visible out of the order of
+ * their ids: each poll reads again the rows of the {@code lookback} period, skipping the ones already delivered.
+ */
+@Component
+@ConditionalOnProperty(prefix = "iqkv.cache.invalidation", name = "bus", havingValue = "jdbc")
+public class JdbcCacheInvalidationBus implements CacheInvalidationBus {
+
+  private static final Logger LOG = LoggerFactory.getLogger(JdbcCacheInvalidationBus.class);
+
+  private static final String INSERT_SQL =
+      "insert into cache_invalidation (node_id, user_id, login, email, issued_date) values (?, ?, ?, ?, ?)";
+
+  private static final String SELECT_SQL =
+      "select id, user_id, login, email, issued_date from cache_invalidation where issued_date >= ? and node_id <> ? order by id";
+
+  private static final String DELETE_SQL = "delete from cache_invalidation where issued_date < ?";
+
+  /**
+   * Polls between two deletions of the expired rows.
+   */
+  private static final int POLLS_PER_CLEANUP = 60;
+
+  private final String nodeId = UUID.randomUUID().toString();
+
+  private final JdbcTemplate jdbcTemplate;
+
+  private final ApplicationProperties.Cache.Invalidation properties;
+
+  private final List<Consumer<List<UserCacheInvalidation>>> listeners = new CopyOnWriteArrayList<>();
+
+  /**
+   * Publication dates of the rows delivered within the lookback period, by id.
+   */
+  private final Map<Long, Instant> delivered = new HashMap<>();
+
+  /**
+   * Guards the polls, rather than {@code synchronized} which would pin a virtual scheduler thread during the query.
+   */
+  private final ReentrantLock pollLock = new ReentrantLock();
+
+  private Instant lastPoll = Instant.now();
+
+  private int polls;
+
+  public JdbcCacheInvalidationBus(JdbcTemplate jdbcTemplate, ApplicationProperties applicationProperties) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.properties = applicationProperties.getCache().getInvalidation();
+  }
+
+  @Override
+  public void publish(List<UserCacheInvalidation> invalidations) {
+    jdbcTemplate.batchUpdate(INSERT_SQL, invalidations, invalidations.size(), (ps, invalidation) -> {
+      ps.setString(1, nodeId);
+      if (invalidation.id() != null) {
+        ps.setLong(2, invalidation.id());
+      } else {
+        ps.setNull(2, Types.BIGINT);
+      }
+      ps.setString(3, invalidation.login());
+      ps.setString(4, invalidation.email());
+      ps.setTimestamp(5, Timestamp.from(invalidation.issuedAt()));
+    });
+  }
+
+  @Override
+  public void subscribe(Consumer<List<UserCacheInvalidation>> listener) {
+    listeners.add(listener);
+  }
+
+  /**
+   * Delivers the evictions published by the other instances since the previous poll.
+   */
+  @Scheduled(fixedDelayString = "${iqkv.cache.invalidation.poll-interval:PT1S}")
+  public void poll() {
+    pollLock.lock();
+    try {
+      Instant pollStart = Instant.now();
+      Instant since = lastPoll.minus(properties.getLookback());
+      List<UserCacheInvalidation> received = new ArrayList<>();
+      jdbcTemplate.query(
+          SELECT_SQL,
+          (RowCallbackHandler) rs -> {
+            long id = rs.getLong("id");
+            Instant issuedAt = rs.getTimestamp("issued_date").toInstant();
+            if (delivered.putIfAbsent(id, issuedAt) == null) {
+              long userId = rs.getLong("user_id");
+              received.add(new UserCacheInvalidation(rs.wasNull() ? null : userId, rs.getString("login"), rs.getString("email"), issuedAt));
+            }
+          },
+          Timestamp.from(since),
+          nodeId
+      );
+      delivered.values().removeIf(issuedAt -> issuedAt.isBefore(since));
+      lastPoll = pollStart;
+      if (!received.isEmpty()) {
+        LOG.debug("Received {} user cache evictions", received.size());
+        listeners.forEach(listener -> listener.accept(received));
+      }
+      if (++polls % POLLS_PER_CLEANUP == 0) {
+        int deleted = jdbcTemplate.update(DELETE_SQL, Timestamp.from(pollStart.minus(properties.getRetention())));
+        LOG.debug("Deleted {} expired user cache evictions", deleted);
+      }
+    } finally {
+      pollLock.unlock();
+    }
+  }
+}
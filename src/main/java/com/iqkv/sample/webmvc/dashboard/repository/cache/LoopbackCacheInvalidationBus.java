@@ -0,0 +1,45 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.repository.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link CacheInvalidationBus} delivering the evictions to the listeners of this instance only, for a single
+ * instance deployment.
+ */
+@Component
+@ConditionalOnProperty(prefix = "iqkv.cache.invalidation", name = "bus", havingValue = "loopback", matchIfMissing = true)
+public class LoopbackCacheInvalidationBus implements CacheInvalidationBus {
+
+  private final List<Consumer<List<UserCacheInvalidation>>> listeners = new CopyOnWriteArrayList<>();
+
+  @Override
+  public void publish(List<UserCacheInvalidation> invalidations) {
+    listeners.forEach(listener -> listener.accept(invalidations));
+  }
+
+  @Override
+  public void subscribe(Consumer<List<UserCacheInvalidation>> listener) {
+    listeners.add(listener);
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.repository.cache;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/**
+ * Runs at most one load per key at a time: callers asking for a key while it is loaded wait for the running load
+ * and share its result, or its failure.
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the loaded values.
+ */
+final class SingleFlight<K, V> {
+
+  private final Map<K, CompletableFuture<V>> loads = new ConcurrentHashMap<>();
+
+  private final Runnable onCoalesced;
+
+  /**
+   * @param onCoalesced invoked for each caller waiting for the load of another caller.
+   */
+  SingleFlight(Runnable onCoalesced) {
+    this.onCoalesced = onCoalesced;
+  }
+
+  /**
+   * Loads the value on the calling thread, or waits for the running load of the same key.
+   */
+  V load(K key, Function<K, V> loader) {
+    CompletableFuture<V> load = new CompletableFuture<>();
+    CompletableFuture<V> running = loads.putIfAbsent(key, load);
+    if (running != null) {
+      onCoalesced.run();
+      return await(running);
+    }
+    run(key, loader, load);
+    return await(load);
+  }
+
+  /**
+   * Loads the value on the executor, unless a load of the same key is already running.
+   *
+   * @param fallback the value handed to the callers waiting for the load, when the executor rejects it.
+   */
+  void loadInBackground(K key, Function<K, V> loader, Executor executor, V fallback) {
+    CompletableFuture<V> load = new CompletableFuture<>();
+    if (loads.putIfAbsent(key, load) != null) {
+      return;
+    }
+    try {
+      executor.execute(() -> run(key, loader, load));
+    } catch (RejectedExecutionException e) {
+      loads.remove(key, load);
+      load.complete(fallback);
+    }
+  }
+
+  private void run(K key, Function<K, V> loader, CompletableFuture<V> load) {
+    try {
+      load.complete(loader.apply(key));
+    } catch (Throwable e) {
+      // Also completes the load on errors, which would otherwise leave the waiting callers blocked
+      load.completeExceptionally(e);
+    } finally {
+      loads.remove(key, load);
+    }
+  }
+
+  private static <V> V await(CompletableFuture<V> load) {
+    try {
+      return load.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.repository.cache;
+
+import java.time.Instant;
+
+/**
+ * Eviction of a user from the user caches.
+ *
+ * @param id the id of the user, evicted from the Hibernate caches, or {@code null} for a user never stored.
+ * @param login the login of the user.
+ * @param email the email of the user, if any.
+ * @param issuedAt when the eviction was published.
+ */
+public record UserCacheInvalidation(Long id, String login, String email, Instant issuedAt) {}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.repository.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.iqkv.sample.webmvc.dashboard.config.ApplicationProperties;
+import com.iqkv.sample.webmvc.dashboard.domain.User;
+import com.iqkv.sample.webmvc.dashboard.management.UserMetersService;
+import com.iqkv.sample.webmvc.dashboard.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Evicts users from the user caches of this instance, and of the other instances through the
+ * {@link CacheInvalidationBus}.
+ *
+ * <p>The Spring caches of the users are evicted right away, and again once the current transaction commits since
+ * this instance doesn't receive its own evictions and may have cached the user meanwhile. Evictions are published
+ * once the current transaction commits, in batches of up to {@code batch-size} evictions at most
+ * {@code batch-window} apart. Received evictions also evict the Hibernate caches of the user and of its
+ * authorities, which Hibernate only maintains on the instance that made the change.
+ */
+@Component
+public class UserCacheInvalidator {
+
+  private static final Logger LOG = LoggerFactory.getLogger(UserCacheInvalidator.class);
+
+  private static final String USER_AUTHORITIES_ROLE = User.class.getName() + ".authorities";
+
+  private final CacheManager cacheManager;
+
+  private final EntityManagerFactory entityManagerFactory;
+
+  private final CacheInvalidationBus bus;
+
+  private final UserMetersService metersService;
+
+  private final int batchSize;
+
+  private final Queue<UserCacheInvalidation> pending = new ConcurrentLinkedQueue<>();
+
+  private final AtomicInteger pendingCount = new AtomicInteger();
+
+  public UserCacheInvalidator(
+      CacheManager cacheManager,
+      EntityManagerFactory entityManagerFactory,
+      CacheInvalidationBus bus,
+      UserMetersService metersService,
+      ApplicationProperties applicationProperties
+  ) {
+    this.cacheManager = cacheManager;
+    this.entityManagerFactory = entityManagerFactory;
+    this.bus = bus;
+    this.metersService = metersService;
+    this.batchSize = applicationProperties.getCache().getInvalidation().getBatchSize();
+    bus.subscribe(this::apply);
+  }
+
+  /**
+   * Evicts a user from the caches of all the instances.
+   *
+   * @param id the id of the user, or {@code null} for a user never stored.
+   * @param login the login of the user.
+   * @param email the email of the user, if any.
+   */
+  public void invalidate(Long id, String login, String email) {
+    evictSpringCaches(login, email);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              evictSpringCaches(login, email);
+              enqueue(id, login, email);
+            }
+          }
+      );
+    } else {
+      enqueue(id, login, email);
+    }
+  }
+
+  /**
+   * Publishes the waiting evictions.
+   */
+  @Scheduled(fixedDelayString = "${iqkv.cache.invalidation.batch-window:PT0.2S}")
+  public void flush() {
+    List<UserCacheInvalidation> batch = new ArrayList<>(batchSize);
+    UserCacheInvalidation invalidation;
+    while ((invalidation = pending.poll()) != null) {
+      pendingCount.decrementAndGet();
+      batch.add(invalidation);
+      if (batch.size() == batchSize) {
+        publish(batch);
+        batch = new ArrayList<>(batchSize);
+      }
+    }
+    if (!batch.isEmpty()) {
+      publish(batch);
+    }
+  }
+
+  private void enqueue(Long id, String login, String email) {
+    pending.add(new UserCacheInvalidation(id, login, email, Instant.now()));
+    if (pendingCount.incrementAndGet() >= batchSize) {
+      flush();
+    }
+  }
+
+  private void publish(List<UserCacheInvalidation> batch) {
+    try {
+      bus.publish(batch);
+      metersService.trackCacheInvalidationsPublished(batch.size());
+    } catch (RuntimeException e) {
+      // The other instances keep the evicted users until their time to live
+      LOG.warn("Could not publish {} user cache evictions: {}", batch.size(), e.getMessage());
+    }
+  }
+
+  private void apply(List<UserCacheInvalidation> invalidations) {
+    org.hibernate.Cache hibernateCache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    Instant now = Instant.now();
+    for (UserCacheInvalidation invalidation : invalidations) {
+      evictSpringCaches(invalidation.login(), invalidation.email());
+      if (invalidation.id() != null) {
+        hibernateCache.evictEntityData(User.class, invalidation.id());
+        hibernateCache.evictCollectionData(USER_AUTHORITIES_ROLE, invalidation.id());
+      }
+      metersService.trackCacheInvalidationReceived(Duration.between(invalidation.issuedAt(), now));
+    }
+  }
+
+  private void evictSpringCaches(String login, String email) {
+    Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).evictIfPresent(login);
+    if (email != null) {
+      Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).evictIfPresent(email);
+    }
+  }
+}
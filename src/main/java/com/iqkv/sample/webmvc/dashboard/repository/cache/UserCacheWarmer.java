@@ -0,0 +1,139 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.repository.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.iqkv.sample.webmvc.dashboard.config.ApplicationProperties;
+import com.iqkv.sample.webmvc.dashboard.domain.User;
+import com.iqkv.sample.webmvc.dashboard.management.UserMetersService;
+import com.iqkv.sample.webmvc.dashboard.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Loads the most recently active users with their authorities into the user caches and the Hibernate caches at
+ * startup.
+ *
+ * <p>Runs as an {@link ApplicationRunner}, after the application started and before it reports ready, so the
+ * readiness probe only accepts traffic once the warm-up completed or spent its time budget. Users are loaded in
+ * batches by parallel read-only transactions.
+ */
+@Component
+public class UserCacheWarmer implements ApplicationRunner {
+
+  private static final Logger LOG = LoggerFactory.getLogger(UserCacheWarmer.class);
+
+  private final UserRepository userRepository;
+
+  private final UserLookupCache userLookupCache;
+
+  private final TransactionTemplate readOnlyTransactionTemplate;
+
+  private final UserMetersService metersService;
+
+  private final ApplicationProperties.Cache.WarmUp properties;
+
+  public UserCacheWarmer(
+      UserRepository userRepository,
+      UserLookupCache userLookupCache,
+      PlatformTransactionManager transactionManager,
+      UserMetersService metersService,
+      ApplicationProperties applicationProperties
+  ) {
+    this.userRepository = userRepository;
+    this.userLookupCache = userLookupCache;
+    this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+    this.readOnlyTransactionTemplate.setReadOnly(true);
+    this.metersService = metersService;
+    this.properties = applicationProperties.getCache().getWarmUp();
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    if (properties.isEnabled() && properties.getUsers() > 0) {
+      warmUp();
+    }
+  }
+
+  /**
+   * Loads the most recently active users, within the time budget.
+   *
+   * @return the number of users loaded.
+   */
+  public long warmUp() {
+    long start = System.nanoTime();
+    long deadline = start + properties.getTimeBudget().toNanos();
+    List<Long> ids = readOnlyTransactionTemplate.execute(status ->
+        userRepository.findRecentlyModifiedActivatedUserIds(Limit.of(properties.getUsers()))
+    );
+    AtomicLong loaded = new AtomicLong();
+    ExecutorService executor = Executors.newFixedThreadPool(properties.getParallelism(), new CustomizableThreadFactory("cache-warm-up-"));
+    try {
+      List<Future<?>> batches = new ArrayList<>();
+      for (int from = 0; from < ids.size(); from += properties.getBatchSize()) {
+        List<Long> batch = ids.subList(from, Math.min(from + properties.getBatchSize(), ids.size()));
+        batches.add(
+            executor.submit(() -> {
+              if (System.nanoTime() - deadline < 0) {
+                loaded.addAndGet(load(batch));
+              }
+            })
+        );
+      }
+      for (Future<?> batch : batches) {
+        batch.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+      }
+    } catch (TimeoutException e) {
+      LOG.warn("Time budget of {} spent warming up the user caches, the remaining users are cached on first use", properties.getTimeBudget());
+    } catch (ExecutionException e) {
+      LOG.warn("Could not warm up the user caches: {}", e.getCause().getMessage());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      executor.shutdownNow();
+    }
+    long duration = System.nanoTime() - start;
+    metersService.trackCacheWarmUp(loaded.get(), duration);
+    LOG.info("Warmed up the user caches with {} users in {} ms", loaded.get(), TimeUnit.NANOSECONDS.toMillis(duration));
+    return loaded.get();
+  }
+
+  private int load(List<Long> ids) {
+    // Loading the users puts them, and their authorities, in the Hibernate caches
+    List<User> users = readOnlyTransactionTemplate.execute(status -> userRepository.findAllWithAuthoritiesByIdIn(ids));
+    for (User user : users) {
+      userLookupCache.putIfAbsent(user);
+    }
+    return users.size();
+  }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.repository.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import com.iqkv.boot.cache.CacheProperties;
+import com.iqkv.sample.webmvc.dashboard.config.ApplicationProperties;
+import com.iqkv.sample.webmvc.dashboard.config.Constants;
+import com.iqkv.sample.webmvc.dashboard.domain.User;
+import com.iqkv.sample.webmvc.dashboard.management.UserMetersService;
+import com.iqkv.sample.webmvc.dashboard.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads the users by login and by email through the {@link UserRepository#USERS_BY_LOGIN_CACHE} and
+ * {@link UserRepository#USERS_BY_EMAIL_CACHE} caches, which hold {@link UserPrincipal} snapshots of the users.
+ *
+ * <p>Concurrent misses for the same key share a single query. Users read while they have less than the
+ * {@code refresh-ahead.fraction} of their time to live left are served from the cache and reloaded in the
+ * background by the {@link Constants#CACHE_MAINTENANCE_EXECUTOR}, so that hot users do not expire under load.
+ */
+@Component
+public class UserLookupCache {
+
+  private static final int MIN_LOAD_TIMES_TO_PRUNE = 1024;
+
+  private static final Duration NEVER = Duration.ofNanos(Long.MAX_VALUE);
+
+  private final CacheManager cacheManager;
+
+  private final UserMetersService metersService;
+
+  private final Executor refreshExecutor;
+
+  private final Lookup byLogin;
+
+  private final Lookup byEmail;
+
+  @Autowired
+  public UserLookupCache(
+      UserRepository userRepository,
+      CacheManager cacheManager,
+      UserMetersService metersService,
+      CacheProperties cacheProperties,
+      ApplicationProperties applicationProperties,
+      @Qualifier(Constants.CACHE_MAINTENANCE_EXECUTOR) Executor refreshExecutor
+  ) {
+    this(
+        userRepository,
+        cacheManager,
+        metersService,
+        cacheName -> timeToLive(cacheName, cacheProperties, applicationProperties),
+        refreshAfter(applicationProperties.getCache().getRefreshAhead()),
+        refreshExecutor
+    );
+  }
+
+  /**
+   * @param timeToLive the time to live of each cache, by cache name.
+   * @param refreshAfter the age after which the users read are reloaded, for a time to live.
+   */
+  UserLookupCache(
+      UserRepository userRepository,
+      CacheManager cacheManager,
+      UserMetersService metersService,
+      Function<String, Duration> timeToLive,
+      Function<Duration, Duration> refreshAfter,
+      Executor refreshExecutor
+  ) {
+    this.cacheManager = cacheManager;
+    this.metersService = metersService;
+    this.refreshExecutor = refreshExecutor;
+    Duration byLoginTimeToLive = timeToLive.apply(UserRepository.USERS_BY_LOGIN_CACHE);
+    this.byLogin = new Lookup(
+        UserRepository.USERS_BY_LOGIN_CACHE,
+        login -> userRepository.findOneWithAuthoritiesByLogin(login).map(UserPrincipal::of),
+        byLoginTimeToLive,
+        refreshAfter.apply(byLoginTimeToLive)
+    );
+    Duration byEmailTimeToLive = timeToLive.apply(UserRepository.USERS_BY_EMAIL_CACHE);
+    this.byEmail = new Lookup(
+        UserRepository.USERS_BY_EMAIL_CACHE,
+        email -> userRepository.findOneWithAuthoritiesByEmailIgnoreCase(email).map(UserPrincipal::of),
+        byEmailTimeToLive,
+        refreshAfter.apply(byEmailTimeToLive)
+    );
+  }
+
+  /**
+   * Reads a user with its authorities.
+   *
+   * @param login the login of the user.
+   * @return the snapshot of the user, from the cache when present.
+   */
+  public Optional<UserPrincipal> findPrincipalByLogin(String login) {
+    return byLogin.find(login);
+  }
+
+  /**
+   * Reads a user with its authorities.
+   *
+   * @param email the email of the user, in any case.
+   * @return the snapshot of the user, from the cache when present.
+   */
+  public Optional<UserPrincipal> findPrincipalByEmailIgnoreCase(String email) {
+    return byEmail.find(email);
+  }
+
+  /**
+   * Caches a user loaded with its authorities.
+   *
+   * @param user the user.
+   */
+  public void putIfAbsent(User user) {
+    UserPrincipal principal = UserPrincipal.of(user);
+    byLogin.putIfAbsent(user.getLogin(), principal);
+    if (user.getEmail() != null) {
+      byEmail.putIfAbsent(user.getEmail(), principal);
+    }
+  }
+
+  private static Function<Duration, Duration> refreshAfter(ApplicationProperties.Cache.RefreshAhead refreshAhead) {
+    return cacheTimeToLive -> refreshAhead.isEnabled() ? Duration.ofNanos((long) (cacheTimeToLive.toNanos() * (1 - refreshAhead.getFraction()))) : NEVER;
+  }
+
+  private static Duration timeToLive(String cacheName, CacheProperties cacheProperties, ApplicationProperties applicationProperties) {
+    ApplicationProperties.Cache.Tier tier = applicationProperties.getCache().getTiers().get(cacheName);
+    return tier != null && tier.getTimeToLive() != null
+        ? tier.getTimeToLive()
+        : Duration.ofSeconds(cacheProperties.getEhcache().getTimeToLiveSeconds());
+  }
+
+  /**
+   * Reads of one of the user caches, with the load times of its users.
+   */
+  private final class Lookup {
+
+    private final String cacheName;
+
+    private final Function<String, Optional<UserPrincipal>> query;
+
+    /**
+     * Age after which the cache no longer holds the user, bounding the load times kept.
+     */
+    private final long timeToLiveNanos;
+
+    /**
+     * Age after which a user read from the cache is reloaded.
+     */
+    private final long refreshAfterNanos;
+
+    private final Map<String, Long> loadTimes = new ConcurrentHashMap<>();
+
+    private final SingleFlight<String, Optional<UserPrincipal>> loads;
+
+    /**
+     * Load times kept before the expired ones are dropped, doubling the load times left.
+     */
+    private volatile int loadTimesToPrune = MIN_LOAD_TIMES_TO_PRUNE;
+
+    private Lookup(String cacheName, Function<String, Optional<UserPrincipal>> query, Duration timeToLive, Duration refreshAfter) {
+      this.cacheName = cacheName;
+      this.query = query;
+      this.timeToLiveNanos = timeToLive.toNanos();
+      this.refreshAfterNanos = refreshAfter.toNanos();
+      this.loads = new SingleFlight<>(() -> metersService.trackCacheLoadCoalesced(cacheName));
+    }
+
+    private Optional<UserPrincipal> find(String key) {
+      Cache.ValueWrapper cached = cache().get(key);
+      if (cached == null) {
+        return loads.load(key, this::queried);
+      }
+      Optional<UserPrincipal> principal = Optional.ofNullable((UserPrincipal) cached.get());
+      Long loadTime = loadTimes.get(key);
+      if (loadTime != null && System.nanoTime() - loadTime >= refreshAfterNanos) {
+        // When the refresh threads are saturated, the user expires and is loaded again on the next read
+        loads.loadInBackground(key, this::refreshed, refreshExecutor, principal);
+      }
+      return principal;
+    }
+
+    private void putIfAbsent(String key, UserPrincipal principal) {
+      if (cache().putIfAbsent(key, principal) == null) {
+        recordLoadTime(key);
+      }
+    }
+
+    private Optional<UserPrincipal> queried(String key) {
+      // A load completing between the read of the cache and the start of this load has cached the user already
+      Cache.ValueWrapper cached = cache().get(key);
+      if (cached != null) {
+        return Optional.ofNullable((UserPrincipal) cached.get());
+      }
+      metersService.trackCacheLoadQueried(cacheName);
+      return load(key);
+    }
+
+    private Optional<UserPrincipal> refreshed(String key) {
+      metersService.trackCacheLoadRefreshed(cacheName);
+      return load(key);
+    }
+
+    private Optional<UserPrincipal> load(String key) {
+      Optional<UserPrincipal> principal = query.apply(key);
+      cache().put(key, principal.orElse(null));
+      recordLoadTime(key);
+      return principal;
+    }
+
+    private void recordLoadTime(String key) {
+      long now = System.nanoTime();
+      loadTimes.put(key, now);
+      if (loadTimes.size() > loadTimesToPrune) {
+        loadTimes.values().removeIf(loadTime -> now - loadTime >= timeToLiveNanos);
+        loadTimesToPrune = Math.max(MIN_LOAD_TIMES_TO_PRUNE, loadTimes.size() * 2);
+      }
+    }
+
+    private Cache cache() {
+      return Objects.requireNonNull(cacheManager.getCache(cacheName));
+    }
+  }
+}
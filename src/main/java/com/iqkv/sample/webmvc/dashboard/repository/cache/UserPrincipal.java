@@ -0,0 +1,155 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.repository.cache;
+
+import java.io.Serial;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import com.iqkv.sample.webmvc.dashboard.domain.Authority;
+import com.iqkv.sample.webmvc.dashboard.domain.User;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Immutable snapshot of a {@link User}, as held by the user caches: the fields needed to authenticate the user, with
+ * an authority set shared by all the users having the same authorities.
+ *
+ * <p>It is not a {@link CredentialsContainer}, so the authentication manager leaves the cached password hash in
+ * place when it erases the credentials of an authentication.
+ */
+public final class UserPrincipal implements UserDetails {
+
+  @Serial
+  private static final long serialVersionUID = 1L;
+
+  private static final Map<Set<String>, AuthoritySet> AUTHORITY_SETS = new ConcurrentHashMap<>();
+
+  private final Long id;
+
+  private final String login;
+
+  private final String password;
+
+  private final boolean activated;
+
+  private final transient Set<GrantedAuthority> authorities;
+
+  private final Set<String> authorityNames;
+
+  private UserPrincipal(Long id, String login, String password, boolean activated, Collection<String> authorityNames) {
+    this.id = id;
+    this.login = login;
+    this.password = password;
+    this.activated = activated;
+    AuthoritySet authoritySet = AUTHORITY_SETS.computeIfAbsent(Set.copyOf(authorityNames), AuthoritySet::of);
+    this.authorityNames = authoritySet.names();
+    this.authorities = authoritySet.authorities();
+  }
+
+  public static UserPrincipal of(User user) {
+    return new UserPrincipal(
+        user.getId(),
+        user.getLogin(),
+        user.getPassword(),
+        user.isActivated(),
+        user.getAuthorities().stream().map(Authority::getName).toList()
+    );
+  }
+
+  public static UserPrincipal of(Long id, String login, String password, boolean activated, Collection<String> authorityNames) {
+    return new UserPrincipal(id, login, password, activated, authorityNames);
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  @Override
+  public String getUsername() {
+    return login;
+  }
+
+  @Override
+  public String getPassword() {
+    return password;
+  }
+
+  public boolean isActivated() {
+    return activated;
+  }
+
+  @Override
+  public Collection<? extends GrantedAuthority> getAuthorities() {
+    return authorities;
+  }
+
+  public Set<String> getAuthorityNames() {
+    return authorityNames;
+  }
+
+  @Override
+  public boolean isAccountNonExpired() {
+    return true;
+  }
+
+  @Override
+  public boolean isAccountNonLocked() {
+    return true;
+  }
+
+  @Override
+  public boolean isCredentialsNonExpired() {
+    return true;
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return activated;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return this == o || (o instanceof UserPrincipal other && login.equals(other.login));
+  }
+
+  @Override
+  public int hashCode() {
+    return login.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return "UserPrincipal{login='" + login + "', activated=" + activated + ", authorities=" + authorityNames + "}";
+  }
+
+  @Serial
+  private Object readResolve() {
+    return new UserPrincipal(id, login, password, activated, authorityNames);
+  }
+
+  private record AuthoritySet(Set<String> names, Set<GrantedAuthority> authorities) {
+    private static AuthoritySet of(Set<String> names) {
+      return new AuthoritySet(names, names.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toUnmodifiableSet()));
+    }
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.security;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+import com.iqkv.sample.webmvc.dashboard.config.ApplicationProperties;
+import com.iqkv.sample.webmvc.dashboard.management.SecurityMetersService;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rate limits of the unauthenticated endpoints which hash passwords or send emails, by client address and by
+ * targeted login or email, held in {@link StripedTokenBuckets}.
+ *
+ * <p>Clients are checked by the {@code RateLimitFilter} before the request is read, targeted keys by the controllers
+ * before the user is looked up.
+ */
+@Component
+public class AuthenticationRateLimiter {
+
+  public enum Endpoint {
+    AUTHENTICATE,
+    REGISTER,
+    RESET_PASSWORD,
+    ACTIVATE;
+
+    private final String tag = name().toLowerCase(Locale.ROOT).replace('_', '-');
+  }
+
+  private final boolean enabled;
+
+  private final Map<Endpoint, StripedTokenBuckets> clientBuckets = new EnumMap<>(Endpoint.class);
+
+  private final Map<Endpoint, StripedTokenBuckets> keyBuckets = new EnumMap<>(Endpoint.class);
+
+  private final Map<Endpoint, Duration> retryAfter = new EnumMap<>(Endpoint.class);
+
+  private final SecurityMetersService metersService;
+
+  public AuthenticationRateLimiter(ApplicationProperties applicationProperties, SecurityMetersService metersService) {
+    ApplicationProperties.Security.RateLimit rateLimit = applicationProperties.getSecurity().getRateLimit();
+    this.enabled = rateLimit.isEnabled();
+    this.metersService = metersService;
+    register(Endpoint.AUTHENTICATE, rateLimit.getAuthenticate(), rateLimit.getBuckets());
+    register(Endpoint.REGISTER, rateLimit.getRegister(), rateLimit.getBuckets());
+    register(Endpoint.RESET_PASSWORD, rateLimit.getResetPassword(), rateLimit.getBuckets());
+    register(Endpoint.ACTIVATE, rateLimit.getActivate(), rateLimit.getBuckets());
+  }
+
+  private void register(Endpoint endpoint, ApplicationProperties.Security.RateLimit.Limit limit, int buckets) {
+    if (limit.getClientPermits() > 0) {
+      clientBuckets.put(endpoint, new StripedTokenBuckets(limit.getClientPermits(), limit.getPeriod(), buckets));
+      retryAfter.put(endpoint, limit.getPeriod().dividedBy(limit.getClientPermits()));
+    }
+    if (limit.getKeyPermits() > 0) {
+      keyBuckets.put(endpoint, new StripedTokenBuckets(limit.getKeyPermits(), limit.getPeriod(), buckets));
+    }
+  }
+
+  /**
+   * @param clientAddress the address of the client.
+   * @return whether the client may call the endpoint.
+   */
+  public boolean tryAcquireClient(Endpoint endpoint, String clientAddress) {
+    StripedTokenBuckets buckets = clientBuckets.get(endpoint);
+    if (!enabled || buckets == null || buckets.tryAcquire(clientAddress)) {
+      return true;
+    }
+    metersService.trackThrottled(endpoint.tag, "client");
+    return false;
+  }
+
+  /**
+   * @param key the login or email targeted by the request, compared regardless of case.
+   * @throws RateLimitedException if the key was targeted by too many requests.
+   */
+  public void checkKey(Endpoint endpoint, String key) {
+    StripedTokenBuckets buckets = keyBuckets.get(endpoint);
+    if (!enabled || buckets == null || key == null || buckets.tryAcquire(key.toLowerCase(Locale.ROOT))) {
+      return;
+    }
+    metersService.trackThrottled(endpoint.tag, "target");
+    throw new RateLimitedException();
+  }
+
+  /**
+   * @return the time for a throttled client to be granted a new request.
+   */
+  public Duration retryAfter(Endpoint endpoint) {
+    return retryAfter.getOrDefault(endpoint, Duration.ZERO);
+  }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.security;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.iqkv.sample.webmvc.dashboard.domain.Authority;
+import com.iqkv.sample.webmvc.dashboard.repository.AuthorityRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+/**
+ * Assigns each authority a stable bit index, and interns the {@link AuthoritySet} of the principals.
+ *
+ * <p>The authorities of the {@link AuthorityRepository} are registered by name order once the application is ready;
+ * any other authority, such as one created afterwards, gets the next free index on first use. Indexes are never
+ * reused for the lifetime of the registry. The sets parsed from the authorities claim of the tokens are cached by
+ * claim, so that authenticating a request neither splits the claim nor allocates its authorities.
+ */
+@Component
+public class AuthorityRegistry {
+
+  private static final Logger LOG = LoggerFactory.getLogger(AuthorityRegistry.class);
+
+  /**
+   * Bound of the interned sets and of the cached claims, well above the combinations of authorities in use.
+   */
+  static final int MAX_INTERNED = 1024;
+
+  private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+
+  private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+  /**
+   * Optional so that the security configuration can be tested without the persistence layer.
+   */
+  private final ObjectProvider<AuthorityRepository> authorityRepository;
+
+  private final Map<AuthoritySet, AuthoritySet> sets = new ConcurrentHashMap<>();
+
+  private final Map<String, AuthoritySet> claims = new ConcurrentHashMap<>();
+
+  private volatile Indexes indexes = new Indexes(Map.of(), new GrantedAuthority[0]);
+
+  public AuthorityRegistry(ObjectProvider<AuthorityRepository> authorityRepository) {
+    this.authorityRepository = authorityRepository;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void registerAuthorities() {
+    authorityRepository.ifAvailable(repository -> {
+      repository.findAll(Sort.by("name")).stream().map(Authority::getName).forEach(this::index);
+      LOG.debug("Registered {} authorities", indexes.authorities().length);
+    });
+  }
+
+  /**
+   * @return the bit index of the authority, registering it if needed.
+   */
+  public int index(String authority) {
+    Integer index = indexes.byName().get(authority);
+    return index != null ? index : register(authority);
+  }
+
+  /**
+   * @param authorities names of authorities.
+   * @return the interned set of these authorities.
+   */
+  public AuthoritySet authorities(Collection<String> authorities) {
+    long[] words = new long[0];
+    for (String authority : authorities) {
+      words = set(words, index(authority));
+    }
+    return intern(words);
+  }
+
+  /**
+   * @param claim names of authorities separated by spaces, as in the authorities claim of the tokens.
+   * @return the interned set of these authorities.
+   */
+  public AuthoritySet parse(String claim) {
+    AuthoritySet set = claims.get(claim);
+    if (set == null) {
+      long[] words = new long[0];
+      for (String authority : claim.split(" ")) {
+        if (!authority.isEmpty()) {
+          words = set(words, index(authority));
+        }
+      }
+      set = intern(words);
+      if (claims.size() < MAX_INTERNED) {
+        claims.putIfAbsent(claim, set);
+      }
+    }
+    return set;
+  }
+
+  /**
+   * Bit test when the authentication holds an {@link AuthoritySet}, scan of its authorities otherwise.
+   */
+  public boolean hasAuthority(Authentication authentication, String authority) {
+    if (authentication == null) {
+      return false;
+    }
+    Collection<? extends GrantedAuthority> granted = authentication.getAuthorities();
+    if (granted instanceof AuthoritySet set) {
+      return set.contains(index(authority));
+    }
+    for (GrantedAuthority grantedAuthority : granted) {
+      if (authority.equals(grantedAuthority.getAuthority())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public boolean hasAnyAuthority(Authentication authentication, String... authorities) {
+    for (String authority : authorities) {
+      if (hasAuthority(authentication, authority)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Replaces {@code AuthorityAuthorizationManager.hasAuthority}, with the index of the authority resolved once.
+   */
+  public <T> AuthorizationManager<T> hasAuthority(String authority) {
+    int index = index(authority);
+    return (authentication, object) -> {
+      Authentication current = authentication.get();
+      boolean granted = current != null && current.getAuthorities() instanceof AuthoritySet set
+          ? set.contains(index)
+          : hasAuthority(current, authority);
+      return granted ? GRANTED : DENIED;
+    };
+  }
+
+  private synchronized int register(String authority) {
+    Indexes current = indexes;
+    Integer existing = current.byName().get(authority);
+    if (existing != null) {
+      return existing;
+    }
+    int index = current.authorities().length;
+    Map<String, Integer> byName = new HashMap<>(current.byName());
+    byName.put(authority, index);
+    GrantedAuthority[] authorities = Arrays.copyOf(current.authorities(), index + 1);
+    authorities[index] = new SimpleGrantedAuthority(authority);
+    indexes = new Indexes(Map.copyOf(byName), authorities);
+    return index;
+  }
+
+  private AuthoritySet intern(long[] words) {
+    GrantedAuthority[] registered = indexes.authorities();
+    int size = 0;
+    for (long word : words) {
+      size += Long.bitCount(word);
+    }
+    GrantedAuthority[] authorities = new GrantedAuthority[size];
+    int next = 0;
+    for (int i = 0; i < words.length; i++) {
+      for (long word = words[i]; word != 0; word &= word - 1) {
+        authorities[next++] = registered[(i << 6) + Long.numberOfTrailingZeros(word)];
+      }
+    }
+    AuthoritySet candidate = new AuthoritySet(words, authorities);
+    AuthoritySet interned = sets.get(candidate);
+    if (interned != null) {
+      return interned;
+    }
+    if (sets.size() >= MAX_INTERNED) {
+      return candidate;
+    }
+    interned = sets.putIfAbsent(candidate, candidate);
+    return interned != null ? interned : candidate;
+  }
+
+  /**
+   * Sets a bit, growing the words so that the last one is never zero and equal sets have equal words.
+   */
+  private static long[] set(long[] words, int index) {
+    int word = index >>> 6;
+    long[] result = word < words.length ? words : Arrays.copyOf(words, word + 1);
+    result[word] |= 1L << index;
+    return result;
+  }
+
+  private record Indexes(Map<String, Integer> byName, GrantedAuthority[] authorities) {}
+}
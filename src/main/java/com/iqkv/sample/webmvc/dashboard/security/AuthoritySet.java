@@ -0,0 +1,88 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.security;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * Immutable authorities of a principal, held as a bitset over the indexes assigned by the {@link AuthorityRegistry}.
+ *
+ * <p>Instances are interned by the registry: all the authentications holding the same authorities share one set,
+ * and checking an authority is a bit test instead of a scan comparing strings.
+ */
+public final class AuthoritySet extends AbstractCollection<GrantedAuthority> implements Serializable {
+
+  @Serial
+  private static final long serialVersionUID = 1L;
+
+  private final long[] words;
+
+  private final GrantedAuthority[] authorities;
+
+  AuthoritySet(long[] words, GrantedAuthority[] authorities) {
+    this.words = words;
+    this.authorities = authorities;
+  }
+
+  /**
+   * @param index an index assigned by the {@link AuthorityRegistry}.
+   * @return whether the authority with this index is in the set.
+   */
+  public boolean contains(int index) {
+    int word = index >>> 6;
+    return word < words.length && (words[word] & (1L << index)) != 0;
+  }
+
+  /**
+   * @return whether any of the given authorities is in the set.
+   */
+  public boolean containsAny(AuthoritySet other) {
+    int length = Math.min(words.length, other.words.length);
+    for (int i = 0; i < length; i++) {
+      if ((words[i] & other.words[i]) != 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public Iterator<GrantedAuthority> iterator() {
+    return Arrays.asList(authorities).iterator();
+  }
+
+  @Override
+  public int size() {
+    return authorities.length;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return this == o || (o instanceof AuthoritySet other && Arrays.equals(words, other.words));
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(words);
+  }
+}
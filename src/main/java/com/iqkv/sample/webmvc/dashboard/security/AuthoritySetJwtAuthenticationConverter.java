@@ -0,0 +1,68 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.security;
+
+import static com.iqkv.boot.security.SecurityUtils.AUTHORITIES_KEY;
+
+import java.io.Serial;
+import java.util.Collection;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+/**
+ * Authenticates the bearer tokens with the {@link AuthoritySet} of their authorities claim, interned by the
+ * {@link AuthorityRegistry} instead of a list of authorities built for every request.
+ */
+public class AuthoritySetJwtAuthenticationConverter implements Converter<Jwt, AbstractAuthenticationToken> {
+
+  private final AuthorityRegistry authorityRegistry;
+
+  public AuthoritySetJwtAuthenticationConverter(AuthorityRegistry authorityRegistry) {
+    this.authorityRegistry = authorityRegistry;
+  }
+
+  @Override
+  public AbstractAuthenticationToken convert(Jwt jwt) {
+    String claim = jwt.getClaimAsString(AUTHORITIES_KEY);
+    return new AuthenticationToken(jwt, authorityRegistry.parse(claim == null ? "" : claim));
+  }
+
+  /**
+   * {@link JwtAuthenticationToken} returning the shared {@link AuthoritySet}, which the base class would copy.
+   */
+  static final class AuthenticationToken extends JwtAuthenticationToken {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final AuthoritySet authorities;
+
+    AuthenticationToken(Jwt jwt, AuthoritySet authorities) {
+      super(jwt, null, jwt.getSubject());
+      this.authorities = authorities;
+    }
+
+    @Override
+    public Collection<GrantedAuthority> getAuthorities() {
+      return authorities;
+    }
+  }
+}
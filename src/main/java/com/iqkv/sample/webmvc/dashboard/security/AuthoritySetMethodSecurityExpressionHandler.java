@@ -0,0 +1,166 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.security;
+
+import java.util.function.Supplier;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.security.core.Authentication;
+
+/**
+ * Evaluates {@code hasAuthority} and {@code hasAnyAuthority} in the method security annotations with the
+ * {@link AuthorityRegistry}, as bit tests, instead of building a set of the authority names on every invocation.
+ * The other operations are those of the default expression root.
+ */
+public class AuthoritySetMethodSecurityExpressionHandler extends DefaultMethodSecurityExpressionHandler {
+
+  private final Supplier<AuthorityRegistry> authorityRegistry;
+
+  public AuthoritySetMethodSecurityExpressionHandler(Supplier<AuthorityRegistry> authorityRegistry) {
+    this.authorityRegistry = authorityRegistry;
+  }
+
+  @Override
+  public EvaluationContext createEvaluationContext(Supplier<Authentication> authentication, MethodInvocation invocation) {
+    StandardEvaluationContext context = (StandardEvaluationContext) super.createEvaluationContext(authentication, invocation);
+    MethodSecurityExpressionOperations root = (MethodSecurityExpressionOperations) context.getRootObject().getValue();
+    context.setRootObject(new ExpressionRoot(root, authorityRegistry.get()));
+    return context;
+  }
+
+  /**
+   * Root object of the expressions, delegating to the default one but for the authority checks.
+   */
+  public static final class ExpressionRoot implements MethodSecurityExpressionOperations {
+
+    // Properties of the default root usable in the expressions, such as "permitAll"
+    public final boolean permitAll = true;
+    public final boolean denyAll = false;
+    public final String read = "read";
+    public final String write = "write";
+    public final String create = "create";
+    public final String delete = "delete";
+    public final String admin = "administration";
+
+    private final MethodSecurityExpressionOperations delegate;
+
+    private final AuthorityRegistry authorityRegistry;
+
+    ExpressionRoot(MethodSecurityExpressionOperations delegate, AuthorityRegistry authorityRegistry) {
+      this.delegate = delegate;
+      this.authorityRegistry = authorityRegistry;
+    }
+
+    @Override
+    public boolean hasAuthority(String authority) {
+      return authorityRegistry.hasAuthority(getAuthentication(), authority);
+    }
+
+    @Override
+    public boolean hasAnyAuthority(String... authorities) {
+      return authorityRegistry.hasAnyAuthority(getAuthentication(), authorities);
+    }
+
+    @Override
+    public Authentication getAuthentication() {
+      return delegate.getAuthentication();
+    }
+
+    public Object getPrincipal() {
+      return getAuthentication().getPrincipal();
+    }
+
+    @Override
+    public boolean hasRole(String role) {
+      return delegate.hasRole(role);
+    }
+
+    @Override
+    public boolean hasAnyRole(String... roles) {
+      return delegate.hasAnyRole(roles);
+    }
+
+    @Override
+    public boolean permitAll() {
+      return true;
+    }
+
+    @Override
+    public boolean denyAll() {
+      return false;
+    }
+
+    @Override
+    public boolean isAnonymous() {
+      return delegate.isAnonymous();
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+      return delegate.isAuthenticated();
+    }
+
+    @Override
+    public boolean isRememberMe() {
+      return delegate.isRememberMe();
+    }
+
+    @Override
+    public boolean isFullyAuthenticated() {
+      return delegate.isFullyAuthenticated();
+    }
+
+    @Override
+    public boolean hasPermission(Object target, Object permission) {
+      return delegate.hasPermission(target, permission);
+    }
+
+    @Override
+    public boolean hasPermission(Object targetId, String targetType, Object permission) {
+      return delegate.hasPermission(targetId, targetType, permission);
+    }
+
+    @Override
+    public void setFilterObject(Object filterObject) {
+      delegate.setFilterObject(filterObject);
+    }
+
+    @Override
+    public Object getFilterObject() {
+      return delegate.getFilterObject();
+    }
+
+    @Override
+    public void setReturnObject(Object returnObject) {
+      delegate.setReturnObject(returnObject);
+    }
+
+    @Override
+    public Object getReturnObject() {
+      return delegate.getReturnObject();
+    }
+
+    @Override
+    public Object getThis() {
+      return delegate.getThis();
+    }
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.iqkv.sample.webmvc.dashboard.management.SecurityMetersService;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * BCrypt {@link PasswordEncoder} running the hashing on a dedicated bounded pool, so that a login burst cannot pin
+ * every request thread on CPU.
+ *
+ * <p>Callers wait for their hash; when all the threads are busy and the queue is full,
+ * {@link PasswordHashingRejectedException} is thrown instead. Hashes whose cost differs from the configured strength
+ * are reported by {@link #upgradeEncoding(String)}, and re-encoded on the next successful login.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+  private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abyx]?\\$(\\d\\d)\\$");
+
+  private final BCryptPasswordEncoder delegate;
+
+  private final int strength;
+
+  private final ThreadPoolExecutor executor;
+
+  private final SecurityMetersService metersService;
+
+  public BoundedPasswordEncoder(int strength, int poolSize, int queueCapacity, SecurityMetersService metersService) {
+    this.delegate = new BCryptPasswordEncoder(strength);
+    this.strength = strength;
+    this.executor = new ThreadPoolExecutor(
+        poolSize,
+        poolSize,
+        0L,
+        TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity),
+        new CustomizableThreadFactory("password-hashing-")
+    );
+    this.metersService = metersService;
+    metersService.bindPasswordHashingQueue(executor.getQueue());
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return hash(() -> delegate.encode(rawPassword));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return hash(() -> delegate.matches(rawPassword, encodedPassword));
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    if (encodedPassword == null) {
+      return false;
+    }
+    Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+    return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+  }
+
+  /**
+   * Stops the hashing threads, once the pending hashes are done.
+   */
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  private <T> T hash(Callable<T> task) {
+    Future<T> future;
+    try {
+      future = executor.submit(() -> {
+        long start = System.nanoTime();
+        try {
+          return task.call();
+        } finally {
+          metersService.trackPasswordHashing(System.nanoTime() - start);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      metersService.trackPasswordHashingRejected();
+      throw new PasswordHashingRejectedException();
+    }
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for a password hash", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException("Password hashing failed", e.getCause());
+    }
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.security;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * BCrypt hashing of many passwords at once, spread over a pool apart from the logins so that bulk operations neither
+ * hash sequentially nor compete with logins for the {@link BoundedPasswordEncoder} threads.
+ */
+public class BulkPasswordEncoder {
+
+  private final BCryptPasswordEncoder delegate;
+
+  private final ExecutorService executor;
+
+  private final boolean ownsExecutor;
+
+  public BulkPasswordEncoder(int strength, int poolSize) {
+    this(strength, Executors.newFixedThreadPool(poolSize, new CustomizableThreadFactory("bulk-password-hashing-")), true);
+  }
+
+  /**
+   * @param executor the executor of the bulk operations, a bounded queue of which should run the tasks it rejects
+   *     in the caller.
+   */
+  public BulkPasswordEncoder(int strength, ExecutorService executor) {
+    this(strength, executor, false);
+  }
+
+  private BulkPasswordEncoder(int strength, ExecutorService executor, boolean ownsExecutor) {
+    this.delegate = new BCryptPasswordEncoder(strength);
+    this.executor = executor;
+    this.ownsExecutor = ownsExecutor;
+  }
+
+  /**
+   * Hashes the passwords in parallel.
+   *
+   * @param rawPasswords the passwords to hash.
+   * @return the hashes, in the order of the passwords.
+   */
+  public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+    List<Callable<String>> tasks = new ArrayList<>(rawPasswords.size());
+    for (CharSequence rawPassword : rawPasswords) {
+      tasks.add(() -> delegate.encode(rawPassword));
+    }
+    List<Future<String>> futures;
+    try {
+      futures = executor.invokeAll(tasks);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for password hashes", e);
+    }
+    List<String> hashes = new ArrayList<>(futures.size());
+    for (Future<String> future : futures) {
+      try {
+        hashes.add(future.get());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for password hashes", e);
+      } catch (ExecutionException e) {
+        throw new IllegalStateException("Password hashing failed", e.getCause());
+      }
+    }
+    return hashes;
+  }
+
+  /**
+   * Stops the hashing threads, once the pending hashes are done, unless the executor was passed in.
+   */
+  public void shutdown() {
+    if (ownsExecutor) {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.iqkv.sample.webmvc.dashboard.management.SecurityMetersService;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * {@link JwtDecoder} keeping the tokens it already verified, so that a bearer token presented again is not
+ * parsed and HMAC-checked a second time.
+ *
+ * <p>Entries are keyed by the SHA-256 digest of the token and are dropped no later than the token {@code exp}
+ * claim; tokens without an expiry are never cached. Only tokens accepted by the delegate are stored, so every
+ * rejection still goes through the delegate.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+  private static final Duration PURGE_INTERVAL = Duration.ofSeconds(1);
+
+  private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(CachingJwtDecoder::newDigest);
+
+  private final ConcurrentMap<ByteBuffer, Jwt> cache = new ConcurrentHashMap<>();
+
+  private final JwtDecoder delegate;
+
+  private final int maxEntries;
+
+  private final SecurityMetersService metersService;
+
+  private final Clock clock;
+
+  private volatile long nextPurgeMillis;
+
+  public CachingJwtDecoder(JwtDecoder delegate, int maxEntries, SecurityMetersService metersService) {
+    this(delegate, maxEntries, metersService, Clock.systemUTC());
+  }
+
+  public CachingJwtDecoder(JwtDecoder delegate, int maxEntries, SecurityMetersService metersService, Clock clock) {
+    this.delegate = delegate;
+    this.maxEntries = maxEntries;
+    this.metersService = metersService;
+    this.clock = clock;
+  }
+
+  @Override
+  public Jwt decode(String token) throws JwtException {
+    ByteBuffer key = digest(token);
+    Jwt cached = cache.get(key);
+    if (cached != null) {
+      if (isLive(cached, clock.instant())) {
+        metersService.trackTokenCacheHit();
+        return cached;
+      }
+      if (cache.remove(key, cached)) {
+        metersService.trackTokenCacheEviction();
+      }
+    }
+    metersService.trackTokenCacheMiss();
+    Jwt jwt = delegate.decode(token);
+    if (jwt.getExpiresAt() != null && isLive(jwt, clock.instant())) {
+      store(key, jwt);
+    }
+    return jwt;
+  }
+
+  int size() {
+    return cache.size();
+  }
+
+  private void store(ByteBuffer key, Jwt jwt) {
+    if (cache.size() >= maxEntries) {
+      purgeExpired();
+    }
+    if (cache.size() >= maxEntries) {
+      // Still full of live tokens: make room by dropping an arbitrary entry, it will be verified again on next use.
+      Iterator<ByteBuffer> keys = cache.keySet().iterator();
+      if (keys.hasNext()) {
+        keys.next();
+        keys.remove();
+        metersService.trackTokenCacheEviction();
+      }
+    }
+    cache.put(key, jwt);
+  }
+
+  private void purgeExpired() {
+    long nowMillis = clock.millis();
+    if (nowMillis < nextPurgeMillis) {
+      return;
+    }
+    nextPurgeMillis = nowMillis + PURGE_INTERVAL.toMillis();
+    Instant now = Instant.ofEpochMilli(nowMillis);
+    for (Map.Entry<ByteBuffer, Jwt> entry : cache.entrySet()) {
+      if (!isLive(entry.getValue(), now) && cache.remove(entry.getKey(), entry.getValue())) {
+        metersService.trackTokenCacheEviction();
+      }
+    }
+  }
+
+  private static boolean isLive(Jwt jwt, Instant now) {
+    return now.isBefore(jwt.getExpiresAt());
+  }
+
+  private static ByteBuffer digest(String token) {
+    // A virtual thread serves a single request, its thread locals would never be reused
+    MessageDigest digest = Thread.currentThread().isVirtual() ? newDigest() : DIGEST.get();
+    return ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+  }
+
+  private static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.security;
+
+import java.text.ParseException;
+
+import com.iqkv.sample.webmvc.dashboard.management.SecurityMetersService;
+import com.nimbusds.jose.proc.BadJWSException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+
+/**
+ * {@link JwtDecoder} counting rejected tokens in {@link SecurityMetersService} by cause.
+ *
+ * <p>Tokens that cannot be a compact JWS (too long, not exactly three segments, not base64url) are rejected before
+ * the delegate is invoked, with a shared stackless exception. Failures of the delegate are classified from the
+ * exception types raised by Nimbus, never from their messages.
+ */
+public class ClassifyingJwtDecoder implements JwtDecoder {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ClassifyingJwtDecoder.class);
+
+  /**
+   * Error reported by {@link #timestampValidator()}, recognized by identity when classifying a
+   * {@link JwtValidationException}.
+   */
+  private static final OAuth2Error EXPIRED_ERROR = new OAuth2Error(
+      OAuth2ErrorCodes.INVALID_TOKEN,
+      "Jwt expired or not yet valid",
+      "https://tools.ietf.org/html/rfc6750#section-3.1"
+  );
+
+  private static final BadJwtException MALFORMED = new PrevalidationException("Malformed token");
+
+  private static final BadJwtException UNSUPPORTED = new PrevalidationException("Unsupported unsecured JWT");
+
+  enum Failure {
+    MALFORMED,
+    UNSUPPORTED,
+    INVALID_SIGNATURE,
+    EXPIRED,
+    UNKNOWN,
+  }
+
+  private final JwtDecoder delegate;
+
+  private final SecurityMetersService metersService;
+
+  private final int maxLength;
+
+  public ClassifyingJwtDecoder(JwtDecoder delegate, SecurityMetersService metersService, int maxLength) {
+    this.delegate = delegate;
+    this.metersService = metersService;
+    this.maxLength = maxLength;
+  }
+
+  /**
+   * Same checks as the default {@link JwtTimestampValidator}, reporting an error {@link ClassifyingJwtDecoder}
+   * recognizes as an expired token. To be set on the delegate instead of the default validators.
+   */
+  public static OAuth2TokenValidator<Jwt> timestampValidator() {
+    JwtTimestampValidator timestampValidator = new JwtTimestampValidator();
+    return jwt -> timestampValidator.validate(jwt).hasErrors()
+        ? OAuth2TokenValidatorResult.failure(EXPIRED_ERROR)
+        : OAuth2TokenValidatorResult.success();
+  }
+
+  @Override
+  public Jwt decode(String token) throws JwtException {
+    Failure structuralFailure = prevalidate(token);
+    if (structuralFailure != null) {
+      track(structuralFailure);
+      throw structuralFailure == Failure.UNSUPPORTED ? UNSUPPORTED : MALFORMED;
+    }
+    try {
+      return delegate.decode(token);
+    } catch (JwtException e) {
+      Failure failure = classify(e);
+      if (failure == Failure.UNKNOWN) {
+        LOG.error("Unknown JWT error {}", e.getMessage());
+      } else {
+        track(failure);
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Checks that the token is shaped like a compact JWS, {@code header.payload.signature} in base64url.
+   *
+   * @return the failure, or {@code null} when the token may be handed to the delegate.
+   */
+  Failure prevalidate(String token) {
+    int length = token.length();
+    if (length == 0 || length > maxLength) {
+      return Failure.MALFORMED;
+    }
+    int segments = 0;
+    int segmentStart = 0;
+    for (int i = 0; i <= length; i++) {
+      if (i < length && token.charAt(i) != '.') {
+        if (!isBase64Url(token.charAt(i))) {
+          return Failure.MALFORMED;
+        }
+        continue;
+      }
+      int segmentLength = i - segmentStart;
+      if (segments < 2) {
+        if (i == length || segmentLength == 0 || !isBase64UrlLength(segmentLength)) {
+          return Failure.MALFORMED;
+        }
+        segments++;
+        segmentStart = i + 1;
+      } else if (i < length || !isBase64UrlLength(segmentLength)) {
+        return Failure.MALFORMED;
+      } else if (segmentLength == 0) {
+        // An empty signature is an unsecured ("alg": "none") token
+        return Failure.UNSUPPORTED;
+      }
+    }
+    return null;
+  }
+
+  static Failure classify(JwtException e) {
+    if (e instanceof JwtValidationException validationException) {
+      return validationException.getErrors().contains(EXPIRED_ERROR) ? Failure.EXPIRED : Failure.UNKNOWN;
+    }
+    if (!(e instanceof BadJwtException)) {
+      return Failure.UNKNOWN;
+    }
+    for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+      if (cause instanceof ParseException) {
+        return Failure.MALFORMED;
+      }
+      if (cause instanceof BadJWSException) {
+        return Failure.INVALID_SIGNATURE;
+      }
+    }
+    // Any other rejection by Nimbus or by the decoder itself, such as an unexpected algorithm
+    return Failure.UNSUPPORTED;
+  }
+
+  private void track(Failure failure) {
+    switch (failure) {
+      case MALFORMED -> metersService.trackTokenMalformed();
+      case UNSUPPORTED -> metersService.trackTokenUnsupported();
+      case INVALID_SIGNATURE -> metersService.trackTokenInvalidSignature();
+      case EXPIRED -> metersService.trackTokenExpired();
+      default -> {
+      }
+    }
+  }
+
+  private static boolean isBase64UrlLength(int segmentLength) {
+    // Unpadded base64url never leaves a single character in the last quantum
+    return segmentLength % 4 != 1;
+  }
+
+  private static boolean isBase64Url(char c) {
+    return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '_';
+  }
+
+  /**
+   * Shared rejection of the pre-validation stage, without stack trace since it is thrown from a single place.
+   */
+  private static final class PrevalidationException extends BadJwtException {
+
+    private static final long serialVersionUID = 1L;
+
+    private PrevalidationException(String message) {
+      super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+      return this;
+    }
+  }
+}
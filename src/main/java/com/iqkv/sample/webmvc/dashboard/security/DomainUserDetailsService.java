@@ -16,18 +16,19 @@
 
 package com.iqkv.sample.webmvc.dashboard.security;
 
-import java.util.List;
 import java.util.Locale;
 
 import com.iqkv.boot.security.UserNotActivatedException;
-import com.iqkv.sample.webmvc.dashboard.domain.Authority;
-import com.iqkv.sample.webmvc.dashboard.domain.User;
+import com.iqkv.sample.webmvc.dashboard.management.SecurityMetersService;
 import com.iqkv.sample.webmvc.dashboard.repository.UserRepository;
+import com.iqkv.sample.webmvc.dashboard.repository.cache.UserCacheInvalidator;
+import com.iqkv.sample.webmvc.dashboard.repository.cache.UserLookupCache;
+import com.iqkv.sample.webmvc.dashboard.repository.cache.UserPrincipal;
 import org.hibernate.validator.internal.constraintvalidators.hv.EmailValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
@@ -37,14 +38,32 @@ import org.springframework.transaction.annotation.Transactional;
  * Authenticate a user from the database.
  */
 @Component("userDetailsService")
-public class DomainUserDetailsService implements UserDetailsService {
+public class DomainUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
   private static final Logger LOG = LoggerFactory.getLogger(DomainUserDetailsService.class);
 
   private final UserRepository userRepository;
 
-  public DomainUserDetailsService(UserRepository userRepository) {
+  private final UserLookupCache userLookupCache;
+
+  private final UserCacheInvalidator userCacheInvalidator;
+
+  private final KnownUsersFilter knownUsersFilter;
+
+  private final SecurityMetersService metersService;
+
+  public DomainUserDetailsService(
+      UserRepository userRepository,
+      UserLookupCache userLookupCache,
+      UserCacheInvalidator userCacheInvalidator,
+      KnownUsersFilter knownUsersFilter,
+      SecurityMetersService metersService
+  ) {
     this.userRepository = userRepository;
+    this.userLookupCache = userLookupCache;
+    this.userCacheInvalidator = userCacheInvalidator;
+    this.knownUsersFilter = knownUsersFilter;
+    this.metersService = metersService;
   }
 
   @Override
@@ -52,30 +71,56 @@ public class DomainUserDetailsService implements UserDetailsService {
   public UserDetails loadUserByUsername(final String login) {
     LOG.debug("Authenticating {}", login);
 
+    if (!knownUsersFilter.mightContain(login)) {
+      metersService.trackUserLookupAvoided();
+      throw new UsernameNotFoundException("User " + login + " was not found in the database");
+    }
+
     if (new EmailValidator().isValid(login, null)) {
-      return userRepository
-          .findOneWithAuthoritiesByEmailIgnoreCase(login)
-          .map(user -> createSpringSecurityUser(login, user))
-          .orElseThrow(() -> new UsernameNotFoundException("User with email " + login + " was not found in the database"));
+      return userLookupCache
+          .findPrincipalByEmailIgnoreCase(login)
+          .map(principal -> checkActivated(login, principal))
+          .orElseThrow(() -> userNotFound("User with email " + login + " was not found in the database"));
     }
 
     String lowercaseLogin = login.toLowerCase(Locale.ENGLISH);
-    return userRepository
-        .findOneWithAuthoritiesByLogin(lowercaseLogin)
-        .map(user -> createSpringSecurityUser(lowercaseLogin, user))
-        .orElseThrow(() -> new UsernameNotFoundException("User " + lowercaseLogin + " was not found in the database"));
+    return userLookupCache
+        .findPrincipalByLogin(lowercaseLogin)
+        .map(principal -> checkActivated(lowercaseLogin, principal))
+        .orElseThrow(() -> userNotFound("User " + lowercaseLogin + " was not found in the database"));
+  }
+
+  private UsernameNotFoundException userNotFound(String message) {
+    if (knownUsersFilter.isReady()) {
+      metersService.trackUserLookupFalsePositive();
+    }
+    return new UsernameNotFoundException(message);
+  }
+
+  /**
+   * Stores the password re-encoded at the configured work factor after a successful login.
+   */
+  @Override
+  @Transactional
+  public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+    LOG.debug("Upgrading password encoding of {}", userDetails.getUsername());
+    userRepository
+        .findOneByLogin(userDetails.getUsername())
+        .ifPresent(user -> {
+          user.setPassword(newPassword);
+          userCacheInvalidator.invalidate(user.getId(), user.getLogin(), user.getEmail());
+        });
+    return org.springframework.security.core.userdetails.User.withUserDetails(userDetails).password(newPassword).build();
   }
 
-  private org.springframework.security.core.userdetails.User createSpringSecurityUser(String lowercaseLogin, User user) {
-    if (!user.isActivated()) {
+  /**
+   * The cached snapshot is the principal itself: it is immutable and keeps its password hash through the erasure of
+   * the credentials.
+   */
+  private UserPrincipal checkActivated(String lowercaseLogin, UserPrincipal principal) {
+    if (!principal.isActivated()) {
       throw new UserNotActivatedException("User " + lowercaseLogin + " was not activated");
     }
-    List<SimpleGrantedAuthority> grantedAuthorities = user
-        .getAuthorities()
-        .stream()
-        .map(Authority::getName)
-        .map(SimpleGrantedAuthority::new)
-        .toList();
-    return new org.springframework.security.core.userdetails.User(user.getLogin(), user.getPassword(), grantedAuthorities);
+    return principal;
   }
 }
@@ -0,0 +1,265 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.security;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import com.iqkv.sample.webmvc.dashboard.config.ApplicationProperties;
+import com.iqkv.sample.webmvc.dashboard.config.Constants;
+import com.iqkv.sample.webmvc.dashboard.management.FailedLoginsEndpoint;
+import com.iqkv.sample.webmvc.dashboard.management.SecurityMetersService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the failed logins by login and by client address over a sliding window, so that the hot-failing ones are
+ * locked out before the user is looked up and the password verified.
+ *
+ * <p>Each key has a {@link LongAdder} for the current window and one for the previous window, the failures over
+ * the last window being estimated by weighting the previous one by its part still within it. Nothing is persisted:
+ * failures are forgotten on restart and when a sweep finds their estimate back to zero. Once {@code max-entries} keys
+ * are tracked, the keys with the fewest failures are evicted to make room, so that new keys are always counted.
+ */
+@Component
+public class FailedLoginTracker implements FailedLoginsEndpoint.Offenders {
+
+  private static final Logger LOG = LoggerFactory.getLogger(FailedLoginTracker.class);
+
+  /**
+   * Part of the keys evicted at once when full, so that the scan is amortized over the following new keys.
+   */
+  private static final int EVICTED_FRACTION = 10;
+
+  enum Kind {
+    LOGIN("logins", "locked-login"),
+    CLIENT("clients", "locked-client");
+
+    private final String offenders;
+
+    private final String throttledKey;
+
+    Kind(String offenders, String throttledKey) {
+      this.offenders = offenders;
+      this.throttledKey = throttledKey;
+    }
+  }
+
+  private final boolean enabled;
+
+  private final long windowMillis;
+
+  private final Map<Kind, Integer> thresholds = new EnumMap<>(Kind.class);
+
+  private final int maxEntries;
+
+  private final Map<Kind, ConcurrentHashMap<String, DecayingCounter>> counters = new EnumMap<>(Kind.class);
+
+  private final SecurityMetersService metersService;
+
+  private final LongSupplier clock;
+
+  @Autowired
+  public FailedLoginTracker(ApplicationProperties applicationProperties, SecurityMetersService metersService) {
+    this(applicationProperties.getSecurity().getFailedLogins(), metersService, System::currentTimeMillis);
+  }
+
+  FailedLoginTracker(ApplicationProperties.Security.FailedLogins properties, SecurityMetersService metersService, LongSupplier clock) {
+    this.enabled = properties.isEnabled();
+    this.windowMillis = Math.max(1, properties.getWindow().toMillis());
+    this.thresholds.put(Kind.LOGIN, properties.getLoginThreshold());
+    this.thresholds.put(Kind.CLIENT, properties.getClientThreshold());
+    this.maxEntries = properties.getMaxEntries();
+    this.metersService = metersService;
+    this.clock = clock;
+    for (Kind kind : Kind.values()) {
+      counters.put(kind, new ConcurrentHashMap<>());
+    }
+  }
+
+  /**
+   * @param login the login being authenticated.
+   * @param clientAddress the address of the client.
+   * @throws LoginLockedOutException if the login or the client failed too many times within the window.
+   */
+  public void checkNotLockedOut(String login, String clientAddress) {
+    if (!enabled) {
+      return;
+    }
+    long now = clock.getAsLong();
+    checkNotLockedOut(Kind.LOGIN, normalize(login), now);
+    checkNotLockedOut(Kind.CLIENT, clientAddress, now);
+  }
+
+  private void checkNotLockedOut(Kind kind, String key, long now) {
+    DecayingCounter counter = key == null ? null : counters.get(kind).get(key);
+    if (counter != null && counter.estimate(now, windowMillis) >= thresholds.get(kind)) {
+      metersService.trackThrottled("authenticate", kind.throttledKey);
+      throw new LoginLockedOutException();
+    }
+  }
+
+  public void recordFailure(String login, String clientAddress) {
+    if (!enabled) {
+      return;
+    }
+    long now = clock.getAsLong();
+    increment(Kind.LOGIN, normalize(login), now);
+    increment(Kind.CLIENT, clientAddress, now);
+  }
+
+  private void increment(Kind kind, String key, long now) {
+    if (key == null) {
+      return;
+    }
+    ConcurrentHashMap<String, DecayingCounter> kindCounters = counters.get(kind);
+    DecayingCounter counter = kindCounters.get(key);
+    if (counter == null) {
+      if (kindCounters.size() >= maxEntries) {
+        evictWeakest(kind, now);
+      }
+      counter = kindCounters.computeIfAbsent(key, k -> new DecayingCounter());
+    }
+    counter.increment(now, windowMillis);
+  }
+
+  /**
+   * Evicts the tenth of the keys with the fewest failures, by a single thread at a time.
+   */
+  private void evictWeakest(Kind kind, long now) {
+    ConcurrentHashMap<String, DecayingCounter> kindCounters = counters.get(kind);
+    synchronized (kindCounters) {
+      int excess = kindCounters.size() - maxEntries + 1;
+      if (excess <= 0) {
+        return;
+      }
+      int evicted = Math.max(excess, maxEntries / EVICTED_FRACTION);
+      kindCounters.entrySet().stream()
+          .map(entry -> Map.entry(entry.getKey(), entry.getValue().estimate(now, windowMillis)))
+          .sorted(Map.Entry.comparingByValue())
+          .limit(evicted)
+          .forEach(entry -> kindCounters.remove(entry.getKey()));
+      LOG.debug("Evicted {} {} with the fewest failed logins", evicted, kind.offenders);
+    }
+  }
+
+  /**
+   * Forgets the failures of the login, leaving those of the client.
+   */
+  public void recordSuccess(String login) {
+    if (enabled && login != null) {
+      counters.get(Kind.LOGIN).remove(normalize(login));
+    }
+  }
+
+  /**
+   * Removes the keys without any failure left within the window.
+   */
+  @Scheduled(
+      fixedDelayString = "${iqkv.security.failed-logins.window:PT15M}",
+      initialDelayString = "${iqkv.security.failed-logins.window:PT15M}",
+      scheduler = Constants.CLEANUP_SCHEDULER
+  )
+  public void sweep() {
+    long now = clock.getAsLong();
+    for (Map.Entry<Kind, ConcurrentHashMap<String, DecayingCounter>> entry : counters.entrySet()) {
+      int before = entry.getValue().size();
+      entry.getValue().values().removeIf(counter -> counter.estimate(now, windowMillis) == 0);
+      LOG.debug("Swept {} of {} {} with failed logins", before - entry.getValue().size(), before, entry.getKey().offenders);
+    }
+  }
+
+  @Override
+  public Map<String, List<FailedLoginsEndpoint.Offender>> topOffenders(int limit) {
+    long now = clock.getAsLong();
+    Map<String, List<FailedLoginsEndpoint.Offender>> offenders = new LinkedHashMap<>();
+    for (Kind kind : Kind.values()) {
+      int threshold = thresholds.get(kind);
+      offenders.put(
+          kind.offenders,
+          counters.get(kind).entrySet().stream()
+              .map(entry -> {
+                long failures = entry.getValue().estimate(now, windowMillis);
+                return new FailedLoginsEndpoint.Offender(entry.getKey(), failures, failures >= threshold);
+              })
+              .filter(offender -> offender.failures() > 0)
+              .sorted(Comparator.comparingLong(FailedLoginsEndpoint.Offender::failures).reversed())
+              .limit(limit)
+              .toList()
+      );
+    }
+    return offenders;
+  }
+
+  private static String normalize(String login) {
+    return login == null ? null : login.toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Failures of the current and previous windows, rotated by compare-and-set so that increments never block.
+   */
+  static final class DecayingCounter {
+
+    private final AtomicReference<Windows> windows = new AtomicReference<>(
+        new Windows(Long.MIN_VALUE, new LongAdder(), new LongAdder())
+    );
+
+    void increment(long now, long windowMillis) {
+      long index = now / windowMillis;
+      Windows current = windows.get();
+      // A window newer than this increment's, rotated by a concurrent one, counts it as well
+      while (current.index < index) {
+        Windows rotated = new Windows(index, new LongAdder(), current.index == index - 1 ? current.current : new LongAdder());
+        if (windows.compareAndSet(current, rotated)) {
+          current = rotated;
+        } else {
+          current = windows.get();
+        }
+      }
+      current.current.increment();
+    }
+
+    /**
+     * @return the failures within the last window, the previous window weighted by its part still within it.
+     */
+    long estimate(long now, long windowMillis) {
+      long index = now / windowMillis;
+      double remaining = 1 - (double) (now % windowMillis) / windowMillis;
+      Windows current = windows.get();
+      if (current.index == index) {
+        return Math.round(current.current.sum() + current.previous.sum() * remaining);
+      }
+      if (current.index == index - 1) {
+        return Math.round(current.current.sum() * remaining);
+      }
+      return 0;
+    }
+
+    private record Windows(long index, LongAdder current, LongAdder previous) {}
+  }
+}
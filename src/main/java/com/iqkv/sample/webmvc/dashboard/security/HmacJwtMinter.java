@@ -0,0 +1,281 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.security;
+
+import static com.iqkv.boot.security.SecurityUtils.AUTHORITIES_KEY;
+import static com.iqkv.boot.security.SecurityUtils.JWT_ALGORITHM;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+
+/**
+ * Mints the HMAC-signed access tokens, producing the same bytes as the {@link JwtEncoder} without going through
+ * the claims set, header and JWK selection objects on every login.
+ *
+ * <p>The encoded header and the order of the claims are taken from a probe token minted by the {@link JwtEncoder}
+ * at startup; the fast path is only enabled when it reproduces that probe exactly. Claims are written as ASCII JSON
+ * into per-thread buffers and signed by a per-thread {@link Mac}. Subjects or authorities holding characters the
+ * encoder might escape are handed to the {@link JwtEncoder}.
+ */
+public class HmacJwtMinter {
+
+  private static final Logger LOG = LoggerFactory.getLogger(HmacJwtMinter.class);
+
+  /**
+   * JCA name of the {@code HS512} algorithm used by {@link com.iqkv.boot.security.SecurityUtils#JWT_ALGORITHM}.
+   */
+  private static final String MAC_ALGORITHM = "HmacSHA512";
+
+  private static final byte[] BASE64URL_ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(
+      StandardCharsets.US_ASCII
+  );
+
+  private static final int SUBJECT = 0;
+  private static final int EXPIRES_AT = 1;
+  private static final int ISSUED_AT = 2;
+  private static final int AUTHORITIES = 3;
+
+  private static final String[] CLAIM_NAMES = { "sub", "exp", "iat", AUTHORITIES_KEY };
+
+  private final SecretKey secretKey;
+
+  private final JwtEncoder jwtEncoder;
+
+  private final ThreadLocal<Buffers> buffers = ThreadLocal.withInitial(Buffers::new);
+
+  private byte[] encodedHeader;
+
+  private int[] claimOrder;
+
+  private final boolean fastPath;
+
+  public HmacJwtMinter(SecretKey secretKey, JwtEncoder jwtEncoder) {
+    this.secretKey = secretKey;
+    this.jwtEncoder = jwtEncoder;
+    this.fastPath = calibrate();
+  }
+
+  /**
+   * Mints a token with the {@code sub}, {@code iat}, {@code exp} and authorities claims.
+   *
+   * @param subject the login of the user.
+   * @param authorities the authorities of the user, separated by spaces.
+   * @param issuedAt the issue time.
+   * @param expiresAt the expiry time.
+   * @return the compact serialization of the signed token.
+   */
+  public String mint(String subject, String authorities, Instant issuedAt, Instant expiresAt) {
+    if (!fastPath || !isPlainAscii(subject) || !isPlainAscii(authorities)) {
+      return encode(subject, authorities, issuedAt, expiresAt);
+    }
+    // A virtual thread serves a single request, its thread locals would never be reused
+    Buffers threadBuffers = Thread.currentThread().isVirtual() ? new Buffers() : buffers.get();
+    return threadBuffers.mint(subject, authorities, issuedAt.getEpochSecond(), expiresAt.getEpochSecond());
+  }
+
+  boolean isFastPath() {
+    return fastPath;
+  }
+
+  private String encode(String subject, String authorities, Instant issuedAt, Instant expiresAt) {
+    JwtClaimsSet claims = JwtClaimsSet.builder()
+        .issuedAt(issuedAt)
+        .expiresAt(expiresAt)
+        .subject(subject)
+        .claim(AUTHORITIES_KEY, authorities)
+        .build();
+
+    JwsHeader jwsHeader = JwsHeader.with(JWT_ALGORITHM).build();
+    return jwtEncoder.encode(JwtEncoderParameters.from(jwsHeader, claims)).getTokenValue();
+  }
+
+  private boolean calibrate() {
+    Instant issuedAt = Instant.ofEpochSecond(1_000_000_000L);
+    Instant expiresAt = issuedAt.plusSeconds(86_400);
+    try {
+      String probe = encode("probe", "ROLE_PROBE ROLE_USER", issuedAt, expiresAt);
+      String[] segments = probe.split("\\.");
+      String payload = new String(Base64.getUrlDecoder().decode(segments[1]), StandardCharsets.UTF_8);
+      Integer[] order = { SUBJECT, EXPIRES_AT, ISSUED_AT, AUTHORITIES };
+      for (int claim : order) {
+        if (!payload.contains('"' + CLAIM_NAMES[claim] + "\":")) {
+          LOG.warn("Unexpected claims in the probe token, tokens will be minted by the JwtEncoder");
+          return false;
+        }
+      }
+      Arrays.sort(order, Comparator.comparingInt(claim -> payload.indexOf('"' + CLAIM_NAMES[claim] + "\":")));
+      encodedHeader = (segments[0] + '.').getBytes(StandardCharsets.US_ASCII);
+      claimOrder = Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+
+      String minted = new Buffers().mint("probe", "ROLE_PROBE ROLE_USER", issuedAt.getEpochSecond(), expiresAt.getEpochSecond());
+      if (!minted.equals(probe)) {
+        LOG.warn("Minted probe token differs from the JwtEncoder one, tokens will be minted by the JwtEncoder");
+        return false;
+      }
+      return true;
+    } catch (RuntimeException e) {
+      LOG.warn("Could not calibrate the token minter, tokens will be minted by the JwtEncoder: {}", e.getMessage());
+      return false;
+    }
+  }
+
+  /**
+   * Characters written as-is by any JSON serializer, which may otherwise escape HTML or control characters.
+   */
+  private static boolean isPlainAscii(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      boolean plain = (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == ' ' || c == '_' || c == '-' || c == '.' || c == '@';
+      if (!plain) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int base64UrlLength(int length) {
+    return (length * 4 + 2) / 3;
+  }
+
+  private static int encodeBase64Url(byte[] src, int srcLength, byte[] dst, int pos) {
+    int i = 0;
+    for (; i + 3 <= srcLength; i += 3) {
+      int bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8 | (src[i + 2] & 0xff);
+      dst[pos++] = BASE64URL_ALPHABET[(bits >>> 18) & 0x3f];
+      dst[pos++] = BASE64URL_ALPHABET[(bits >>> 12) & 0x3f];
+      dst[pos++] = BASE64URL_ALPHABET[(bits >>> 6) & 0x3f];
+      dst[pos++] = BASE64URL_ALPHABET[bits & 0x3f];
+    }
+    int remaining = srcLength - i;
+    if (remaining > 0) {
+      int bits = (src[i] & 0xff) << 16 | (remaining == 2 ? (src[i + 1] & 0xff) << 8 : 0);
+      dst[pos++] = BASE64URL_ALPHABET[(bits >>> 18) & 0x3f];
+      dst[pos++] = BASE64URL_ALPHABET[(bits >>> 12) & 0x3f];
+      if (remaining == 2) {
+        dst[pos++] = BASE64URL_ALPHABET[(bits >>> 6) & 0x3f];
+      }
+    }
+    return pos;
+  }
+
+  /**
+   * Per-thread {@link Mac} and buffers, grown on demand and reused across tokens of platform threads.
+   */
+  private final class Buffers {
+
+    private final Mac mac;
+
+    private final byte[] signature;
+
+    private byte[] json = new byte[256];
+
+    private byte[] token = new byte[512];
+
+    private Buffers() {
+      try {
+        mac = Mac.getInstance(MAC_ALGORITHM);
+        mac.init(secretKey);
+      } catch (GeneralSecurityException e) {
+        throw new IllegalStateException("Cannot initialize " + MAC_ALGORITHM, e);
+      }
+      signature = new byte[mac.getMacLength()];
+    }
+
+    private String mint(String subject, String authorities, long issuedAt, long expiresAt) {
+      int jsonLength = writeClaims(subject, authorities, issuedAt, expiresAt);
+      int capacity = encodedHeader.length + base64UrlLength(jsonLength) + 1 + base64UrlLength(signature.length);
+      if (token.length < capacity) {
+        token = new byte[capacity];
+      }
+      System.arraycopy(encodedHeader, 0, token, 0, encodedHeader.length);
+      int length = encodeBase64Url(json, jsonLength, token, encodedHeader.length);
+      try {
+        mac.update(token, 0, length);
+        mac.doFinal(signature, 0);
+      } catch (GeneralSecurityException e) {
+        throw new IllegalStateException("Cannot sign the token", e);
+      }
+      token[length++] = '.';
+      length = encodeBase64Url(signature, signature.length, token, length);
+      return new String(token, 0, length, StandardCharsets.US_ASCII);
+    }
+
+    private int writeClaims(String subject, String authorities, long issuedAt, long expiresAt) {
+      // Quotes, separators, claim names and two longs fit well within 96 bytes
+      int capacity = subject.length() + authorities.length() + 96;
+      if (json.length < capacity) {
+        json = new byte[capacity];
+      }
+      int pos = 0;
+      json[pos++] = '{';
+      for (int i = 0; i < claimOrder.length; i++) {
+        if (i > 0) {
+          json[pos++] = ',';
+        }
+        int claim = claimOrder[i];
+        pos = writeString(CLAIM_NAMES[claim], pos);
+        json[pos++] = ':';
+        pos = switch (claim) {
+          case SUBJECT -> writeString(subject, pos);
+          case EXPIRES_AT -> writeLong(expiresAt, pos);
+          case ISSUED_AT -> writeLong(issuedAt, pos);
+          default -> writeString(authorities, pos);
+        };
+      }
+      json[pos++] = '}';
+      return pos;
+    }
+
+    private int writeString(String value, int pos) {
+      json[pos++] = '"';
+      for (int i = 0; i < value.length(); i++) {
+        json[pos++] = (byte) value.charAt(i);
+      }
+      json[pos++] = '"';
+      return pos;
+    }
+
+    private int writeLong(long value, int pos) {
+      if (value < 0) {
+        json[pos++] = '-';
+        value = -value;
+      }
+      int digits = 1;
+      for (long remaining = value; remaining >= 10; remaining /= 10) {
+        digits++;
+      }
+      for (int i = pos + digits - 1; i >= pos; i--) {
+        json[i] = (byte) ('0' + value % 10);
+        value /= 10;
+      }
+      return pos + digits;
+    }
+  }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.security;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+import com.iqkv.sample.webmvc.dashboard.config.ApplicationProperties;
+import com.iqkv.sample.webmvc.dashboard.config.Constants;
+import com.iqkv.sample.webmvc.dashboard.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bloom filter over the logins and emails of all the users, telling when a username definitely does not exist so
+ * that its lookup can skip the database.
+ *
+ * <p>The filter is built once the application is ready, then rebuilt periodically to forget deleted users. Until
+ * the first build completes every username might exist. Users created or renamed in between are added by the
+ * {@code UserService}; a user added outside of it may be reported missing until the next rebuild.
+ */
+@Component
+public class KnownUsersFilter {
+
+  private static final Logger LOG = LoggerFactory.getLogger(KnownUsersFilter.class);
+
+  private final UserRepository userRepository;
+
+  private final ApplicationProperties.Security.KnownUsersFilter properties;
+
+  private volatile BloomFilter filter;
+
+  private volatile BloomFilter rebuilding;
+
+  public KnownUsersFilter(UserRepository userRepository, ApplicationProperties applicationProperties) {
+    this.userRepository = userRepository;
+    this.properties = applicationProperties.getSecurity().getKnownUsersFilter();
+  }
+
+  /**
+   * @param username a login or an email, in any case.
+   * @return {@code false} if no user has this login or email.
+   */
+  public boolean mightContain(String username) {
+    BloomFilter current = filter;
+    return current == null || current.mightContain(normalize(username));
+  }
+
+  /**
+   * @return whether the filter was built, and may reject usernames.
+   */
+  public boolean isReady() {
+    return filter != null;
+  }
+
+  /**
+   * Records the login and email of a created or updated user, once the current transaction commits.
+   */
+  public void add(String login, String email) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              put(login, email);
+            }
+          }
+      );
+    } else {
+      put(login, email);
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(
+      fixedDelayString = "${iqkv.security.known-users-filter.rebuild-interval:PT1H}",
+      initialDelayString = "${iqkv.security.known-users-filter.rebuild-interval:PT1H}",
+      scheduler = Constants.CLEANUP_SCHEDULER
+  )
+  @Transactional(readOnly = true)
+  public void rebuild() {
+    if (!properties.isEnabled()) {
+      return;
+    }
+    long start = System.nanoTime();
+    // Two entries per user, and room for the users created until the next rebuild
+    long expectedEntries = Math.max(properties.getExpectedEntries(), 4 * userRepository.count());
+    BloomFilter next = new BloomFilter(expectedEntries, properties.getFalsePositiveProbability());
+    rebuilding = next;
+    try (Stream<String> usernames = userRepository.streamAllLoginsAndEmails()) {
+      usernames.forEach(username -> next.put(normalize(username)));
+      filter = next;
+    } finally {
+      rebuilding = null;
+    }
+    LOG.debug("Rebuilt known users filter of {} bits in {} ms", next.size(), (System.nanoTime() - start) / 1_000_000);
+  }
+
+  private void put(String login, String email) {
+    // A rebuild started after this read streams the committed user; one in progress is completed with it
+    BloomFilter next = rebuilding;
+    BloomFilter current = filter;
+    for (BloomFilter target : new BloomFilter[] { next, current }) {
+      if (target != null) {
+        target.put(normalize(login));
+        if (email != null) {
+          target.put(normalize(email));
+        }
+      }
+    }
+  }
+
+  private static String normalize(String username) {
+    return username.toLowerCase(Locale.ENGLISH);
+  }
+
+  /**
+   * Lock-free bloom filter using the double hashing scheme of Kirsch and Mitzenmacher.
+   */
+  static final class BloomFilter {
+
+    private final AtomicLongArray words;
+
+    private final long bits;
+
+    private final int hashes;
+
+    BloomFilter(long expectedEntries, double falsePositiveProbability) {
+      long optimalBits = (long) Math.ceil(-expectedEntries * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+      int wordCount = (int) Math.min(Math.max((optimalBits + 63) / 64, 1), Integer.MAX_VALUE / 64);
+      this.words = new AtomicLongArray(wordCount);
+      this.bits = wordCount * 64L;
+      this.hashes = Math.max(1, (int) Math.round((double) bits / expectedEntries * Math.log(2)));
+    }
+
+    void put(String key) {
+      long hash = hash(key);
+      int hash1 = (int) hash;
+      int hash2 = (int) (hash >>> 32);
+      for (int i = 1; i <= hashes; i++) {
+        long bit = index(hash1 + i * hash2);
+        int word = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        long value = words.get(word);
+        while ((value & mask) == 0 && !words.compareAndSet(word, value, value | mask)) {
+          value = words.get(word);
+        }
+      }
+    }
+
+    boolean mightContain(String key) {
+      long hash = hash(key);
+      int hash1 = (int) hash;
+      int hash2 = (int) (hash >>> 32);
+      for (int i = 1; i <= hashes; i++) {
+        long bit = index(hash1 + i * hash2);
+        if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    long size() {
+      return bits;
+    }
+
+    private long index(int combinedHash) {
+      return (combinedHash < 0 ? ~combinedHash : combinedHash) % bits;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-16 chars, finalized with the MurmurHash3 mixer.
+     */
+    private static long hash(String key) {
+      long hash = 0xcbf29ce484222325L;
+      for (int i = 0; i < key.length(); i++) {
+        hash ^= key.charAt(i);
+        hash *= 0x100000001b3L;
+      }
+      hash ^= hash >>> 33;
+      hash *= 0xff51afd7ed558ccdL;
+      hash ^= hash >>> 33;
+      hash *= 0xc4ceb9fe1a85ec53L;
+      hash ^= hash >>> 33;
+      return hash;
+    }
+  }
+}
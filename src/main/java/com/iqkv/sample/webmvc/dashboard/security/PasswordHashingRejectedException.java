@@ -0,0 +1,37 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.security;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when the password hashing pool is saturated, so that the client retries later.
+ *
+ * <p>Being an {@link AuthenticationServiceException}, it goes through the authentication providers unwrapped instead
+ * of becoming an internal error when the password is verified.
+ */
+@ResponseStatus(value = HttpStatus.TOO_MANY_REQUESTS, reason = "Too many password hashing requests")
+public class PasswordHashingRejectedException extends AuthenticationServiceException {
+
+  private static final long serialVersionUID = 1L;
+
+  public PasswordHashingRejectedException() {
+    super("Password hashing pool is saturated");
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.security;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets of a rate limit, in a fixed array whatever the number of keys: each key is hashed to one bucket per
+ * row, shared with the other keys hashed there.
+ *
+ * <p>A shared bucket drains at least as fast as the bucket of each of its keys would, so a key is granted a request
+ * as long as one of its buckets has a token left, and takes a token from all of them. A key whose every bucket is
+ * empty is throttled, which rarely happens to a well-behaved key sharing a single bucket with an abusive one.
+ *
+ * <p>Each bucket is a single {@code long} updated by compare-and-set, holding its last refill time in its upper bits
+ * and its tokens, in thousandths, in its lower {@value #TOKEN_BITS} bits.
+ */
+class StripedTokenBuckets {
+
+  private static final int ROWS = 2;
+
+  private static final int TOKEN_BITS = 24;
+
+  private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+
+  private static final long TOKEN = 1000;
+
+  /**
+   * Odd multipliers spreading the key hashes differently in each row.
+   */
+  private static final int[] SEEDS = { 0x9E3779B1, 0x85EBCA77 };
+
+  private final AtomicLongArray buckets;
+
+  private final int indexShift;
+
+  private final int width;
+
+  private final long capacity;
+
+  private final long periodMillis;
+
+  private final LongSupplier clock;
+
+  StripedTokenBuckets(int permits, Duration period, int buckets) {
+    this(permits, period, buckets, millisClock());
+  }
+
+  StripedTokenBuckets(int permits, Duration period, int buckets, LongSupplier clock) {
+    if (permits <= 0 || permits * TOKEN > TOKEN_MASK) {
+      throw new IllegalArgumentException("Permits must be between 1 and " + TOKEN_MASK / TOKEN + ": " + permits);
+    }
+    this.width = Math.max(2, Integer.highestOneBit(Math.max(1, buckets - 1)) << 1);
+    this.indexShift = Integer.SIZE - Integer.numberOfTrailingZeros(width);
+    this.buckets = new AtomicLongArray(ROWS * width);
+    this.capacity = permits * TOKEN;
+    this.periodMillis = Math.max(1, period.toMillis());
+    this.clock = clock;
+  }
+
+  /**
+   * @return whether the key is granted a request.
+   */
+  boolean tryAcquire(String key) {
+    int hash = key.hashCode();
+    long now = clock.getAsLong();
+    boolean acquired = false;
+    for (int row = 0; row < ROWS; row++) {
+      int index = row * width + ((hash * SEEDS[row]) >>> indexShift);
+      acquired |= tryAcquire(index, now);
+    }
+    return acquired;
+  }
+
+  private boolean tryAcquire(int index, long now) {
+    while (true) {
+      long bucket = buckets.get(index);
+      long refilledAt = bucket >>> TOKEN_BITS;
+      long tokens = bucket & TOKEN_MASK;
+      long elapsed = now - refilledAt;
+      if (bucket == 0 || elapsed >= periodMillis) {
+        // Never used, or idle long enough to be full again
+        tokens = capacity;
+        refilledAt = now;
+      } else if (elapsed > 0) {
+        long added = elapsed * capacity / periodMillis;
+        if (added > 0) {
+          tokens = Math.min(capacity, tokens + added);
+          refilledAt = now;
+        }
+      }
+      if (tokens < TOKEN) {
+        return false;
+      }
+      if (buckets.compareAndSet(index, bucket, refilledAt << TOKEN_BITS | (tokens - TOKEN))) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Milliseconds since the first use, starting at 1 so that a bucket never holds 0 once used.
+   */
+  private static LongSupplier millisClock() {
+    long origin = System.nanoTime();
+    return () -> (System.nanoTime() - origin) / 1_000_000 + 1;
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.service;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.MimeMessage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import com.iqkv.sample.webmvc.dashboard.config.ApplicationProperties;
+import com.iqkv.sample.webmvc.dashboard.management.MailMetersService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends the emails over a few SMTP connections, each connection carrying the emails queued while the previous batch
+ * was being sent.
+ *
+ * <p>Callers wait until their email is handed to the SMTP server, or get the failure of their own email.
+ */
+@Component
+public class MailDispatcher {
+
+  private static final Logger LOG = LoggerFactory.getLogger(MailDispatcher.class);
+
+  private final JavaMailSender javaMailSender;
+
+  private final MailMetersService metersService;
+
+  private final int batchSize;
+
+  private final BlockingQueue<PendingMail> queue = new LinkedBlockingQueue<>();
+
+  private final ExecutorService sessions;
+
+  public MailDispatcher(JavaMailSender javaMailSender, ApplicationProperties applicationProperties, MailMetersService metersService) {
+    this.javaMailSender = javaMailSender;
+    this.metersService = metersService;
+    this.batchSize = applicationProperties.getMail().getBatchSize();
+    int sessionCount = applicationProperties.getMail().getSessions();
+    this.sessions = Executors.newFixedThreadPool(sessionCount, new CustomizableThreadFactory("mail-session-"));
+    for (int i = 0; i < sessionCount; i++) {
+      sessions.execute(this::sendBatches);
+    }
+    metersService.bindMailQueue(queue);
+  }
+
+  /**
+   * Sends the message along with the other pending ones, waiting until it is sent.
+   *
+   * @param message the message to send.
+   * @throws MailException if the message could not be sent.
+   */
+  public void send(MimeMessage message) {
+    PendingMail pending = new PendingMail(message, new CompletableFuture<>());
+    queue.add(pending);
+    try {
+      pending.sent().get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MailSendException("Interrupted while waiting for the email to be sent", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof MailException mailException) {
+        throw mailException;
+      }
+      throw new MailSendException("Email could not be sent", e.getCause());
+    }
+  }
+
+  /**
+   * Stops the SMTP sessions, failing the emails still queued.
+   */
+  @PreDestroy
+  public void shutdown() {
+    sessions.shutdownNow();
+    List<PendingMail> pending = new ArrayList<>();
+    queue.drainTo(pending);
+    pending.forEach(mail -> mail.sent().completeExceptionally(new MailSendException("Mail dispatcher is shut down")));
+  }
+
+  private void sendBatches() {
+    List<PendingMail> batch = new ArrayList<>(batchSize);
+    while (!Thread.currentThread().isInterrupted()) {
+      try {
+        batch.add(queue.take());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      queue.drainTo(batch, batchSize - 1);
+      sendBatch(batch);
+      batch.clear();
+    }
+  }
+
+  private void sendBatch(List<PendingMail> batch) {
+    metersService.trackMailBatch(batch.size());
+    try {
+      if (batch.size() == 1) {
+        javaMailSender.send(batch.get(0).message());
+      } else {
+        javaMailSender.send(batch.stream().map(PendingMail::message).toArray(MimeMessage[]::new));
+      }
+      batch.forEach(mail -> mail.sent().complete(null));
+    } catch (MailSendException e) {
+      // Messages missing from the failed ones were sent before the connection broke
+      Map<Object, Exception> failedMessages = e.getFailedMessages() != null ? e.getFailedMessages() : Map.of();
+      for (PendingMail mail : batch) {
+        Exception failure = failedMessages.get(mail.message());
+        if (failure == null && !failedMessages.isEmpty()) {
+          mail.sent().complete(null);
+        } else {
+          mail.sent().completeExceptionally(failure == null ? e : new MailSendException("Email could not be sent", failure));
+        }
+      }
+    } catch (RuntimeException e) {
+      LOG.debug("Batch of {} emails could not be sent", batch.size(), e);
+      batch.forEach(mail -> mail.sent().completeExceptionally(e));
+    }
+  }
+
+  private record PendingMail(MimeMessage message, CompletableFuture<Void> sent) {}
+}
@@ -19,61 +19,171 @@ package com.iqkv.sample.webmvc.dashboard.service;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Locale;
+import java.util.Optional;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 
 import com.iqkv.boot.mail.MailProperties;
+import com.iqkv.sample.webmvc.dashboard.config.ApplicationProperties;
+import com.iqkv.sample.webmvc.dashboard.config.Constants;
 import com.iqkv.sample.webmvc.dashboard.domain.User;
+import com.iqkv.sample.webmvc.dashboard.management.MailMetersService;
+import com.iqkv.sample.webmvc.dashboard.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.MessageSource;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mail.MailException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.modulith.events.CompletedEventPublications;
+import org.springframework.modulith.events.IncompleteEventPublications;
 import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.context.Context;
-import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 /**
  * Service for sending emails asynchronously.
  *
- * <p>We use the {@link Async} annotation to send emails asynchronously.
+ * <p>Emails are requested as events, recorded in the event publication registry along with the current transaction,
+ * and sent once it commits on the {@link Constants#MAIL_EXECUTOR} executor. Emails still unsent after their
+ * attempts are submitted again by {@link #resubmitUnsentEmails()}, and the publications of sent emails are deleted
+ * by {@link #purgeSentEmails()}. Templated emails only record the user id, their keys being read when sending.
  */
 @Service
 public class MailService {
 
   private static final Logger LOG = LoggerFactory.getLogger(MailService.class);
 
-  private static final String USER = "user";
-
-  private static final String BASE_URL = "baseUrl";
-
   private final MailProperties mailProperties;
 
   private final JavaMailSender javaMailSender;
 
-  private final MessageSource messageSource;
+  private final MailTemplateRenderer mailTemplateRenderer;
+
+  private final ApplicationEventPublisher eventPublisher;
+
+  private final MailDispatcher mailDispatcher;
+
+  private final IncompleteEventPublications incompleteEventPublications;
+
+  private final CompletedEventPublications completedEventPublications;
+
+  private final UserRepository userRepository;
 
-  private final SpringTemplateEngine templateEngine;
+  private final ApplicationProperties.Mail mail;
+
+  private final MailMetersService mailMetersService;
 
   public MailService(
       MailProperties mailProperties,
       JavaMailSender javaMailSender,
-      MessageSource messageSource,
-      SpringTemplateEngine templateEngine
+      MailTemplateRenderer mailTemplateRenderer,
+      ApplicationEventPublisher eventPublisher,
+      MailDispatcher mailDispatcher,
+      IncompleteEventPublications incompleteEventPublications,
+      CompletedEventPublications completedEventPublications,
+      UserRepository userRepository,
+      ApplicationProperties applicationProperties,
+      MailMetersService mailMetersService
   ) {
     this.mailProperties = mailProperties;
     this.javaMailSender = javaMailSender;
-    this.messageSource = messageSource;
-    this.templateEngine = templateEngine;
+    this.mailTemplateRenderer = mailTemplateRenderer;
+    this.eventPublisher = eventPublisher;
+    this.mailDispatcher = mailDispatcher;
+    this.incompleteEventPublications = incompleteEventPublications;
+    this.completedEventPublications = completedEventPublications;
+    this.userRepository = userRepository;
+    this.mail = applicationProperties.getMail();
+    this.mailMetersService = mailMetersService;
   }
 
-  @Async
+  @Transactional
   public void sendEmail(String to, String subject, String content, boolean isMultipart, boolean isHtml) {
-    this.sendEmailSync(to, subject, content, isMultipart, isHtml);
+    eventPublisher.publishEvent(new EmailRequested(to, subject, content, isMultipart, isHtml, Instant.now()));
+  }
+
+  @Transactional
+  public void sendEmailFromTemplate(User user, String templateName, String titleKey) {
+    if (user.getEmail() == null) {
+      LOG.debug("Email doesn't exist for user '{}'", user.getLogin());
+      return;
+    }
+    eventPublisher.publishEvent(new TemplatedEmailRequested(templateName, titleKey, user.getId(), user.getLangKey(), Instant.now()));
+  }
+
+  @Transactional
+  public void sendActivationEmail(User user) {
+    LOG.debug("Sending activation email to '{}'", user.getEmail());
+    this.sendEmailFromTemplate(user, "mail/activationEmail", "email.activation.title");
+  }
+
+  @Transactional
+  public void sendCreationEmail(User user) {
+    LOG.debug("Sending creation email to '{}'", user.getEmail());
+    this.sendEmailFromTemplate(user, "mail/creationEmail", "email.activation.title");
+  }
+
+  @Transactional
+  public void sendPasswordResetMail(User user) {
+    LOG.debug("Sending password reset email to '{}'", user.getEmail());
+    this.sendEmailFromTemplate(user, "mail/passwordResetEmail", "email.reset.title");
+  }
+
+  @Async(Constants.MAIL_EXECUTOR)
+  @TransactionalEventListener
+  public void on(EmailRequested email) {
+    deliver(email.to(), email.subject(), email.content(), email.multipart(), email.html(), email.requestedAt());
+  }
+
+  @Async(Constants.MAIL_EXECUTOR)
+  @TransactionalEventListener
+  public void on(TemplatedEmailRequested email) {
+    Optional<User> found = userRepository.findById(email.userId());
+    if (found.isEmpty() || found.get().getEmail() == null) {
+      LOG.debug("Email not sent, user '{}' doesn't exist anymore or has no email", email.userId());
+      return;
+    }
+    User user = found.get();
+
+    Locale locale = Locale.forLanguageTag(email.langKey());
+    String content = mailTemplateRenderer.render(email.templateName(), locale, user);
+    String subject = mailTemplateRenderer.subject(email.titleKey(), locale);
+    deliver(user.getEmail(), subject, content, false, true, email.requestedAt());
+  }
+
+  /**
+   * Submits again the emails whose delivery failed or was interrupted, such as by a restart.
+   */
+  @Scheduled(fixedDelayString = "${iqkv.mail.resubmit-interval:PT1M}", scheduler = Constants.CLEANUP_SCHEDULER)
+  public void resubmitUnsentEmails() {
+    Instant olderThan = Instant.now().minus(mail.getResubmitAfter());
+    incompleteEventPublications.resubmitIncompletePublications(publication ->
+        (publication.getEvent() instanceof EmailRequested || publication.getEvent() instanceof TemplatedEmailRequested) &&
+        publication.getPublicationDate().isBefore(olderThan)
+    );
+  }
+
+  /**
+   * Deletes the publications of the sent emails once past their retention, the event publication registry keeping
+   * them otherwise.
+   */
+  @Scheduled(fixedDelayString = "${iqkv.mail.purge-interval:PT10M}", scheduler = Constants.CLEANUP_SCHEDULER)
+  public void purgeSentEmails() {
+    completedEventPublications.deletePublicationsOlderThan(mail.getSentRetention());
   }
 
-  private void sendEmailSync(String to, String subject, String content, boolean isMultipart, boolean isHtml) {
+  /**
+   * Sends the email, retrying with an exponential backoff.
+   *
+   * @throws MailException when all the attempts failed, leaving the publication incomplete.
+   */
+  private void deliver(String to, String subject, String content, boolean isMultipart, boolean isHtml, Instant requestedAt) {
     LOG.debug(
         "Send email[multipart '{}' and html '{}'] to '{}' with subject '{}' and content={}",
         isMultipart,
@@ -91,47 +201,43 @@ public class MailService {
       message.setFrom(mailProperties.getFrom());
       message.setSubject(subject);
       message.setText(content, isHtml);
-      javaMailSender.send(mimeMessage);
-      LOG.debug("Sent email to User '{}'", to);
-    } catch (MailException | MessagingException e) {
-      LOG.warn("Email could not be sent to user '{}'", to, e);
+    } catch (MessagingException e) {
+      mailMetersService.trackMailFailed();
+      throw new MailPreparationException("Email could not be prepared for user '" + to + "'", e);
     }
-  }
-
-  @Async
-  public void sendEmailFromTemplate(User user, String templateName, String titleKey) {
-    this.sendEmailFromTemplateSync(user, templateName, titleKey);
-  }
 
-  private void sendEmailFromTemplateSync(User user, String templateName, String titleKey) {
-    if (user.getEmail() == null) {
-      LOG.debug("Email doesn't exist for user '{}'", user.getLogin());
-      return;
+    Duration backoff = mail.getInitialBackoff();
+    for (int attempt = 1;; attempt++) {
+      try {
+        mailDispatcher.send(mimeMessage);
+        mailMetersService.trackMailSent(Duration.between(requestedAt, Instant.now()));
+        LOG.debug("Sent email to User '{}'", to);
+        return;
+      } catch (MailException e) {
+        mailMetersService.trackMailFailed();
+        if (attempt >= mail.getMaxAttempts()) {
+          LOG.warn("Email could not be sent to user '{}' after {} attempts", to, attempt, e);
+          throw e;
+        }
+        LOG.debug("Email could not be sent to user '{}', attempt {}", to, attempt, e);
+      }
+      try {
+        Thread.sleep(backoff);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new MailSendException("Interrupted while sending email to user '" + to + "'", e);
+      }
+      backoff = backoff.multipliedBy(2);
     }
-    Locale locale = Locale.forLanguageTag(user.getLangKey());
-    Context context = new Context(locale);
-    context.setVariable(USER, user);
-    context.setVariable(BASE_URL, mailProperties.getBaseUrl());
-    String content = templateEngine.process(templateName, context);
-    String subject = messageSource.getMessage(titleKey, null, locale);
-    this.sendEmailSync(user.getEmail(), subject, content, false, true);
-  }
-
-  @Async
-  public void sendActivationEmail(User user) {
-    LOG.debug("Sending activation email to '{}'", user.getEmail());
-    this.sendEmailFromTemplateSync(user, "mail/activationEmail", "email.activation.title");
   }
 
-  @Async
-  public void sendCreationEmail(User user) {
-    LOG.debug("Sending creation email to '{}'", user.getEmail());
-    this.sendEmailFromTemplateSync(user, "mail/creationEmail", "email.activation.title");
-  }
+  /**
+   * Email requested with its content.
+   */
+  public record EmailRequested(String to, String subject, String content, boolean multipart, boolean html, Instant requestedAt) {}
 
-  @Async
-  public void sendPasswordResetMail(User user) {
-    LOG.debug("Sending password reset email to '{}'", user.getEmail());
-    this.sendEmailFromTemplateSync(user, "mail/passwordResetEmail", "email.reset.title");
-  }
+  /**
+   * Email requested from a template, rendered once the transaction commits from the user read again.
+   */
+  public record TemplatedEmailRequested(String templateName, String titleKey, Long userId, String langKey, Instant requestedAt) {}
 }
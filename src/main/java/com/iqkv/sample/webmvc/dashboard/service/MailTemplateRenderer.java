@@ -0,0 +1,237 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.iqkv.boot.mail.MailProperties;
+import com.iqkv.sample.webmvc.dashboard.domain.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafProperties;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+
+/**
+ * Renders the mail templates and their subjects.
+ *
+ * <p>Each template is rendered once per locale by the {@link SpringTemplateEngine} with marker values in place of the
+ * user properties, and split around the markers into static fragments. Later emails only concatenate the fragments
+ * with the user properties. A template is only precompiled when the fragments reproduce the engine output for probe
+ * values; users holding properties the engine might escape or encode are rendered by the engine.
+ *
+ * <p>Nothing is cached when the Thymeleaf cache is disabled, so that templates can be edited in development.
+ */
+@Component
+public class MailTemplateRenderer {
+
+  private static final Logger LOG = LoggerFactory.getLogger(MailTemplateRenderer.class);
+
+  private static final String USER = "user";
+
+  private static final String BASE_URL = "baseUrl";
+
+  private static final int LOGIN = 0;
+  private static final int EMAIL = 1;
+  private static final int ACTIVATION_KEY = 2;
+  private static final int RESET_KEY = 3;
+
+  private static final String[] MARKERS = { "iqkvslot0z", "iqkvslot1z", "iqkvslot2z", "iqkvslot3z" };
+
+  private static final Pattern MARKER_PATTERN = Pattern.compile("iqkvslot([0-3])z");
+
+  private static final String[] PROBES = { "Probe.Login-0_", "probe-1.mail@example.com", "Probe2Activation", "Probe3Reset" };
+
+  /**
+   * Bound on the cached templates and subjects, the locale coming from the language of the users.
+   */
+  private static final int MAX_ENTRIES = 256;
+
+  /**
+   * Cached instead of the templates the fragments could not reproduce.
+   */
+  private static final CompiledTemplate NOT_COMPILABLE = new CompiledTemplate(new String[0], new int[0]);
+
+  private final SpringTemplateEngine templateEngine;
+
+  private final MessageSource messageSource;
+
+  private final String baseUrl;
+
+  private final boolean cache;
+
+  private final ConcurrentMap<Key, CompiledTemplate> templates = new ConcurrentHashMap<>();
+
+  private final ConcurrentMap<Key, String> subjects = new ConcurrentHashMap<>();
+
+  @Autowired
+  public MailTemplateRenderer(
+      SpringTemplateEngine templateEngine,
+      MessageSource messageSource,
+      MailProperties mailProperties,
+      ThymeleafProperties thymeleafProperties
+  ) {
+    this(templateEngine, messageSource, mailProperties.getBaseUrl(), thymeleafProperties.isCache());
+  }
+
+  MailTemplateRenderer(SpringTemplateEngine templateEngine, MessageSource messageSource, String baseUrl, boolean cache) {
+    this.templateEngine = templateEngine;
+    this.messageSource = messageSource;
+    this.baseUrl = baseUrl;
+    this.cache = cache;
+  }
+
+  /**
+   * Renders a mail template for a user.
+   *
+   * @param templateName the name of the template.
+   * @param locale the locale of the user.
+   * @param user the user, whose login, email, activation and reset keys may be used by the template.
+   * @return the rendered content.
+   */
+  public String render(String templateName, Locale locale, User user) {
+    if (!cache) {
+      return process(templateName, locale, user);
+    }
+    Key key = new Key(templateName, locale);
+    CompiledTemplate compiled = templates.get(key);
+    if (compiled == null) {
+      if (templates.size() >= MAX_ENTRIES) {
+        return process(templateName, locale, user);
+      }
+      compiled = templates.computeIfAbsent(key, this::compile);
+    }
+    String[] values = { user.getLogin(), user.getEmail(), user.getActivationKey(), user.getResetKey() };
+    if (compiled == NOT_COMPILABLE || !compiled.accepts(values)) {
+      return process(templateName, locale, user);
+    }
+    return compiled.render(values);
+  }
+
+  /**
+   * Resolves the subject of an email.
+   *
+   * @param titleKey the message key of the subject.
+   * @param locale the locale of the user.
+   * @return the subject.
+   */
+  public String subject(String titleKey, Locale locale) {
+    if (!cache || subjects.size() >= MAX_ENTRIES) {
+      return messageSource.getMessage(titleKey, null, locale);
+    }
+    return subjects.computeIfAbsent(new Key(titleKey, locale), key -> messageSource.getMessage(key.name(), null, key.locale()));
+  }
+
+  private String process(String templateName, Locale locale, User user) {
+    Context context = new Context(locale);
+    context.setVariable(USER, user);
+    context.setVariable(BASE_URL, baseUrl);
+    return templateEngine.process(templateName, context);
+  }
+
+  private CompiledTemplate compile(Key key) {
+    String output = process(key.name(), key.locale(), user(MARKERS));
+    List<String> fragments = new ArrayList<>();
+    List<Integer> slots = new ArrayList<>();
+    Matcher matcher = MARKER_PATTERN.matcher(output);
+    int fragmentStart = 0;
+    while (matcher.find()) {
+      fragments.add(output.substring(fragmentStart, matcher.start()));
+      slots.add(matcher.group(1).charAt(0) - '0');
+      fragmentStart = matcher.end();
+    }
+    fragments.add(output.substring(fragmentStart));
+    CompiledTemplate compiled = new CompiledTemplate(
+        fragments.toArray(String[]::new),
+        slots.stream().mapToInt(Integer::intValue).toArray()
+    );
+
+    // The probes are read back from the user, whose setters may normalize them, such as the login lower-cased
+    User probe = user(PROBES);
+    String[] probes = { probe.getLogin(), probe.getEmail(), probe.getActivationKey(), probe.getResetKey() };
+    if (!compiled.render(probes).equals(process(key.name(), key.locale(), probe))) {
+      LOG.warn("Mail template '{}' could not be precompiled for locale '{}', it will be rendered by the engine", key.name(), key.locale());
+      return NOT_COMPILABLE;
+    }
+    LOG.debug("Precompiled mail template '{}' for locale '{}' into {} fragments", key.name(), key.locale(), fragments.size());
+    return compiled;
+  }
+
+  private static User user(String[] values) {
+    User user = new User();
+    user.setLogin(values[LOGIN]);
+    user.setEmail(values[EMAIL]);
+    user.setActivationKey(values[ACTIVATION_KEY]);
+    user.setResetKey(values[RESET_KEY]);
+    return user;
+  }
+
+  /**
+   * Characters left as-is by both the HTML escaping and the URL encoding.
+   */
+  private static boolean isPlain(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      boolean plain = (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '_' || c == '-' || c == '.' || c == '@';
+      if (!plain) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private record Key(String name, Locale locale) {}
+
+  /**
+   * Static fragments of a rendered template, with the user property expected between each two of them.
+   */
+  private record CompiledTemplate(String[] fragments, int[] slots) {
+    boolean accepts(String[] values) {
+      for (int slot : slots) {
+        if (values[slot] == null || !isPlain(values[slot])) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    String render(String[] values) {
+      int length = 0;
+      for (String fragment : fragments) {
+        length += fragment.length();
+      }
+      for (int slot : slots) {
+        length += values[slot].length();
+      }
+      StringBuilder content = new StringBuilder(length);
+      content.append(fragments[0]);
+      for (int i = 0; i < slots.length; i++) {
+        content.append(values[slots[i]]).append(fragments[i + 1]);
+      }
+      return content.toString();
+    }
+  }
+}
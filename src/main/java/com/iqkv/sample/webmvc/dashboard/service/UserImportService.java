@@ -0,0 +1,266 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.service;
+
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.iqkv.boot.security.RandomUtil;
+import com.iqkv.sample.webmvc.dashboard.config.ApplicationProperties;
+import com.iqkv.sample.webmvc.dashboard.config.Constants;
+import com.iqkv.sample.webmvc.dashboard.domain.Authority;
+import com.iqkv.sample.webmvc.dashboard.domain.User;
+import com.iqkv.sample.webmvc.dashboard.repository.AuthorityRepository;
+import com.iqkv.sample.webmvc.dashboard.repository.UserRepository;
+import com.iqkv.sample.webmvc.dashboard.repository.cache.UserCacheInvalidator;
+import com.iqkv.sample.webmvc.dashboard.security.BulkPasswordEncoder;
+import com.iqkv.sample.webmvc.dashboard.security.KnownUsersFilter;
+import com.iqkv.sample.webmvc.dashboard.service.dto.AdminUserDTO;
+import com.iqkv.sample.webmvc.dashboard.service.dto.UserImportReport;
+import com.iqkv.sample.webmvc.dashboard.service.dto.UserImportRow;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service creating users in bulk.
+ *
+ * <p>Rows are handled in chunks: duplicates are looked up with one query for the logins and one for the emails,
+ * the passwords are hashed in parallel by the {@link BulkPasswordEncoder}, and the users are inserted in JDBC
+ * batches within one transaction per chunk. Unlike {@link UserService#createUser(AdminUserDTO)}, no email is sent;
+ * users imported without a password get a random one, and can request a password reset.
+ */
+@Service
+public class UserImportService {
+
+  private static final Logger LOG = LoggerFactory.getLogger(UserImportService.class);
+
+  /**
+   * Matches the increment of the {@code sequence_generator}, so that each batch draws a single block of identifiers.
+   */
+  private static final int JDBC_BATCH_SIZE = 50;
+
+  private final UserRepository userRepository;
+
+  private final AuthorityRepository authorityRepository;
+
+  private final BulkPasswordEncoder bulkPasswordEncoder;
+
+  private final KnownUsersFilter knownUsersFilter;
+
+  private final UserCacheInvalidator userCacheInvalidator;
+
+  private final EntityManager entityManager;
+
+  private final TransactionTemplate transactionTemplate;
+
+  private final ApplicationProperties.UserImport properties;
+
+  public UserImportService(
+      UserRepository userRepository,
+      AuthorityRepository authorityRepository,
+      BulkPasswordEncoder bulkPasswordEncoder,
+      KnownUsersFilter knownUsersFilter,
+      UserCacheInvalidator userCacheInvalidator,
+      EntityManager entityManager,
+      PlatformTransactionManager transactionManager,
+      ApplicationProperties applicationProperties
+  ) {
+    this.userRepository = userRepository;
+    this.authorityRepository = authorityRepository;
+    this.bulkPasswordEncoder = bulkPasswordEncoder;
+    this.knownUsersFilter = knownUsersFilter;
+    this.userCacheInvalidator = userCacheInvalidator;
+    this.entityManager = entityManager;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.properties = applicationProperties.getUserImport();
+  }
+
+  /**
+   * Creates the users of the valid rows whose login and email are not used yet, consuming the rows chunk by chunk.
+   *
+   * @param rows the rows to import, invalid ones included so that they are reported.
+   * @return the number of users created, and the rows rejected.
+   */
+  public UserImportReport importUsers(Iterator<UserImportRow> rows) {
+    Map<String, Authority> authorities = authorityRepository
+        .findAll()
+        .stream()
+        .collect(Collectors.toMap(Authority::getName, Function.identity()));
+    Report report = new Report(properties.getMaxReportedErrors());
+    List<UserImportRow> chunk = new ArrayList<>(properties.getChunkSize());
+    while (rows.hasNext()) {
+      UserImportRow row = rows.next();
+      if (!row.isValid()) {
+        report.reject(row, row.error());
+      } else {
+        chunk.add(row);
+        if (chunk.size() == properties.getChunkSize()) {
+          importChunk(chunk, authorities, report);
+          chunk.clear();
+        }
+      }
+    }
+    if (!chunk.isEmpty()) {
+      importChunk(chunk, authorities, report);
+    }
+    LOG.info("Imported {} users, rejected {} rows", report.imported, report.rejected);
+    return report.toReport();
+  }
+
+  private void importChunk(List<UserImportRow> chunk, Map<String, Authority> authorities, Report report) {
+    List<UserImportRow> rows = withoutUsedLoginsAndEmails(chunk, report);
+    if (rows.isEmpty()) {
+      return;
+    }
+    List<String> hashes = bulkPasswordEncoder.encodeAll(
+        rows.stream().map(row -> row.password() != null ? row.password() : RandomUtil.generatePassword()).toList()
+    );
+    List<User> users = new ArrayList<>(rows.size());
+    for (int i = 0; i < rows.size(); i++) {
+      users.add(toUser(rows.get(i).user(), hashes.get(i), authorities));
+    }
+    try {
+      insert(users);
+    } catch (DataIntegrityViolationException e) {
+      // A login or email was taken since the lookup: insert the rows one by one to reject only the offending ones
+      LOG.debug("Chunk conflicts with concurrent changes, inserting its rows one by one: {}", e.getMessage());
+      users.clear();
+      for (int i = 0; i < rows.size(); i++) {
+        User user = toUser(rows.get(i).user(), hashes.get(i), authorities);
+        try {
+          insert(List.of(user));
+          users.add(user);
+        } catch (DataIntegrityViolationException rowException) {
+          report.reject(rows.get(i), "Login or email is already in use!");
+        }
+      }
+    }
+    report.imported += users.size();
+
+    for (User user : users) {
+      userCacheInvalidator.invalidate(user.getId(), user.getLogin(), user.getEmail());
+      knownUsersFilter.add(user.getLogin(), user.getEmail());
+    }
+  }
+
+  /**
+   * Rejects the rows repeating a login or email of a previous row, or of an existing user.
+   */
+  private List<UserImportRow> withoutUsedLoginsAndEmails(List<UserImportRow> chunk, Report report) {
+    Set<String> logins = new HashSet<>();
+    Set<String> emails = new HashSet<>();
+    List<UserImportRow> unique = new ArrayList<>(chunk.size());
+    for (UserImportRow row : chunk) {
+      String login = row.user().getLogin().toLowerCase();
+      String email = row.user().getEmail() != null ? row.user().getEmail().toLowerCase() : null;
+      if (logins.contains(login)) {
+        report.reject(row, "Login name already used!");
+      } else if (email != null && emails.contains(email)) {
+        report.reject(row, "Email is already in use!");
+      } else {
+        logins.add(login);
+        if (email != null) {
+          emails.add(email);
+        }
+        unique.add(row);
+      }
+    }
+
+    Set<String> usedLogins = new HashSet<>(userRepository.findExistingLogins(logins));
+    Set<String> usedEmails = emails.isEmpty() ? Set.of() : new HashSet<>(userRepository.findExistingEmails(emails));
+    List<UserImportRow> rows = new ArrayList<>(unique.size());
+    for (UserImportRow row : unique) {
+      if (usedLogins.contains(row.user().getLogin().toLowerCase())) {
+        report.reject(row, "Login name already used!");
+      } else if (row.user().getEmail() != null && usedEmails.contains(row.user().getEmail().toLowerCase())) {
+        report.reject(row, "Email is already in use!");
+      } else {
+        rows.add(row);
+      }
+    }
+    return rows;
+  }
+
+  private void insert(List<User> users) {
+    transactionTemplate.executeWithoutResult(status -> {
+      entityManager.unwrap(Session.class).setJdbcBatchSize(JDBC_BATCH_SIZE);
+      userRepository.saveAll(users);
+      userRepository.flush();
+      entityManager.clear();
+    });
+  }
+
+  private static User toUser(AdminUserDTO userDTO, String encryptedPassword, Map<String, Authority> authorities) {
+    User user = new User();
+    user.setLogin(userDTO.getLogin().toLowerCase());
+    user.setPassword(encryptedPassword);
+    user.setFirstName(userDTO.getFirstName());
+    user.setLastName(userDTO.getLastName());
+    if (userDTO.getEmail() != null) {
+      user.setEmail(userDTO.getEmail().toLowerCase());
+    }
+    user.setImageUrl(userDTO.getImageUrl());
+    user.setLangKey(userDTO.getLangKey() != null ? userDTO.getLangKey() : Constants.DEFAULT_LANGUAGE);
+    user.setActivated(true);
+    if (userDTO.getAuthorities() != null) {
+      user.setAuthorities(userDTO.getAuthorities().stream().map(authorities::get).filter(Objects::nonNull).collect(Collectors.toSet()));
+    }
+    return user;
+  }
+
+  /**
+   * Counts of the import, detailing the first rejected rows only.
+   */
+  private static final class Report {
+
+    private final int maxErrors;
+
+    private final List<UserImportReport.RowError> errors = new ArrayList<>();
+
+    private long imported;
+
+    private long rejected;
+
+    private Report(int maxErrors) {
+      this.maxErrors = maxErrors;
+    }
+
+    private void reject(UserImportRow row, String message) {
+      rejected++;
+      if (errors.size() < maxErrors) {
+        errors.add(new UserImportReport.RowError(row.line(), row.user() != null ? row.user().getLogin() : null, message));
+      }
+    }
+
+    private UserImportReport toReport() {
+      return new UserImportReport(imported, rejected, List.copyOf(errors));
+    }
+  }
+}
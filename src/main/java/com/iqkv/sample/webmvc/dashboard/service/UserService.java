@@ -16,34 +16,49 @@
 
 package com.iqkv.sample.webmvc.dashboard.service;
 
+import jakarta.persistence.EntityManager;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.iqkv.boot.security.AuthoritiesConstants;
 import com.iqkv.boot.security.RandomUtil;
 import com.iqkv.boot.security.SecurityUtils;
+import com.iqkv.sample.webmvc.dashboard.config.ApplicationProperties;
 import com.iqkv.sample.webmvc.dashboard.config.Constants;
 import com.iqkv.sample.webmvc.dashboard.domain.Authority;
 import com.iqkv.sample.webmvc.dashboard.domain.User;
+import com.iqkv.sample.webmvc.dashboard.management.UserMetersService;
 import com.iqkv.sample.webmvc.dashboard.repository.AuthorityRepository;
 import com.iqkv.sample.webmvc.dashboard.repository.UserRepository;
+import com.iqkv.sample.webmvc.dashboard.repository.cache.UserCacheInvalidator;
+import com.iqkv.sample.webmvc.dashboard.repository.cache.UserLookupCache;
+import com.iqkv.sample.webmvc.dashboard.repository.cache.UserPrincipal;
+import com.iqkv.sample.webmvc.dashboard.security.KnownUsersFilter;
 import com.iqkv.sample.webmvc.dashboard.service.dto.AdminUserDTO;
 import com.iqkv.sample.webmvc.dashboard.service.dto.UserDTO;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Service class for managing users.
@@ -60,18 +75,42 @@ public class UserService {
 
   private final AuthorityRepository authorityRepository;
 
-  private final CacheManager cacheManager;
+  private final UserLookupCache userLookupCache;
+
+  private final UserCacheInvalidator userCacheInvalidator;
+
+  private final KnownUsersFilter knownUsersFilter;
+
+  private final EntityManager entityManager;
+
+  private final TransactionTemplate transactionTemplate;
+
+  private final ApplicationProperties.UserPurge userPurge;
+
+  private final UserMetersService metersService;
 
   public UserService(
       UserRepository userRepository,
       PasswordEncoder passwordEncoder,
       AuthorityRepository authorityRepository,
-      CacheManager cacheManager
+      UserLookupCache userLookupCache,
+      UserCacheInvalidator userCacheInvalidator,
+      KnownUsersFilter knownUsersFilter,
+      EntityManager entityManager,
+      PlatformTransactionManager transactionManager,
+      ApplicationProperties applicationProperties,
+      UserMetersService metersService
   ) {
     this.userRepository = userRepository;
     this.passwordEncoder = passwordEncoder;
     this.authorityRepository = authorityRepository;
-    this.cacheManager = cacheManager;
+    this.userLookupCache = userLookupCache;
+    this.userCacheInvalidator = userCacheInvalidator;
+    this.knownUsersFilter = knownUsersFilter;
+    this.entityManager = entityManager;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.userPurge = applicationProperties.getUserPurge();
+    this.metersService = metersService;
   }
 
   public Optional<User> activateRegistration(String key) {
@@ -152,6 +191,7 @@ public class UserService {
     newUser.setAuthorities(authorities);
     userRepository.save(newUser);
     this.clearUserCaches(newUser);
+    knownUsersFilter.add(newUser.getLogin(), newUser.getEmail());
     LOG.debug("Created Information for User: {}", newUser);
     return newUser;
   }
@@ -197,6 +237,7 @@ public class UserService {
     }
     userRepository.save(user);
     this.clearUserCaches(user);
+    knownUsersFilter.add(user.getLogin(), user.getEmail());
     LOG.debug("Created Information for User: {}", user);
     return user;
   }
@@ -233,6 +274,7 @@ public class UserService {
               .forEach(managedAuthorities::add);
           userRepository.save(user);
           this.clearUserCaches(user);
+          knownUsersFilter.add(user.getLogin(), user.getEmail());
           LOG.debug("Changed Information for User: {}", user);
           return user;
         })
@@ -261,6 +303,7 @@ public class UserService {
           user.setImageUrl(imageUrl);
           userRepository.save(user);
           this.clearUserCaches(user);
+          knownUsersFilter.add(user.getLogin(), user.getEmail());
           LOG.debug("Changed Information for User: {}", user);
         });
   }
@@ -296,35 +339,122 @@ public class UserService {
     return userRepository.findAll(pageable).map(AdminUserDTO::new);
   }
 
+  /**
+   * Same as {@link #getAllManagedUsers(Pageable)}, seeking to the position instead of counting and skipping rows.
+   */
+  @Transactional(readOnly = true)
+  public Window<AdminUserDTO> getAllManagedUsers(ScrollPosition position, Sort sort, int size) {
+    return userRepository.findAllBy(position, sort, Limit.of(size)).map(AdminUserDTO::new);
+  }
+
+  /**
+   * Hands all the users to the action in id order, detaching each one once mapped so that memory stays constant
+   * whatever the number of users.
+   *
+   * @param action the consumer of the users, typically writing them out.
+   * @return the number of users.
+   */
+  @Transactional(readOnly = true)
+  public long exportManagedUsers(Consumer<AdminUserDTO> action) {
+    long count = 0;
+    try (Stream<User> users = userRepository.streamAllByOrderByIdAsc()) {
+      for (User user : (Iterable<User>) users::iterator) {
+        action.accept(new AdminUserDTO(user));
+        entityManager.detach(user);
+        count++;
+      }
+    }
+    return count;
+  }
+
   @Transactional(readOnly = true)
   public Page<UserDTO> getAllPublicUsers(Pageable pageable) {
     return userRepository.findAllByIdNotNullAndActivatedIsTrue(pageable).map(UserDTO::new);
   }
 
+  /**
+   * Same as {@link #getAllPublicUsers(Pageable)}, seeking to the position instead of counting and skipping rows.
+   */
+  @Transactional(readOnly = true)
+  public Window<UserDTO> getAllPublicUsers(ScrollPosition position, Sort sort, int size) {
+    return userRepository.findAllByIdNotNullAndActivatedIsTrue(position, sort, Limit.of(size)).map(UserDTO::new);
+  }
+
   @Transactional(readOnly = true)
   public Optional<User> getUserWithAuthoritiesByLogin(String login) {
-    return userRepository.findOneWithAuthoritiesByLogin(login);
+    return userLookupCache.findPrincipalByLogin(login).flatMap(this::getUserWithAuthorities);
   }
 
   @Transactional(readOnly = true)
   public Optional<User> getUserWithAuthorities() {
-    return SecurityUtils.getCurrentUserLogin().flatMap(userRepository::findOneWithAuthoritiesByLogin);
+    return SecurityUtils.getCurrentUserLogin().flatMap(userLookupCache::findPrincipalByLogin).flatMap(this::getUserWithAuthorities);
+  }
+
+  /**
+   * Loads the user of a cached snapshot by id, from the second-level cache when it holds the user and its
+   * authorities.
+   */
+  private Optional<User> getUserWithAuthorities(UserPrincipal principal) {
+    return userRepository
+        .findById(principal.getId())
+        .map(user -> {
+          Hibernate.initialize(user.getAuthorities());
+          return user;
+        });
   }
 
   /**
    * Not activated users should be automatically deleted after 3 days.
    *
    * <p>This is scheduled to get fired everyday, at 01:00 (am).
+   *
+   * <p>Users are deleted with bulk statements, chunk by chunk, each chunk in a transaction of its own unless the
+   * caller already runs one. No chunk is started once the configured time budget is spent; the remaining users are
+   * deleted by the next run.
    */
-  @Scheduled(cron = "0 0 1 * * ?")
+  @Scheduled(cron = "0 0 1 * * ?", scheduler = Constants.CLEANUP_SCHEDULER)
+  @Transactional(propagation = Propagation.SUPPORTS)
   public void removeNotActivatedUsers() {
-    userRepository
-        .findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant.now().minus(3, ChronoUnit.DAYS))
-        .forEach(user -> {
-          LOG.debug("Deleting not activated user {}", user.getLogin());
-          userRepository.delete(user);
-          this.clearUserCaches(user);
-        });
+    Instant createdBefore = Instant.now().minus(3, ChronoUnit.DAYS);
+    long start = System.nanoTime();
+    long deadline = start + userPurge.getTimeBudget().toNanos();
+    long removed = 0;
+    boolean complete = false;
+    while (System.nanoTime() - deadline < 0) {
+      long chunkStart = System.nanoTime();
+      List<UserRepository.UserKeys> chunk = transactionTemplate.execute(status -> removeNotActivatedUsers(createdBefore));
+      if (chunk.isEmpty()) {
+        complete = true;
+        break;
+      }
+      chunk.forEach(user -> userCacheInvalidator.invalidate(user.getId(), user.getLogin(), user.getEmail()));
+      removed += chunk.size();
+      metersService.trackPurgeChunk(chunk.size(), System.nanoTime() - chunkStart);
+      LOG.debug("Deleted {} not activated users", removed);
+      if (chunk.size() < userPurge.getChunkSize()) {
+        complete = true;
+        break;
+      }
+    }
+    metersService.trackPurgeRun(complete, System.nanoTime() - start);
+    if (!complete) {
+      LOG.warn("Time budget of {} spent after deleting {} not activated users, the others are left to the next run", userPurge.getTimeBudget(), removed);
+    } else if (removed > 0) {
+      LOG.info("Deleted {} not activated users", removed);
+    }
+  }
+
+  private List<UserRepository.UserKeys> removeNotActivatedUsers(Instant createdBefore) {
+    List<UserRepository.UserKeys> chunk = userRepository.findByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBeforeOrderByIdAsc(
+        createdBefore,
+        Limit.of(userPurge.getChunkSize())
+    );
+    if (!chunk.isEmpty()) {
+      List<Long> ids = chunk.stream().map(UserRepository.UserKeys::getId).toList();
+      userRepository.deleteNotActivatedUsersAuthorities(ids);
+      userRepository.deleteNotActivatedUsers(ids);
+    }
+    return chunk;
   }
 
   /**
@@ -338,9 +468,6 @@ public class UserService {
   }
 
   private void clearUserCaches(User user) {
-    Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).evictIfPresent(user.getLogin());
-    if (user.getEmail() != null) {
-      Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).evictIfPresent(user.getEmail());
-    }
+    userCacheInvalidator.invalidate(user.getId(), user.getLogin(), user.getEmail());
   }
 }
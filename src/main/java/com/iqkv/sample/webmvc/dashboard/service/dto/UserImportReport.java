@@ -0,0 +1,37 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iqkv.sample.webmvc.dashboard.service.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a user import.
+ *
+ * @param imported the number of users created.
+ * @param rejected the number of rows that were not imported.
+ * @param errors the rejected rows, up to the configured limit.
+ */
+public record UserImportReport(long imported, long rejected, List<RowError> errors) {
+
+  /**
+   * A rejected row.
+   *
+   * @param line the line number of the row in the uploaded file.
+   * @param login the login of the row, when it could be read.
+   * @param message the reason the row was rejected.
+   */
+  public record RowError(long line, String login, String message) {}
+}
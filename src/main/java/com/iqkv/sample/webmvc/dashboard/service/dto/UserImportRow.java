@@ -0,0 +1,40 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iqkv.sample.webmvc.dashboard.service.dto;
+
+/**
+ * A row of a user import: the user and its optional password once parsed and validated, or the reason the row
+ * cannot be imported.
+ *
+ * @param line the line number of the row in the uploaded file.
+ * @param user the user to create, {@code null} when the row is invalid.
+ * @param password the clear text password, {@code null} to generate one.
+ * @param error the reason the row cannot be imported, {@code null} when it is valid.
+ */
+public record UserImportRow(long line, AdminUserDTO user, String password, String error) {
+
+  public static UserImportRow valid(long line, AdminUserDTO user, String password) {
+    return new UserImportRow(line, user, password, null);
+  }
+
+  public static UserImportRow invalid(long line, String error) {
+    return new UserImportRow(line, null, null, error);
+  }
+
+  public boolean isValid() {
+    return error == null;
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.web.filter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limit of the requests in flight, adjusted from their latency with a gradient: the limit shrinks in proportion to
+ * the recent latency rising above its long-term average, and grows by its square root while both stay close.
+ *
+ * <p>Latency samples are taken by whichever request completes while no other one is updating the limit; samples
+ * lost to contention only slow down the adjustment.
+ */
+class AdaptiveConcurrencyLimit {
+
+  /**
+   * Weight of a sample in the recent latency, about the last ten requests.
+   */
+  private static final double SHORT_WEIGHT = 0.1;
+
+  /**
+   * Weight of a sample in the long-term latency, about the last few hundred requests.
+   */
+  private static final double LONG_WEIGHT = 0.005;
+
+  private final int minLimit;
+
+  private final int maxLimit;
+
+  private final double tolerance;
+
+  private final double smoothing;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  private final ReentrantLock sampleLock = new ReentrantLock();
+
+  private volatile double limit;
+
+  private double shortLatency;
+
+  private double longLatency;
+
+  AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing) {
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.tolerance = tolerance;
+    this.smoothing = smoothing;
+    this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+  }
+
+  /**
+   * @return whether the request may proceed, in which case {@link #release(long)} must follow.
+   */
+  boolean tryAcquire() {
+    int current;
+    do {
+      current = inFlight.get();
+      if (current >= (int) limit) {
+        return false;
+      }
+    } while (!inFlight.compareAndSet(current, current + 1));
+    return true;
+  }
+
+  /**
+   * @param latencyNanos the time the request spent past the limit.
+   */
+  void release(long latencyNanos) {
+    int current = inFlight.getAndDecrement();
+    if (sampleLock.tryLock()) {
+      try {
+        sample(latencyNanos, current);
+      } finally {
+        sampleLock.unlock();
+      }
+    }
+  }
+
+  int getLimit() {
+    return (int) limit;
+  }
+
+  int getInFlight() {
+    return inFlight.get();
+  }
+
+  private void sample(long latency, int inFlightWhenCompleted) {
+    if (longLatency == 0) {
+      shortLatency = latency;
+      longLatency = latency;
+      return;
+    }
+    shortLatency += (latency - shortLatency) * SHORT_WEIGHT;
+    longLatency += (latency - longLatency) * LONG_WEIGHT;
+    if (longLatency > 2 * shortLatency) {
+      // Follow a lasting drop of the latency, such as after a slow warm-up, faster than the average does
+      longLatency *= 0.95;
+    }
+    if (inFlightWhenCompleted < limit / 2) {
+      // Far from the limit, the latency tells nothing about the capacity
+      return;
+    }
+    double gradient = Math.max(0.5, Math.min(1.0, tolerance * longLatency / shortLatency));
+    double target = limit * gradient + Math.sqrt(limit);
+    limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - smoothing) + target * smoothing));
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.web.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+import com.iqkv.sample.webmvc.dashboard.config.ApplicationProperties;
+import com.iqkv.sample.webmvc.dashboard.management.ConcurrencyLimitMetersService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Sheds the requests beyond the {@link AdaptiveConcurrencyLimit} of their route group with a {@code 503} status and
+ * a {@code Retry-After} header, instead of leaving them queued in the container.
+ *
+ * <p>Each group has its own limit, so that a flood of logins, bound by the password hashing, does not hold back the
+ * other API calls. Health probes and the static resources are never limited.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+  enum Group {
+    AUTH,
+    ADMIN,
+    PUBLIC,
+  }
+
+  private final Map<Group, AdaptiveConcurrencyLimit> limits = new EnumMap<>(Group.class);
+
+  private final ConcurrencyLimitMetersService metersService;
+
+  private final String retryAfter;
+
+  public ConcurrencyLimitFilter(ApplicationProperties.ConcurrencyLimit properties, ConcurrencyLimitMetersService metersService) {
+    this.metersService = metersService;
+    this.retryAfter = Long.toString(Math.max(1, (properties.getRetryAfter().toMillis() + 999) / 1000));
+    for (Group group : Group.values()) {
+      AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(
+          properties.getInitialLimit(),
+          properties.getMinLimit(),
+          properties.getMaxLimit(),
+          properties.getTolerance(),
+          properties.getSmoothing()
+      );
+      limits.put(group, limit);
+      metersService.bindGroup(tag(group), limit::getLimit, limit::getInFlight);
+    }
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return group(request) == null;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    Group group = group(request);
+    AdaptiveConcurrencyLimit limit = limits.get(group);
+    if (!limit.tryAcquire()) {
+      metersService.trackRejected(tag(group));
+      response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+      response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+      return;
+    }
+    long start = System.nanoTime();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      limit.release(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * @return the group of the request, or {@code null} when it is not limited.
+   */
+  static Group group(HttpServletRequest request) {
+    // Request URI includes the contextPath if any, removed it.
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    if (path.startsWith("/api/")) {
+      if (
+          path.startsWith("/api/authenticate")
+          || path.startsWith("/api/register")
+          || path.startsWith("/api/activate")
+          || path.startsWith("/api/account/reset-password/")
+      ) {
+        return Group.AUTH;
+      }
+      return path.startsWith("/api/admin/") ? Group.ADMIN : Group.PUBLIC;
+    }
+    if (path.startsWith("/management/health") || path.equals("/management/info")) {
+      return null;
+    }
+    if (path.startsWith("/management/") || path.startsWith("/v3/api-docs")) {
+      return Group.ADMIN;
+    }
+    return null;
+  }
+
+  private static String tag(Group group) {
+    return group.name().toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.web.filter;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Immutable trie of path prefixes, telling whether a path starts with any of them in a single pass over its first
+ * characters, without allocating.
+ */
+final class PathPrefixTrie {
+
+  private final Node root = new Node();
+
+  PathPrefixTrie(Collection<String> prefixes) {
+    for (String prefix : prefixes) {
+      Node node = root;
+      for (int i = 0; i < prefix.length(); i++) {
+        node = node.childOrAdd(prefix.charAt(i));
+      }
+      node.terminal = true;
+    }
+  }
+
+  /**
+   * @param path the path to match.
+   * @param from the index of the path the prefixes are matched from.
+   * @return whether the path starts with one of the prefixes at {@code from}.
+   */
+  boolean matches(String path, int from) {
+    Node node = root;
+    for (int i = from; !node.terminal; i++) {
+      if (i == path.length() || (node = node.child(path.charAt(i))) == null) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static final class Node {
+
+    private char[] labels = new char[0];
+
+    private Node[] children = new Node[0];
+
+    private boolean terminal;
+
+    private Node child(char label) {
+      for (int i = 0; i < labels.length; i++) {
+        if (labels[i] == label) {
+          return children[i];
+        }
+      }
+      return null;
+    }
+
+    private Node childOrAdd(char label) {
+      Node child = child(label);
+      if (child == null) {
+        child = new Node();
+        labels = Arrays.copyOf(labels, labels.length + 1);
+        labels[labels.length - 1] = label;
+        children = Arrays.copyOf(children, children.length + 1);
+        children[children.length - 1] = child;
+      }
+      return child;
+    }
+  }
+}
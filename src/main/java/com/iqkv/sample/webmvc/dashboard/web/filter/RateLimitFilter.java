@@ -0,0 +1,79 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.web.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+import com.iqkv.sample.webmvc.dashboard.security.AuthenticationRateLimiter;
+import com.iqkv.sample.webmvc.dashboard.security.AuthenticationRateLimiter.Endpoint;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Rejects the clients calling the authentication and account endpoints too often with a {@code 429} status, before
+ * their request is read. Clients are told apart by their remote address, which is the one of the original client
+ * when {@code server.forward-headers-strategy} is set behind a proxy.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+  private final AuthenticationRateLimiter rateLimiter;
+
+  public RateLimitFilter(AuthenticationRateLimiter rateLimiter) {
+    this.rateLimiter = rateLimiter;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return endpoint(request) == null;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    Endpoint endpoint = endpoint(request);
+    if (!rateLimiter.tryAcquireClient(endpoint, request.getRemoteAddr())) {
+      long retryAfterMillis = rateLimiter.retryAfter(endpoint).toMillis();
+      response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+      response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, (retryAfterMillis + 999) / 1000)));
+      return;
+    }
+    filterChain.doFilter(request, response);
+  }
+
+  /**
+   * @return the rate limited endpoint called by the request, or {@code null} when it is not limited.
+   */
+  static Endpoint endpoint(HttpServletRequest request) {
+    // Request URI includes the contextPath if any, removed it.
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    String method = request.getMethod();
+    if ("POST".equals(method)) {
+      return switch (path) {
+        case "/api/authenticate" -> Endpoint.AUTHENTICATE;
+        case "/api/register" -> Endpoint.REGISTER;
+        case "/api/account/reset-password/init" -> Endpoint.RESET_PASSWORD;
+        default -> null;
+      };
+    }
+    return "GET".equals(method) && "/api/activate".equals(path) ? Endpoint.ACTIVATE : null;
+  }
+}
@@ -21,31 +21,61 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
 
 import org.springframework.web.filter.OncePerRequestFilter;
 
 public class SpaWebFilter extends OncePerRequestFilter {
 
+  private static final List<String> DEFAULT_EXCLUDED_PREFIXES = List.of("/api", "/management", "/v3/api-docs", "/h2-console");
+
+  private final PathPrefixTrie excludedPrefixes;
+
+  public SpaWebFilter() {
+    this(DEFAULT_EXCLUDED_PREFIXES);
+  }
+
+  /**
+   * @param excludedPrefixes the prefixes of the paths served by the server, never forwarded.
+   */
+  public SpaWebFilter(Collection<String> excludedPrefixes) {
+    this.excludedPrefixes = new PathPrefixTrie(excludedPrefixes);
+  }
+
   /**
    * Forwards any unmapped paths (except those containing a period) to the client {@code index.html}.
    */
   @Override
   protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
       throws ServletException, IOException {
-    // Request URI includes the contextPath if any, removed it.
-    String path = request.getRequestURI().substring(request.getContextPath().length());
-    if (
-        !path.startsWith("/api")
-        && !path.startsWith("/management")
-        && !path.startsWith("/v3/api-docs")
-        && !path.startsWith("/h2-console")
-        && !path.contains(".")
-        && path.matches("/(.*)")
-    ) {
+    // Request URI includes the contextPath if any, skip it.
+    if (shouldForward(request.getRequestURI(), request.getContextPath().length())) {
       request.getRequestDispatcher("/index.html").forward(request, response);
       return;
     }
 
     filterChain.doFilter(request, response);
   }
+
+  /**
+   * Same decision as matching the path against {@code /(.*)} and checking it for a period and the excluded
+   * prefixes, in a single pass over the path.
+   *
+   * @param uri the request URI.
+   * @param from the index of the path within the URI, after the context path.
+   */
+  boolean shouldForward(String uri, int from) {
+    if (from >= uri.length() || uri.charAt(from) != '/' || excludedPrefixes.matches(uri, from)) {
+      return false;
+    }
+    for (int i = from + 1; i < uri.length(); i++) {
+      char c = uri.charAt(i);
+      // A period, or a line terminator the '.' of the former pattern did not match
+      if (c == '.' || c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+        return false;
+      }
+    }
+    return true;
+  }
 }
@@ -24,6 +24,7 @@ import com.iqkv.boot.security.errors.EmailAlreadyUsedException;
 import com.iqkv.boot.security.errors.InvalidPasswordException;
 import com.iqkv.sample.webmvc.dashboard.domain.User;
 import com.iqkv.sample.webmvc.dashboard.repository.UserRepository;
+import com.iqkv.sample.webmvc.dashboard.security.AuthenticationRateLimiter;
 import com.iqkv.sample.webmvc.dashboard.service.MailService;
 import com.iqkv.sample.webmvc.dashboard.service.UserService;
 import com.iqkv.sample.webmvc.dashboard.service.dto.AdminUserDTO;
@@ -64,10 +65,18 @@ public class AccountResource {
 
   private final MailService mailService;
 
-  public AccountResource(UserRepository userRepository, UserService userService, MailService mailService) {
+  private final AuthenticationRateLimiter rateLimiter;
+
+  public AccountResource(
+      UserRepository userRepository,
+      UserService userService,
+      MailService mailService,
+      AuthenticationRateLimiter rateLimiter
+  ) {
     this.userRepository = userRepository;
     this.userService = userService;
     this.mailService = mailService;
+    this.rateLimiter = rateLimiter;
   }
 
   /**
@@ -84,6 +93,8 @@ public class AccountResource {
     if (isPasswordLengthInvalid(managedUserVM.getPassword())) {
       throw new InvalidPasswordException();
     }
+    rateLimiter.checkKey(AuthenticationRateLimiter.Endpoint.REGISTER, managedUserVM.getLogin());
+    rateLimiter.checkKey(AuthenticationRateLimiter.Endpoint.REGISTER, managedUserVM.getEmail());
     User user = userService.registerUser(managedUserVM, managedUserVM.getPassword());
     mailService.sendActivationEmail(user);
   }
@@ -164,6 +175,7 @@ public class AccountResource {
    */
   @PostMapping(path = "/account/reset-password/init")
   public void requestPasswordReset(@RequestBody String mail) {
+    rateLimiter.checkKey(AuthenticationRateLimiter.Endpoint.RESET_PASSWORD, mail);
     Optional<User> user = userService.requestPasswordReset(mail);
     if (user.isPresent()) {
       mailService.sendPasswordResetMail(user.orElseThrow());
@@ -16,9 +16,7 @@
 
 package com.iqkv.sample.webmvc.dashboard.web.rest;
 
-import static com.iqkv.boot.security.SecurityUtils.AUTHORITIES_KEY;
-import static com.iqkv.boot.security.SecurityUtils.JWT_ALGORITHM;
-
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.security.Principal;
 import java.time.Instant;
@@ -27,6 +25,9 @@ import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.iqkv.boot.security.SecurityProperties;
+import com.iqkv.sample.webmvc.dashboard.security.AuthenticationRateLimiter;
+import com.iqkv.sample.webmvc.dashboard.security.FailedLoginTracker;
+import com.iqkv.sample.webmvc.dashboard.security.HmacJwtMinter;
 import com.iqkv.sample.webmvc.dashboard.web.rest.vm.LoginVM;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,15 +35,12 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.oauth2.jwt.JwsHeader;
-import org.springframework.security.oauth2.jwt.JwtClaimsSet;
-import org.springframework.security.oauth2.jwt.JwtEncoder;
-import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -59,23 +57,42 @@ public class AuthenticateController {
   private static final Logger LOG = LoggerFactory.getLogger(AuthenticateController.class);
 
   private final SecurityProperties securityProperties;
-  private final JwtEncoder jwtEncoder;
+  private final HmacJwtMinter jwtMinter;
   private final AuthenticationManagerBuilder authenticationManagerBuilder;
-
-  public AuthenticateController(SecurityProperties securityProperties, JwtEncoder jwtEncoder, AuthenticationManagerBuilder authenticationManagerBuilder) {
+  private final AuthenticationRateLimiter rateLimiter;
+  private final FailedLoginTracker failedLoginTracker;
+
+  public AuthenticateController(
+      SecurityProperties securityProperties,
+      HmacJwtMinter jwtMinter,
+      AuthenticationManagerBuilder authenticationManagerBuilder,
+      AuthenticationRateLimiter rateLimiter,
+      FailedLoginTracker failedLoginTracker
+  ) {
     this.securityProperties = securityProperties;
-    this.jwtEncoder = jwtEncoder;
+    this.jwtMinter = jwtMinter;
     this.authenticationManagerBuilder = authenticationManagerBuilder;
+    this.rateLimiter = rateLimiter;
+    this.failedLoginTracker = failedLoginTracker;
   }
 
   @PostMapping("/authenticate")
-  public ResponseEntity<JWTToken> authorize(@Valid @RequestBody LoginVM loginVM) {
+  public ResponseEntity<JWTToken> authorize(@Valid @RequestBody LoginVM loginVM, HttpServletRequest request) {
+    rateLimiter.checkKey(AuthenticationRateLimiter.Endpoint.AUTHENTICATE, loginVM.getUsername());
+    failedLoginTracker.checkNotLockedOut(loginVM.getUsername(), request.getRemoteAddr());
     UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
         loginVM.getUsername(),
         loginVM.getPassword()
     );
 
-    Authentication authentication = authenticationManagerBuilder.getObject().authenticate(authenticationToken);
+    Authentication authentication;
+    try {
+      authentication = authenticationManagerBuilder.getObject().authenticate(authenticationToken);
+    } catch (BadCredentialsException e) {
+      failedLoginTracker.recordFailure(loginVM.getUsername(), request.getRemoteAddr());
+      throw e;
+    }
+    failedLoginTracker.recordSuccess(loginVM.getUsername());
     SecurityContextHolder.getContext().setAuthentication(authentication);
     String jwt = this.createToken(authentication, loginVM.isRememberMe());
     HttpHeaders httpHeaders = new HttpHeaders();
@@ -106,16 +123,7 @@ public class AuthenticateController {
       validity = now.plus(this.securityProperties.getAuthentication().getJwt().getTokenValidityInSeconds(), ChronoUnit.SECONDS);
     }
 
-    // @formatter:off
-    JwtClaimsSet claims = JwtClaimsSet.builder()
-        .issuedAt(now)
-        .expiresAt(validity)
-        .subject(authentication.getName())
-        .claim(AUTHORITIES_KEY, authorities)
-        .build();
-
-    JwsHeader jwsHeader = JwsHeader.with(JWT_ALGORITHM).build();
-    return this.jwtEncoder.encode(JwtEncoderParameters.from(jwsHeader, claims)).getTokenValue();
+    return this.jwtMinter.mint(authentication.getName(), authorities, now, validity);
   }
 
   /**
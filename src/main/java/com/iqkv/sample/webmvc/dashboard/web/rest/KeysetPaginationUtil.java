@@ -0,0 +1,147 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.web.rest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class handling the keyset (seek) pagination of the collection resources.
+ *
+ * <p>Pages are requested with an opaque {@value #CURSOR_PARAMETER} parameter, empty for the first page, holding
+ * the sort keys of the last element already returned. Unlike {@link com.iqkv.boot.mvc.rest.PaginationUtil} no total
+ * count is computed, and the {@code Link} header only has the {@code next} and {@code first} relations.
+ */
+public final class KeysetPaginationUtil {
+
+  public static final String CURSOR_PARAMETER = "cursor";
+
+  private static final String HEADER_LINK_FORMAT = "<{0}>; rel=\"{1}\"";
+
+  private static final String ID_PROPERTY = "id";
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private static final TypeReference<LinkedHashMap<String, Object>> KEYS_TYPE = new TypeReference<>() {};
+
+  private KeysetPaginationUtil() {}
+
+  /**
+   * Completes the sort with the id as a tie-breaker, so that every element has a distinct position.
+   *
+   * @param sort the requested sort, possibly unsorted.
+   * @return the sort to scroll with.
+   */
+  public static Sort keysetSort(Sort sort) {
+    return sort.getOrderFor(ID_PROPERTY) != null ? sort : sort.and(Sort.by(ID_PROPERTY));
+  }
+
+  /**
+   * Decodes a cursor sent by the client.
+   *
+   * @param cursor the cursor, empty for the first page.
+   * @param sort the sort returned by {@link #keysetSort(Sort)}.
+   * @param keyTypes the type of each property allowed in a keyset sort, which must not be nullable.
+   * @return the position to scroll from, or empty when the sort is not allowed or the cursor was not issued for it.
+   */
+  public static Optional<ScrollPosition> decodeCursor(String cursor, Sort sort, Map<String, Class<?>> keyTypes) {
+    if (!sort.stream().map(Sort.Order::getProperty).allMatch(keyTypes::containsKey)) {
+      return Optional.empty();
+    }
+    if (cursor.isEmpty()) {
+      return Optional.of(ScrollPosition.keyset());
+    }
+    Map<String, Object> keys;
+    try {
+      keys = MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), KEYS_TYPE);
+    } catch (IllegalArgumentException | IOException e) {
+      return Optional.empty();
+    }
+    if (keys.size() != sort.stream().count()) {
+      return Optional.empty();
+    }
+    Map<String, Object> typedKeys = new LinkedHashMap<>();
+    for (Sort.Order order : sort) {
+      Object key = keys.get(order.getProperty());
+      if (key == null) {
+        return Optional.empty();
+      }
+      try {
+        typedKeys.put(order.getProperty(), MAPPER.convertValue(key, keyTypes.get(order.getProperty())));
+      } catch (IllegalArgumentException e) {
+        return Optional.empty();
+      }
+    }
+    return Optional.of(ScrollPosition.forward(typedKeys));
+  }
+
+  /**
+   * Generate the {@code Link} header of a window.
+   *
+   * @param uriBuilder the URI of the current request.
+   * @param window the window of elements returned.
+   * @param <T> the type of the elements.
+   * @return the {@link HttpHeaders}.
+   */
+  public static <T> HttpHeaders generateKeysetHttpHeaders(UriComponentsBuilder uriBuilder, Window<T> window) {
+    StringBuilder link = new StringBuilder();
+    if (window.hasNext() && !window.isEmpty()) {
+      KeysetScrollPosition position = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+      link.append(prepareLink(uriBuilder, encodeCursor(position.getKeys()), "next")).append(",");
+    }
+    link.append(prepareLink(uriBuilder, "", "first"));
+    HttpHeaders headers = new HttpHeaders();
+    headers.add(HttpHeaders.LINK, link.toString());
+    return headers;
+  }
+
+  private static String encodeCursor(Map<String, Object> keys) {
+    try {
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsString(keys).getBytes(StandardCharsets.UTF_8));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Cannot encode the cursor", e);
+    }
+  }
+
+  private static String prepareLink(UriComponentsBuilder uriBuilder, String cursor, String relType) {
+    return MessageFormat.format(HEADER_LINK_FORMAT, prepareCursorUri(uriBuilder, cursor), relType);
+  }
+
+  private static String prepareCursorUri(UriComponentsBuilder uriBuilder, String cursor) {
+    return uriBuilder
+        .replaceQueryParam(CURSOR_PARAMETER, cursor)
+        .replaceQueryParam("page")
+        .toUriString()
+        .replace(",", "%2C")
+        .replace(";", "%3B");
+  }
+}
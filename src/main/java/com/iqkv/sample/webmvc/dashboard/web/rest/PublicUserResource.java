@@ -19,6 +19,8 @@ package com.iqkv.sample.webmvc.dashboard.web.rest;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import com.iqkv.boot.mvc.rest.PaginationUtil;
 import com.iqkv.sample.webmvc.dashboard.service.UserService;
@@ -27,12 +29,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
@@ -44,6 +49,15 @@ public class PublicUserResource {
       Arrays.asList("id", "login", "firstName", "lastName", "email", "activated", "langKey")
   );
 
+  /**
+   * Non-nullable subset of {@link #ALLOWED_ORDERED_PROPERTIES} usable as keys of a cursor, with their types.
+   */
+  private static final Map<String, Class<?>> KEYSET_ORDERED_PROPERTIES = Map.of(
+      "id", Long.class,
+      "login", String.class,
+      "activated", Boolean.class
+  );
+
   private static final Logger LOG = LoggerFactory.getLogger(PublicUserResource.class);
 
   private final UserService userService;
@@ -56,20 +70,39 @@ public class PublicUserResource {
    * {@code GET /users} : get all users with only public information - calling this method is allowed for anyone.
    *
    * @param pageable the pagination information.
+   * @param cursor the keyset pagination cursor, empty for the first page; when absent, pages are counted and offset.
    * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body all users.
    */
   @GetMapping("/users")
-  public ResponseEntity<List<UserDTO>> getAllPublicUsers(@org.springdoc.core.annotations.ParameterObject Pageable pageable) {
+  public ResponseEntity<List<UserDTO>> getAllPublicUsers(
+      @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+      @RequestParam(name = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) String cursor
+  ) {
     LOG.debug("REST request to get all public User names");
     if (!onlyContainsAllowedProperties(pageable)) {
       return ResponseEntity.badRequest().build();
     }
+    if (cursor != null) {
+      return getAllPublicUsersAfter(cursor, pageable);
+    }
 
     final Page<UserDTO> page = userService.getAllPublicUsers(pageable);
     HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
     return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
   }
 
+  private ResponseEntity<List<UserDTO>> getAllPublicUsersAfter(String cursor, Pageable pageable) {
+    Sort sort = KeysetPaginationUtil.keysetSort(pageable.getSort());
+    Optional<ScrollPosition> position = KeysetPaginationUtil.decodeCursor(cursor, sort, KEYSET_ORDERED_PROPERTIES);
+    if (position.isEmpty()) {
+      return ResponseEntity.badRequest().build();
+    }
+
+    final Window<UserDTO> window = userService.getAllPublicUsers(position.get(), sort, pageable.getPageSize());
+    HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window);
+    return new ResponseEntity<>(window.getContent(), headers, HttpStatus.OK);
+  }
+
   private boolean onlyContainsAllowedProperties(Pageable pageable) {
     return pageable.getSort().stream().map(Sort.Order::getProperty).allMatch(ALLOWED_ORDERED_PROPERTIES::contains);
   }
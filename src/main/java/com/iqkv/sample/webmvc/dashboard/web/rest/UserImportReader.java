@@ -0,0 +1,221 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.web.rest;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.iqkv.boot.security.errors.BadRequestAlertException;
+import com.iqkv.sample.webmvc.dashboard.service.dto.UserImportRow;
+import com.iqkv.sample.webmvc.dashboard.web.rest.vm.ManagedUserVM;
+
+/**
+ * Reads the rows of a user import, one user per line, as they are consumed.
+ *
+ * <p>NDJSON lines hold the same documents as {@code POST /api/admin/users}, with an optional {@code password}. CSV
+ * files start with a header naming the columns among {@link #CSV_COLUMNS}; authorities are separated by spaces. Rows
+ * that cannot be parsed or fail the validation of {@link ManagedUserVM} are returned as invalid, blank lines are
+ * skipped.
+ */
+final class UserImportReader implements Iterator<UserImportRow> {
+
+  static final List<String> CSV_COLUMNS = List.of("login", "email", "firstName", "lastName", "imageUrl", "langKey", "authorities", "password");
+
+  private static final String ENTITY_NAME = "userManagement";
+
+  private final BufferedReader reader;
+
+  private final ObjectReader jsonReader;
+
+  private final Validator validator;
+
+  private final List<String> csvHeader;
+
+  private long line;
+
+  private UserImportRow next;
+
+  /**
+   * @param reader the uploaded file.
+   * @param csv {@code true} for a CSV file, {@code false} for NDJSON.
+   * @param jsonReader the reader of {@link ManagedUserVM} documents.
+   * @param validator the validator of the rows.
+   * @throws BadRequestAlertException if the CSV header is missing or holds unknown columns.
+   */
+  UserImportReader(BufferedReader reader, boolean csv, ObjectReader jsonReader, Validator validator) {
+    this.reader = reader;
+    this.jsonReader = jsonReader;
+    this.validator = validator;
+    this.csvHeader = csv ? readCsvHeader() : null;
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (next == null) {
+      next = readRow();
+    }
+    return next != null;
+  }
+
+  @Override
+  public UserImportRow next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    UserImportRow row = next;
+    next = null;
+    return row;
+  }
+
+  private List<String> readCsvHeader() {
+    String header = readLine();
+    if (header == null) {
+      throw new BadRequestAlertException("The CSV header is missing", ENTITY_NAME, "importheader");
+    }
+    if (header.startsWith("\uFEFF")) {
+      header = header.substring(1);
+    }
+    List<String> columns = parseCsvLine(header);
+    if (columns == null || !CSV_COLUMNS.containsAll(columns) || !columns.contains("login") || new HashSet<>(columns).size() != columns.size()) {
+      throw new BadRequestAlertException("The CSV header must name distinct columns among " + CSV_COLUMNS + ", login included", ENTITY_NAME, "importheader");
+    }
+    return columns;
+  }
+
+  private UserImportRow readRow() {
+    String text;
+    do {
+      text = readLine();
+    } while (text != null && text.isBlank());
+    if (text == null) {
+      return null;
+    }
+    ManagedUserVM user;
+    if (csvHeader == null) {
+      try {
+        user = jsonReader.readValue(text);
+      } catch (JsonProcessingException e) {
+        return UserImportRow.invalid(line, "Invalid JSON: " + e.getOriginalMessage());
+      }
+    } else {
+      List<String> fields = parseCsvLine(text);
+      if (fields == null) {
+        return UserImportRow.invalid(line, "Unterminated quoted field");
+      }
+      if (fields.size() != csvHeader.size()) {
+        return UserImportRow.invalid(line, "Expected " + csvHeader.size() + " fields, found " + fields.size());
+      }
+      user = toUser(fields);
+    }
+    Set<ConstraintViolation<ManagedUserVM>> violations = validator.validate(user);
+    if (!violations.isEmpty()) {
+      return new UserImportRow(line, user, null, violations
+          .stream()
+          .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+          .sorted(Comparator.naturalOrder())
+          .collect(Collectors.joining(", ")));
+    }
+    if (user.getId() != null) {
+      return new UserImportRow(line, user, null, "A new user cannot already have an ID");
+    }
+    return UserImportRow.valid(line, user, user.getPassword());
+  }
+
+  private ManagedUserVM toUser(List<String> fields) {
+    ManagedUserVM user = new ManagedUserVM();
+    for (int i = 0; i < fields.size(); i++) {
+      String value = fields.get(i).isEmpty() ? null : fields.get(i);
+      switch (csvHeader.get(i)) {
+        case "login" -> user.setLogin(value);
+        case "email" -> user.setEmail(value);
+        case "firstName" -> user.setFirstName(value);
+        case "lastName" -> user.setLastName(value);
+        case "imageUrl" -> user.setImageUrl(value);
+        case "langKey" -> user.setLangKey(value);
+        case "authorities" -> user.setAuthorities(value == null ? null : new HashSet<>(Arrays.asList(value.trim().split("\\s+"))));
+        default -> user.setPassword(value);
+      }
+    }
+    return user;
+  }
+
+  private String readLine() {
+    try {
+      String text = reader.readLine();
+      if (text != null) {
+        line++;
+      }
+      return text;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Splits a line of RFC 4180 CSV; quoted fields may hold commas and doubled quotes, but not line breaks.
+   *
+   * @return the fields, or {@code null} when a quoted field is not terminated.
+   */
+  static List<String> parseCsvLine(String text) {
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    boolean fieldStart = true;
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (quoted) {
+        if (c != '"') {
+          field.append(c);
+        } else if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+          field.append('"');
+          i++;
+        } else {
+          quoted = false;
+        }
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+        fieldStart = true;
+        continue;
+      } else if (c == '"' && fieldStart) {
+        quoted = true;
+      } else {
+        field.append(c);
+      }
+      fieldStart = false;
+    }
+    if (quoted) {
+      return null;
+    }
+    fields.add(field.toString());
+    return fields;
+  }
+}
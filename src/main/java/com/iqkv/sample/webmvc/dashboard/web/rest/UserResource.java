@@ -16,15 +16,33 @@
 
 package com.iqkv.sample.webmvc.dashboard.web.rest;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import jakarta.validation.constraints.Pattern;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.iqkv.boot.info.ClientApplicationProperties;
 import com.iqkv.boot.mvc.rest.HeaderUtil;
 import com.iqkv.boot.mvc.rest.PaginationUtil;
@@ -37,15 +55,21 @@ import com.iqkv.sample.webmvc.dashboard.config.Constants;
 import com.iqkv.sample.webmvc.dashboard.domain.User;
 import com.iqkv.sample.webmvc.dashboard.repository.UserRepository;
 import com.iqkv.sample.webmvc.dashboard.service.MailService;
+import com.iqkv.sample.webmvc.dashboard.service.UserImportService;
 import com.iqkv.sample.webmvc.dashboard.service.UserService;
 import com.iqkv.sample.webmvc.dashboard.service.dto.AdminUserDTO;
+import com.iqkv.sample.webmvc.dashboard.service.dto.UserImportReport;
+import com.iqkv.sample.webmvc.dashboard.web.rest.vm.ManagedUserVM;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -54,7 +78,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
@@ -102,6 +128,20 @@ public class UserResource {
       )
   );
 
+  /**
+   * Non-nullable subset of {@link #ALLOWED_ORDERED_PROPERTIES} usable as keys of a cursor, with their types.
+   */
+  private static final Map<String, Class<?>> KEYSET_ORDERED_PROPERTIES = Map.of(
+      "id", Long.class,
+      "login", String.class,
+      "activated", Boolean.class,
+      "createdBy", String.class
+  );
+
+  private static final String TEXT_CSV_VALUE = "text/csv";
+
+  private static final MediaType TEXT_CSV = MediaType.parseMediaType(TEXT_CSV_VALUE);
+
   private static final Logger LOG = LoggerFactory.getLogger(UserResource.class);
 
   private final ClientApplicationProperties clientApplicationProperties;
@@ -112,11 +152,36 @@ public class UserResource {
 
   private final MailService mailService;
 
-  public UserResource(ClientApplicationProperties clientApplicationProperties, UserService userService, UserRepository userRepository, MailService mailService) {
+  private final UserImportService userImportService;
+
+  private final Validator validator;
+
+  private final ObjectReader importReader;
+
+  private final ObjectWriter exportWriter;
+
+  public UserResource(
+      ClientApplicationProperties clientApplicationProperties,
+      UserService userService,
+      UserRepository userRepository,
+      MailService mailService,
+      UserImportService userImportService,
+      Validator validator,
+      ObjectMapper objectMapper
+  ) {
     this.clientApplicationProperties = clientApplicationProperties;
     this.userService = userService;
     this.userRepository = userRepository;
     this.mailService = mailService;
+    this.userImportService = userImportService;
+    this.validator = validator;
+    this.importReader = objectMapper.readerFor(ManagedUserVM.class);
+    // Lines are terminated explicitly, instead of separating the root values with a space, and flushed by the buffers
+    this.exportWriter = objectMapper
+        .writerFor(AdminUserDTO.class)
+        .withRootValueSeparator((String) null)
+        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
   }
 
   /**
@@ -187,25 +252,142 @@ public class UserResource {
    * {@code GET /admin/users} : get all users with all the details - calling this are only allowed for the administrators.
    *
    * @param pageable the pagination information.
+   * @param cursor the keyset pagination cursor, empty for the first page; when absent, pages are counted and offset.
    * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body all users.
    */
   @GetMapping("/users")
   @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
-  public ResponseEntity<List<AdminUserDTO>> getAllUsers(@org.springdoc.core.annotations.ParameterObject Pageable pageable) {
+  public ResponseEntity<List<AdminUserDTO>> getAllUsers(
+      @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+      @RequestParam(name = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) String cursor
+  ) {
     LOG.debug("REST request to get all User for an admin");
     if (!onlyContainsAllowedProperties(pageable)) {
       return ResponseEntity.badRequest().build();
     }
+    if (cursor != null) {
+      return getAllUsersAfter(cursor, pageable);
+    }
 
     final Page<AdminUserDTO> page = userService.getAllManagedUsers(pageable);
     HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
     return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
   }
 
+  private ResponseEntity<List<AdminUserDTO>> getAllUsersAfter(String cursor, Pageable pageable) {
+    Sort sort = KeysetPaginationUtil.keysetSort(pageable.getSort());
+    Optional<ScrollPosition> position = KeysetPaginationUtil.decodeCursor(cursor, sort, KEYSET_ORDERED_PROPERTIES);
+    if (position.isEmpty()) {
+      return ResponseEntity.badRequest().build();
+    }
+
+    final Window<AdminUserDTO> window = userService.getAllManagedUsers(position.get(), sort, pageable.getPageSize());
+    HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window);
+    return new ResponseEntity<>(window.getContent(), headers, HttpStatus.OK);
+  }
+
   private boolean onlyContainsAllowedProperties(Pageable pageable) {
     return pageable.getSort().stream().map(Sort.Order::getProperty).allMatch(ALLOWED_ORDERED_PROPERTIES::contains);
   }
 
+  /**
+   * {@code GET /admin/export/users} : streams all users with all the details, one JSON document per line.
+   *
+   * <p>Users are written to the response as they are read from the database, so the memory used does not depend
+   * on the number of users. The body is gzip compressed when the client accepts it.
+   *
+   * @param acceptEncoding the encodings accepted by the client.
+   * @param response the response the users are written to, with status {@code 200 (OK)}.
+   * @throws IOException if the response cannot be written.
+   */
+  @GetMapping(value = "/export/users", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+  public void exportUsers(
+      @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+      HttpServletResponse response
+  ) throws IOException {
+    LOG.debug("REST request to export all Users");
+    boolean gzip = acceptsGzip(acceptEncoding);
+    response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+    response.setCharacterEncoding("UTF-8");
+    if (gzip) {
+      response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+    response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+    try (
+        OutputStream out = gzip ? new GZIPOutputStream(response.getOutputStream(), 8192) : response.getOutputStream();
+        JsonGenerator generator = exportWriter.createGenerator(out)
+    ) {
+      long count = userService.exportManagedUsers(user -> {
+        try {
+          exportWriter.writeValue(generator, user);
+          generator.writeRaw('\n');
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+      LOG.debug("Exported {} Users", count);
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * @return whether the {@code Accept-Encoding} header lists gzip with a non-zero quality value.
+   */
+  private static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parameters = coding.split(";");
+      String name = parameters[0].trim().toLowerCase(Locale.ROOT);
+      if (!name.equals("gzip") && !name.equals("x-gzip")) {
+        continue;
+      }
+      for (int i = 1; i < parameters.length; i++) {
+        String parameter = parameters[i].trim().toLowerCase(Locale.ROOT);
+        if (parameter.startsWith("q=")) {
+          try {
+            return Double.parseDouble(parameter.substring(2)) > 0;
+          } catch (NumberFormatException e) {
+            return false;
+          }
+        }
+      }
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * {@code POST /admin/import/users} : creates users in bulk from a CSV or NDJSON file, one user per line.
+   *
+   * <p>Rows are validated like in {@link #createUser(AdminUserDTO)}, and users created activated without sending any
+   * mail. Rows whose login or email is already in use are rejected, other rows are imported regardless.
+   *
+   * @param request the request holding the file, of type {@code text/csv} or {@code application/x-ndjson}.
+   * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the import report, or with status
+   * {@code 400 (Bad Request)} if the CSV header is invalid.
+   * @throws IOException if the request cannot be read.
+   */
+  @PostMapping(value = "/import/users", consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+  public ResponseEntity<UserImportReport> importUsers(HttpServletRequest request) throws IOException {
+    LOG.debug("REST request to import Users");
+    MediaType contentType = MediaType.parseMediaType(request.getContentType());
+    Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), charset))) {
+      UserImportReader rows = new UserImportReader(reader, TEXT_CSV.isCompatibleWith(contentType), importReader, validator);
+      UserImportReport report = userImportService.importUsers(rows);
+      return ResponseEntity.ok()
+          .headers(HeaderUtil.createAlert(clientApplicationProperties.getName(), "userManagement.imported", String.valueOf(report.imported())))
+          .body(report);
+    }
+  }
+
   /**
    * {@code GET /admin/users/:login} : get the "login" user.
    *
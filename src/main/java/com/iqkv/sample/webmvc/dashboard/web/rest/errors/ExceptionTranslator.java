@@ -36,6 +36,7 @@ import com.iqkv.boot.security.errors.BadRequestAlertException;
 import com.iqkv.boot.security.errors.EmailAlreadyUsedException;
 import com.iqkv.boot.security.errors.InvalidPasswordException;
 import com.iqkv.boot.security.errors.LoginAlreadyUsedException;
+import com.iqkv.sample.webmvc.dashboard.security.PasswordHashingRejectedException;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.core.env.Environment;
 import org.springframework.dao.ConcurrencyFailureException;
@@ -268,6 +269,9 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
     if (err instanceof BadCredentialsException) {
       return HttpStatus.UNAUTHORIZED;
     }
+    if (err instanceof PasswordHashingRejectedException) {
+      return HttpStatus.TOO_MANY_REQUESTS;
+    }
     return null;
   }
 
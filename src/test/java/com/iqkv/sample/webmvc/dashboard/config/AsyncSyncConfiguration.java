@@ -29,4 +29,12 @@ public class AsyncSyncConfiguration {
   public Executor taskExecutor() {
     return new SyncTaskExecutor();
   }
+
+  /**
+   * Emails are sent before the transaction requesting them returns, so that tests can verify them right away.
+   */
+  @Bean(name = Constants.MAIL_EXECUTOR)
+  public Executor mailExecutor() {
+    return new SyncTaskExecutor();
+  }
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Load test of the request handling modes, reporting the throughput and the latency percentiles (p0.99) of
+ * requests waiting on I/O, then holding one of {@code connections} JDBC connections for a query.
+ *
+ * <p>{@code 400} concurrent clients are served either by a pool of {@code 200} platform threads, the default of
+ * Tomcat, or by a virtual thread per request as with {@code spring.threads.virtual.enabled}. Once the connection pool
+ * is the bottleneck both modes serve the same throughput, and the virtual threads only queue on the pool: raising
+ * the connections, not the threads, is what pays off.
+ *
+ * <p>Run with {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.iqkv.sample.webmvc.dashboard.config.ThreadingModeBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(400)
+public class ThreadingModeBenchmark {
+
+  private static final int PLATFORM_THREADS = 200;
+
+  private static final long IO_MILLIS = 5;
+
+  private static final long QUERY_MILLIS = 1;
+
+  @Param({"platform", "virtual"})
+  private String mode;
+
+  @Param({"10", "40"})
+  private int connections;
+
+  private ExecutorService executor;
+
+  private Semaphore connectionPool;
+
+  @Setup
+  public void setup() {
+    executor = switch (mode) {
+      case "platform" -> new ThreadPoolExecutor(
+          PLATFORM_THREADS,
+          PLATFORM_THREADS,
+          0,
+          TimeUnit.MILLISECONDS,
+          new LinkedBlockingQueue<>(),
+          new CustomizableThreadFactory("http-nio-")
+      );
+      case "virtual" -> Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-nio-", 0).factory());
+      default -> throw new IllegalArgumentException(mode);
+    };
+    connectionPool = new Semaphore(connections, true);
+  }
+
+  @TearDown
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Benchmark
+  public Object request() throws Exception {
+    return executor.submit(this::handle).get();
+  }
+
+  private Object handle() throws InterruptedException {
+    // Reading the request, calls to other services
+    Thread.sleep(IO_MILLIS);
+    connectionPool.acquire();
+    try {
+      Thread.sleep(QUERY_MILLIS);
+    } finally {
+      connectionPool.release();
+    }
+    return Boolean.TRUE;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(ThreadingModeBenchmark.class.getSimpleName()).build()).run();
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import com.iqkv.sample.webmvc.dashboard.domain.Authority;
+import com.iqkv.sample.webmvc.dashboard.domain.User;
+import com.iqkv.sample.webmvc.dashboard.repository.cache.UserPrincipal;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link UserCacheSerializer} class.
+ */
+class UserCacheSerializerTest {
+
+  private final UserCacheSerializer serializer = new UserCacheSerializer(getClass().getClassLoader());
+
+  @Test
+  void shouldRoundTripUsers() throws Exception {
+    User user = new User();
+    user.setId(42L);
+    user.setLogin("john");
+    user.setPassword("$2a$10$" + "x".repeat(53));
+    user.setEmail("john.doe@example.com");
+    user.setActivated(true);
+    user.setLangKey("en");
+    user.setResetDate(Instant.parse("2026-10-17T10:15:30.123456789Z"));
+    user.setCreatedBy("system");
+    user.setAuthorities(Set.of(new Authority().name("ROLE_USER"), new Authority().name("ROLE_ADMIN")));
+
+    ByteBuffer serialized = serializer.serialize(user);
+    User read = (User) serializer.read(serialized.duplicate());
+
+    assertThat(read).usingRecursiveComparison().ignoringFields("authorities").isEqualTo(user);
+    assertThat(read.getAuthorities()).extracting(Authority::getName).containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+    assertThat(read.getAuthorities()).noneMatch(Authority::isNew);
+    assertThat(serializer.equals(user, serialized.duplicate())).isTrue();
+  }
+
+  @Test
+  void shouldRoundTripPrincipals() throws Exception {
+    UserPrincipal principal = UserPrincipal.of(42L, "john", "$2a$10$" + "x".repeat(53), true, List.of("ROLE_USER", "ROLE_ADMIN"));
+
+    ByteBuffer serialized = serializer.serialize(principal);
+    UserPrincipal read = (UserPrincipal) serializer.read(serialized.duplicate());
+
+    assertThat(read.getId()).isEqualTo(42L);
+    assertThat(read.getUsername()).isEqualTo("john");
+    assertThat(read.getPassword()).isEqualTo(principal.getPassword());
+    assertThat(read.isActivated()).isTrue();
+    // Users with the same authorities share a single authority set
+    assertThat(read.getAuthorities()).isSameAs(principal.getAuthorities());
+    assertThat(serializer.equals(principal, serialized.duplicate())).isTrue();
+  }
+
+  @Test
+  void shouldRoundTripOtherValues() throws Exception {
+    ByteBuffer serialized = serializer.serialize(Set.of("value"));
+
+    assertThat(serializer.read(serialized)).isEqualTo(Set.of("value"));
+  }
+}
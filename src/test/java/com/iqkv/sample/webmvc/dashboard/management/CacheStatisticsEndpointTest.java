@@ -0,0 +1,76 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link CacheStatisticsEndpoint} class.
+ */
+class CacheStatisticsEndpointTest {
+
+  private MeterRegistry meterRegistry;
+
+  private CacheStatisticsEndpoint endpoint;
+
+  @BeforeEach
+  public void setup() {
+    meterRegistry = new SimpleMeterRegistry();
+    javax.cache.CacheManager cacheManager = mock(javax.cache.CacheManager.class);
+    when(cacheManager.getCacheNames()).thenReturn(List.of("usersByLogin", "usersByEmail"));
+    endpoint = new CacheStatisticsEndpoint(cacheManager, meterRegistry);
+  }
+
+  @Test
+  void shouldComputeHitRatio() {
+    counter("cache.gets", "usersByLogin", "result", "hit", 75);
+    counter("cache.gets", "usersByLogin", "result", "miss", 25);
+    counter("cache.evictions", "usersByLogin", null, null, 12);
+
+    CacheStatisticsEndpoint.CacheStatistics statistics = endpoint.caches().get("usersByLogin");
+
+    assertThat(statistics.hits()).isEqualTo(75);
+    assertThat(statistics.misses()).isEqualTo(25);
+    assertThat(statistics.hitRatio()).isEqualTo(0.75);
+    assertThat(statistics.evictions()).isEqualTo(12);
+  }
+
+  @Test
+  void shouldReportCachesWithoutMeters() {
+    assertThat(endpoint.caches()).containsOnlyKeys("usersByLogin", "usersByEmail");
+    assertThat(endpoint.caches().get("usersByEmail").hitRatio()).isZero();
+  }
+
+  private void counter(String name, String cacheName, String tag, String tagValue, long count) {
+    FunctionCounter.Builder<AtomicLong> builder = FunctionCounter.builder(name, new AtomicLong(count), AtomicLong::get).tag("cache", cacheName);
+    if (tag != null) {
+      builder.tag(tag, tagValue);
+    }
+    builder.register(meterRegistry);
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConcurrencyLimitMetersServiceTests {
+
+  private MeterRegistry meterRegistry;
+
+  private ConcurrencyLimitMetersService concurrencyLimitMetersService;
+
+  @BeforeEach
+  public void setup() {
+    meterRegistry = new SimpleMeterRegistry();
+
+    concurrencyLimitMetersService = new ConcurrencyLimitMetersService(meterRegistry);
+  }
+
+  @Test
+  void testGroupIsBound() {
+    concurrencyLimitMetersService.bindGroup("auth", () -> 20, () -> 3);
+
+    assertThat(meterRegistry.get("http.server.concurrency.limit").tag("group", "auth").gauge().value()).isEqualTo(20);
+    assertThat(meterRegistry.get("http.server.concurrency.in-flight").tag("group", "auth").gauge().value()).isEqualTo(3);
+    assertThat(meterRegistry.get("http.server.concurrency.rejected").tag("group", "auth").counter().count()).isZero();
+  }
+
+  @Test
+  void testRejectedRequestsAreTrackedByGroup() {
+    concurrencyLimitMetersService.bindGroup("auth", () -> 20, () -> 3);
+    concurrencyLimitMetersService.bindGroup("admin", () -> 20, () -> 3);
+
+    concurrencyLimitMetersService.trackRejected("auth");
+
+    assertThat(meterRegistry.get("http.server.concurrency.rejected").tag("group", "auth").counter().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("http.server.concurrency.rejected").tag("group", "admin").counter().count()).isZero();
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ExecutorMetersServiceTests {
+
+  private MeterRegistry meterRegistry;
+
+  private ExecutorMetersService executorMetersService;
+
+  @BeforeEach
+  public void setup() {
+    meterRegistry = new SimpleMeterRegistry();
+
+    executorMetersService = new ExecutorMetersService(meterRegistry);
+  }
+
+  @Test
+  void testRejectedTasksAreTrackedByExecutor() {
+    executorMetersService.trackRejected("mailExecutor");
+    executorMetersService.trackRejected("bulkExecutor");
+    executorMetersService.trackRejected("bulkExecutor");
+
+    assertThat(meterRegistry.get("executor.rejected").tag("name", "bulkExecutor").counter().count()).isEqualTo(2);
+    assertThat(meterRegistry.get("executor.rejected").tag("name", "mailExecutor").counter().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("executor.rejected").tag("name", "bulkExecutor").counter().getId().getBaseUnit()).isEqualTo("tasks");
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link ExecutorsEndpoint} class.
+ */
+class ExecutorsEndpointTest {
+
+  private ThreadPoolExecutor executor;
+
+  private ExecutorMetersService metersService;
+
+  private ExecutorsEndpoint endpoint;
+
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  @BeforeEach
+  public void setup() {
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    executor = new ThreadPoolExecutor(2, 2, 0, TimeUnit.SECONDS, new ArrayBlockingQueue<>(4));
+    metersService = new ExecutorMetersService(meterRegistry);
+    // As bound by Spring Boot for the executor beans
+    new ExecutorServiceMetrics(executor, "bulkExecutor", Tags.empty()).bindTo(meterRegistry);
+    endpoint = new ExecutorsEndpoint(meterRegistry);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    release.countDown();
+    executor.shutdownNow();
+  }
+
+  @Test
+  void shouldComputeSaturation() throws InterruptedException {
+    CountDownLatch started = new CountDownLatch(2);
+    for (int i = 0; i < 3; i++) {
+      executor.execute(() -> {
+        started.countDown();
+        awaitRelease();
+      });
+    }
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    metersService.trackRejected("bulkExecutor");
+
+    ExecutorsEndpoint.ExecutorSaturation saturation = endpoint.executor("bulkExecutor");
+
+    assertThat(saturation.maxPoolSize()).isEqualTo(2);
+    assertThat(saturation.active()).isEqualTo(2);
+    assertThat(saturation.queued()).isEqualTo(1);
+    assertThat(saturation.queueRemaining()).isEqualTo(3);
+    assertThat(saturation.rejected()).isEqualTo(1);
+    assertThat(saturation.threadSaturation()).isEqualTo(1.0);
+    assertThat(saturation.queueSaturation()).isEqualTo(0.25);
+  }
+
+  @Test
+  void shouldListBoundExecutorsOnly() {
+    assertThat(endpoint.executors()).containsOnlyKeys("bulkExecutor");
+    assertThat(endpoint.executors().get("bulkExecutor").threadSaturation()).isZero();
+    assertThat(endpoint.executor("mailExecutor")).isNull();
+  }
+
+  private void awaitRelease() {
+    try {
+      release.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iqkv.sample.webmvc.dashboard.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MailMetersServiceTests {
+
+  private static final String MAIL_DELIVERY_METER_EXPECTED_NAME = "mail.delivery";
+
+  private MeterRegistry meterRegistry;
+
+  private MailMetersService mailMetersService;
+
+  @BeforeEach
+  public void setup() {
+    meterRegistry = new SimpleMeterRegistry();
+
+    mailMetersService = new MailMetersService(meterRegistry);
+  }
+
+  @Test
+  void testMailDeliveriesByResultAreCreated() {
+    mailMetersService.trackMailSent(Duration.ofMillis(250));
+    mailMetersService.trackMailFailed();
+    mailMetersService.trackMailFailed();
+
+    assertThat(meterRegistry.get(MAIL_DELIVERY_METER_EXPECTED_NAME).tag("result", "sent").counter().count()).isEqualTo(1);
+    assertThat(meterRegistry.get(MAIL_DELIVERY_METER_EXPECTED_NAME).tag("result", "failed").counter().count()).isEqualTo(2);
+    assertThat(meterRegistry.get("mail.delivery.latency").timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  void testMailQueueIsBound() {
+    mailMetersService.bindMailQueue(List.of("a", "b"));
+
+    assertThat(meterRegistry.get("mail.delivery.queue").gauge().value()).isEqualTo(2);
+  }
+}
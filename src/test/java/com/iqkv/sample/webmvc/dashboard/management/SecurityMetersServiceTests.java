@@ -19,6 +19,7 @@ package com.iqkv.sample.webmvc.dashboard.management;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.Collection;
+import java.util.List;
 
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -30,6 +31,8 @@ class SecurityMetersServiceTests {
 
   private static final String INVALID_TOKENS_METER_EXPECTED_NAME = "security.authentication.invalid-tokens";
 
+  private static final String TOKEN_CACHE_METER_EXPECTED_NAME = "security.authentication.token-cache";
+
   private MeterRegistry meterRegistry;
 
   private SecurityMetersService securityMetersService;
@@ -84,4 +87,44 @@ class SecurityMetersServiceTests {
 
     assertThat(meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "malformed").counter().count()).isEqualTo(1);
   }
+
+  @Test
+  void testTokenCacheMethodsShouldBeBoundToCorrectCounters() {
+    assertThat(meterRegistry.find(TOKEN_CACHE_METER_EXPECTED_NAME).counters()).hasSize(3);
+
+    securityMetersService.trackTokenCacheHit();
+    securityMetersService.trackTokenCacheMiss();
+    securityMetersService.trackTokenCacheMiss();
+    securityMetersService.trackTokenCacheEviction();
+
+    assertThat(meterRegistry.get(TOKEN_CACHE_METER_EXPECTED_NAME).tag("result", "hit").counter().count()).isEqualTo(1);
+    assertThat(meterRegistry.get(TOKEN_CACHE_METER_EXPECTED_NAME).tag("result", "miss").counter().count()).isEqualTo(2);
+    assertThat(meterRegistry.get(TOKEN_CACHE_METER_EXPECTED_NAME).tag("result", "eviction").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void testPasswordHashingMetersAreBound() {
+    securityMetersService.trackPasswordHashing(1_000_000);
+    securityMetersService.trackPasswordHashingRejected();
+    securityMetersService.bindPasswordHashingQueue(List.of("queued", "queued"));
+
+    assertThat(meterRegistry.get("security.authentication.password-hashing").timer().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("security.authentication.password-hashing.rejected").counter().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("security.authentication.password-hashing.rejected").counter().getId().getBaseUnit()).isEqualTo("requests");
+    assertThat(meterRegistry.get("security.authentication.password-hashing.queue").gauge().value()).isEqualTo(2);
+  }
+
+  @Test
+  void testThrottledRequestsAreTrackedByEndpointAndKey() {
+    securityMetersService.trackThrottled("authenticate", "client");
+    securityMetersService.trackThrottled("authenticate", "client");
+    securityMetersService.trackThrottled("reset-password", "target");
+
+    assertThat(
+        meterRegistry.get("security.authentication.throttled").tag("endpoint", "authenticate").tag("key", "client").counter().count()
+    ).isEqualTo(2);
+    assertThat(
+        meterRegistry.get("security.authentication.throttled").tag("endpoint", "reset-password").tag("key", "target").counter().count()
+    ).isEqualTo(1);
+  }
 }
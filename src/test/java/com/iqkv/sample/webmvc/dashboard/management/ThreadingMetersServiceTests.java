@@ -0,0 +1,59 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ThreadingMetersServiceTests {
+
+  private MeterRegistry meterRegistry;
+
+  private ThreadingMetersService threadingMetersService;
+
+  @BeforeEach
+  public void setup() {
+    meterRegistry = new SimpleMeterRegistry();
+
+    threadingMetersService = new ThreadingMetersService(meterRegistry);
+  }
+
+  @Test
+  void testThreadingModeIsBound() {
+    threadingMetersService.bindThreading(true, 17);
+
+    assertThat(meterRegistry.get("threads.mode").tag("mode", "virtual").gauge().value()).isEqualTo(1);
+    assertThat(meterRegistry.find("threads.mode").tag("mode", "platform").gauge()).isNull();
+    assertThat(meterRegistry.get("jdbc.connections.suggested").gauge().value()).isEqualTo(17);
+  }
+
+  @Test
+  void testPinnedThreadsAreTracked() {
+    threadingMetersService.trackPinnedThread(Duration.ofMillis(30));
+    threadingMetersService.trackPinnedThread(Duration.ofMillis(50));
+
+    assertThat(meterRegistry.get("threads.virtual.pinned").timer().count()).isEqualTo(2);
+    assertThat(meterRegistry.get("threads.virtual.pinned").timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(80);
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iqkv.sample.webmvc.dashboard.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UserMetersServiceTests {
+
+  private static final String PURGED_USERS_METER_EXPECTED_NAME = "users.purge.removed";
+
+  private static final String PURGE_RUNS_METER_EXPECTED_NAME = "users.purge.runs";
+
+  private MeterRegistry meterRegistry;
+
+  private UserMetersService userMetersService;
+
+  @BeforeEach
+  public void setup() {
+    meterRegistry = new SimpleMeterRegistry();
+
+    userMetersService = new UserMetersService(meterRegistry);
+  }
+
+  @Test
+  void testPurgeChunksAreCounted() {
+    userMetersService.trackPurgeChunk(500, TimeUnit.MILLISECONDS.toNanos(20));
+    userMetersService.trackPurgeChunk(12, TimeUnit.MILLISECONDS.toNanos(5));
+
+    assertThat(meterRegistry.get(PURGED_USERS_METER_EXPECTED_NAME).counter().count()).isEqualTo(512);
+    assertThat(meterRegistry.get("users.purge.chunks").timer().count()).isEqualTo(2);
+  }
+
+  @Test
+  void testPurgeRunsByOutcomeAreCreated() {
+    userMetersService.trackPurgeRun(false, TimeUnit.MINUTES.toNanos(10));
+
+    assertThat(meterRegistry.get(PURGE_RUNS_METER_EXPECTED_NAME).tag("outcome", "complete").timer().count()).isZero();
+    assertThat(meterRegistry.get(PURGE_RUNS_METER_EXPECTED_NAME).tag("outcome", "budget-exhausted").timer().count()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.repository.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.iqkv.sample.webmvc.dashboard.IntegrationTest;
+import com.iqkv.sample.webmvc.dashboard.config.ApplicationProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Integration tests for the {@link JdbcCacheInvalidationBus}, with two buses standing for two instances.
+ */
+@IntegrationTest
+class JdbcCacheInvalidationBusIT {
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private JdbcCacheInvalidationBus first;
+
+  private JdbcCacheInvalidationBus second;
+
+  private final List<UserCacheInvalidation> receivedByFirst = new CopyOnWriteArrayList<>();
+
+  private final List<UserCacheInvalidation> receivedBySecond = new CopyOnWriteArrayList<>();
+
+  @BeforeEach
+  public void setup() {
+    first = new JdbcCacheInvalidationBus(jdbcTemplate, new ApplicationProperties());
+    second = new JdbcCacheInvalidationBus(jdbcTemplate, new ApplicationProperties());
+    first.subscribe(receivedByFirst::addAll);
+    second.subscribe(receivedBySecond::addAll);
+  }
+
+  @AfterEach
+  public void cleanup() {
+    jdbcTemplate.update("delete from cache_invalidation");
+  }
+
+  @Test
+  void shouldDeliverEvictionsToTheOtherInstancesOnce() {
+    first.publish(
+        List.of(
+            new UserCacheInvalidation(1L, "john", "john@example.com", Instant.now()),
+            new UserCacheInvalidation(null, "jane", null, Instant.now())
+        )
+    );
+
+    first.poll();
+    second.poll();
+    second.poll();
+
+    assertThat(receivedByFirst).isEmpty();
+    assertThat(receivedBySecond).extracting(UserCacheInvalidation::login).containsExactly("john", "jane");
+    assertThat(receivedBySecond.get(0).id()).isEqualTo(1L);
+    assertThat(receivedBySecond.get(1).id()).isNull();
+    assertThat(receivedBySecond.get(1).email()).isNull();
+  }
+}
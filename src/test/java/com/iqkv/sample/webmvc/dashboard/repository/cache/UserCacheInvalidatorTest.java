@@ -0,0 +1,127 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.repository.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import com.iqkv.sample.webmvc.dashboard.config.ApplicationProperties;
+import com.iqkv.sample.webmvc.dashboard.domain.User;
+import com.iqkv.sample.webmvc.dashboard.management.UserMetersService;
+import com.iqkv.sample.webmvc.dashboard.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+/**
+ * Unit tests for the {@link UserCacheInvalidator} class, over the {@link LoopbackCacheInvalidationBus}.
+ */
+class UserCacheInvalidatorTest {
+
+  private CacheManager cacheManager;
+
+  private org.hibernate.Cache hibernateCache;
+
+  private MeterRegistry meterRegistry;
+
+  private UserCacheInvalidator invalidator;
+
+  @BeforeEach
+  public void setup() {
+    cacheManager = new ConcurrentMapCacheManager(UserRepository.USERS_BY_LOGIN_CACHE, UserRepository.USERS_BY_EMAIL_CACHE);
+    hibernateCache = mock(org.hibernate.Cache.class);
+    SessionFactory sessionFactory = mock(SessionFactory.class);
+    when(sessionFactory.getCache()).thenReturn(hibernateCache);
+    EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+    when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+    meterRegistry = new SimpleMeterRegistry();
+    ApplicationProperties applicationProperties = new ApplicationProperties();
+    applicationProperties.getCache().getInvalidation().setBatchSize(3);
+
+    invalidator = new UserCacheInvalidator(
+        cacheManager,
+        entityManagerFactory,
+        new LoopbackCacheInvalidationBus(),
+        new UserMetersService(meterRegistry),
+        applicationProperties
+    );
+  }
+
+  @Test
+  void shouldEvictLocallyAndPublishOnFlush() {
+    cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).put("john", new User());
+    cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE).put("john@example.com", new User());
+
+    invalidator.invalidate(42L, "john", "john@example.com");
+
+    assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get("john")).isNull();
+    assertThat(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE).get("john@example.com")).isNull();
+    verify(hibernateCache, never()).evictEntityData(User.class, 42L);
+
+    invalidator.flush();
+
+    verify(hibernateCache).evictEntityData(User.class, 42L);
+    verify(hibernateCache).evictCollectionData(User.class.getName() + ".authorities", 42L);
+    assertThat(count("published")).isEqualTo(1);
+    assertThat(count("received")).isEqualTo(1);
+    assertThat(meterRegistry.get("users.cache.invalidation.lag").timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldEvictLocallyAgainAfterCommit() {
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      invalidator.invalidate(42L, "john", null);
+      // Read again by this instance before the transaction commits
+      cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).put("john", new User());
+
+      TransactionSynchronizationUtils.triggerAfterCommit();
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get("john")).isNull();
+  }
+
+  @Test
+  void shouldPublishFullBatchesRightAway() {
+    invalidator.invalidate(1L, "user1", null);
+    invalidator.invalidate(2L, "user2", null);
+
+    assertThat(count("published")).isZero();
+
+    invalidator.invalidate(3L, "user3", null);
+
+    assertThat(count("published")).isEqualTo(3);
+    verify(hibernateCache).evictEntityData(User.class, 3L);
+  }
+
+  private double count(String direction) {
+    return meterRegistry.get("users.cache.invalidations").tag("direction", direction).counter().count();
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.repository.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Objects;
+
+import com.iqkv.sample.webmvc.dashboard.IntegrationTest;
+import com.iqkv.sample.webmvc.dashboard.domain.User;
+import com.iqkv.sample.webmvc.dashboard.repository.UserRepository;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Integration tests for the {@link UserCacheWarmer}.
+ */
+@IntegrationTest
+class UserCacheWarmerIT {
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private CacheManager cacheManager;
+
+  @Autowired
+  private UserCacheWarmer userCacheWarmer;
+
+  private User user;
+
+  @BeforeEach
+  public void setup() {
+    clearCaches();
+    user = new User();
+    user.setLogin("warm-up-" + RandomStringUtils.randomAlphabetic(5).toLowerCase());
+    user.setPassword(RandomStringUtils.randomAlphanumeric(60));
+    user.setActivated(true);
+    user.setEmail(user.getLogin() + "@localhost");
+    user.setLangKey("en");
+    user = userRepository.saveAndFlush(user);
+  }
+
+  @AfterEach
+  public void cleanup() {
+    userRepository.deleteById(user.getId());
+    clearCaches();
+  }
+
+  @Test
+  void shouldLoadRecentlyActiveUsersIntoTheCaches() {
+    assertThat(userCacheWarmer.warmUp()).isPositive();
+
+    assertThat(cache(UserRepository.USERS_BY_LOGIN_CACHE).get(user.getLogin(), UserPrincipal.class))
+        .isNotNull()
+        .extracting(UserPrincipal::getId)
+        .isEqualTo(user.getId());
+    assertThat(cache(UserRepository.USERS_BY_EMAIL_CACHE).get(user.getEmail(), UserPrincipal.class)).isNotNull();
+  }
+
+  private Cache cache(String name) {
+    return Objects.requireNonNull(cacheManager.getCache(name));
+  }
+
+  private void clearCaches() {
+    cache(UserRepository.USERS_BY_LOGIN_CACHE).clear();
+    cache(UserRepository.USERS_BY_EMAIL_CACHE).clear();
+  }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.repository.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.iqkv.sample.webmvc.dashboard.domain.User;
+import com.iqkv.sample.webmvc.dashboard.management.UserMetersService;
+import com.iqkv.sample.webmvc.dashboard.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+/**
+ * Unit tests for the {@link UserLookupCache} class.
+ */
+class UserLookupCacheTest {
+
+  private static final String CACHE_LOADS_METER_EXPECTED_NAME = "users.cache.loads";
+
+  private UserRepository userRepository;
+
+  private CacheManager cacheManager;
+
+  private MeterRegistry meterRegistry;
+
+  private List<Runnable> refreshes;
+
+  @BeforeEach
+  public void setup() {
+    userRepository = mock(UserRepository.class);
+    cacheManager = new ConcurrentMapCacheManager(UserRepository.USERS_BY_LOGIN_CACHE, UserRepository.USERS_BY_EMAIL_CACHE);
+    meterRegistry = new SimpleMeterRegistry();
+    refreshes = new ArrayList<>();
+  }
+
+  @Test
+  void shouldLoadMissesOnceAndServeHitsFromTheCache() {
+    when(userRepository.findOneWithAuthoritiesByLogin("john")).thenReturn(Optional.of(user("john")));
+    when(userRepository.findOneWithAuthoritiesByLogin("unknown")).thenReturn(Optional.empty());
+    when(userRepository.findOneWithAuthoritiesByEmailIgnoreCase("john@localhost")).thenReturn(Optional.of(user("john")));
+    UserLookupCache lookupCache = lookupCache(Duration.ofHours(1));
+
+    assertThat(lookupCache.findPrincipalByLogin("john")).map(UserPrincipal::getUsername).contains("john");
+    assertThat(lookupCache.findPrincipalByLogin("john")).map(UserPrincipal::getUsername).contains("john");
+    assertThat(lookupCache.findPrincipalByLogin("unknown")).isEmpty();
+    assertThat(lookupCache.findPrincipalByLogin("unknown")).isEmpty();
+    assertThat(lookupCache.findPrincipalByEmailIgnoreCase("john@localhost")).map(UserPrincipal::getUsername).contains("john");
+    assertThat(lookupCache.findPrincipalByEmailIgnoreCase("john@localhost")).map(UserPrincipal::getUsername).contains("john");
+
+    verify(userRepository).findOneWithAuthoritiesByLogin("john");
+    verify(userRepository).findOneWithAuthoritiesByLogin("unknown");
+    verify(userRepository).findOneWithAuthoritiesByEmailIgnoreCase("john@localhost");
+    assertThat(count(UserRepository.USERS_BY_LOGIN_CACHE, "queried")).isEqualTo(2);
+    assertThat(count(UserRepository.USERS_BY_EMAIL_CACHE, "queried")).isEqualTo(1);
+    assertThat(refreshes).isEmpty();
+  }
+
+  @Test
+  void shouldServeTheCachedUserWhileRefreshingIt() {
+    User first = user("john");
+    first.setPassword("first");
+    User second = user("john");
+    second.setPassword("second");
+    when(userRepository.findOneWithAuthoritiesByLogin("john")).thenReturn(Optional.of(first), Optional.of(second));
+    UserLookupCache lookupCache = lookupCache(Duration.ZERO);
+
+    assertThat(lookupCache.findPrincipalByLogin("john")).map(UserPrincipal::getPassword).contains("first");
+    assertThat(lookupCache.findPrincipalByLogin("john")).map(UserPrincipal::getPassword).contains("first");
+    assertThat(lookupCache.findPrincipalByLogin("john")).map(UserPrincipal::getPassword).contains("first");
+
+    // Reads during a running refresh do not start another one
+    assertThat(refreshes).hasSize(1);
+    refreshes.get(0).run();
+
+    assertThat(lookupCache.findPrincipalByLogin("john")).map(UserPrincipal::getPassword).contains("second");
+    verify(userRepository, times(2)).findOneWithAuthoritiesByLogin("john");
+    assertThat(count(UserRepository.USERS_BY_LOGIN_CACHE, "refreshed")).isEqualTo(1);
+  }
+
+  @Test
+  void shouldShareOneQueryBetweenConcurrentMisses() throws Exception {
+    CountDownLatch queried = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(userRepository.findOneWithAuthoritiesByLogin("john")).thenAnswer(invocation -> {
+      queried.countDown();
+      release.await(5, TimeUnit.SECONDS);
+      return Optional.of(user("john"));
+    });
+    UserLookupCache lookupCache = lookupCache(Duration.ofHours(1));
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<Optional<UserPrincipal>>> reads = new ArrayList<>();
+      reads.add(executor.submit(() -> lookupCache.findPrincipalByLogin("john")));
+      assertThat(queried.await(5, TimeUnit.SECONDS)).isTrue();
+      for (int i = 1; i < 8; i++) {
+        reads.add(executor.submit(() -> lookupCache.findPrincipalByLogin("john")));
+      }
+      // Let the other reads reach the running load before it completes
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (count(UserRepository.USERS_BY_LOGIN_CACHE, "coalesced") < 7 && System.nanoTime() - deadline < 0) {
+        Thread.sleep(1);
+      }
+      release.countDown();
+      for (Future<Optional<UserPrincipal>> read : reads) {
+        assertThat(read.get(5, TimeUnit.SECONDS)).map(UserPrincipal::getUsername).contains("john");
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    verify(userRepository).findOneWithAuthoritiesByLogin("john");
+    assertThat(count(UserRepository.USERS_BY_LOGIN_CACHE, "coalesced")).isEqualTo(7);
+  }
+
+  @Test
+  void shouldQueryOncePerKeyAndMissUnderContention() throws Exception {
+    int keys = 16;
+    int threads = 32;
+    int rounds = 3;
+    Map<String, AtomicInteger> queries = new ConcurrentHashMap<>();
+    when(userRepository.findOneWithAuthoritiesByLogin(anyString())).thenAnswer(invocation -> {
+      String login = invocation.getArgument(0);
+      queries.computeIfAbsent(login, key -> new AtomicInteger()).incrementAndGet();
+      Thread.sleep(20);
+      return Optional.of(user(login));
+    });
+    UserLookupCache lookupCache = lookupCache(Duration.ofHours(1));
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      for (int round = 1; round <= rounds; round++) {
+        CyclicBarrier start = new CyclicBarrier(threads);
+        List<Future<?>> reads = new ArrayList<>();
+        for (int thread = 0; thread < threads; thread++) {
+          reads.add(
+              executor.submit(() -> {
+                start.await(5, TimeUnit.SECONDS);
+                for (int key = 0; key < keys; key++) {
+                  String login = "user-" + key;
+                  assertThat(lookupCache.findPrincipalByLogin(login)).map(UserPrincipal::getUsername).contains(login);
+                }
+                return null;
+              })
+          );
+        }
+        for (Future<?> read : reads) {
+          read.get(30, TimeUnit.SECONDS);
+        }
+
+        assertThat(queries).hasSize(keys);
+        int expectedQueries = round;
+        assertThat(queries.values()).allSatisfy(count -> assertThat(count).hasValue(expectedQueries));
+
+        // Every key misses again on the next round
+        cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).clear();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(count(UserRepository.USERS_BY_LOGIN_CACHE, "queried")).isEqualTo(keys * rounds);
+    assertThat(count(UserRepository.USERS_BY_LOGIN_CACHE, "coalesced")).isPositive();
+  }
+
+  private UserLookupCache lookupCache(Duration refreshAfter) {
+    return new UserLookupCache(
+        userRepository,
+        cacheManager,
+        new UserMetersService(meterRegistry),
+        cacheName -> Duration.ofHours(1),
+        timeToLive -> refreshAfter,
+        refreshes::add
+    );
+  }
+
+  private double count(String cache, String outcome) {
+    return meterRegistry.get(CACHE_LOADS_METER_EXPECTED_NAME).tag("cache", cache).tag("outcome", outcome).counter().count();
+  }
+
+  private static User user(String login) {
+    User user = new User();
+    user.setLogin(login);
+    return user;
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.security;
+
+import static com.iqkv.boot.security.SecurityUtils.AUTHORITIES_KEY;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import com.iqkv.boot.security.AuthoritiesConstants;
+import com.iqkv.sample.webmvc.dashboard.repository.AuthorityRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+
+/**
+ * Authorization checks per second of the admin authority, with the authorities of the token held as strings and as
+ * an {@link AuthoritySet}, both for an already authenticated request and including the conversion of the token.
+ *
+ * <p>Run with {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.iqkv.sample.webmvc.dashboard.security.AuthorityRegistryBenchmark}, adding {@code -prof gc}
+ * to the runner options to compare allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class AuthorityRegistryBenchmark {
+
+  @Param({"ROLE_ADMIN ROLE_USER", "ROLE_USER"})
+  private String claim;
+
+  private Jwt jwt;
+
+  private JwtAuthenticationConverter stringConverter;
+
+  private AuthoritySetJwtAuthenticationConverter bitsetConverter;
+
+  private AuthorizationManager<Object> stringManager;
+
+  private AuthorizationManager<Object> bitsetManager;
+
+  private Authentication stringAuthentication;
+
+  private Authentication bitsetAuthentication;
+
+  @Setup
+  public void setup() {
+    jwt = Jwt.withTokenValue("token")
+        .header("alg", "HS512")
+        .subject("user")
+        .issuedAt(Instant.now())
+        .expiresAt(Instant.now().plusSeconds(3600))
+        .claim(AUTHORITIES_KEY, claim)
+        .build();
+
+    JwtGrantedAuthoritiesConverter authoritiesConverter = new JwtGrantedAuthoritiesConverter();
+    authoritiesConverter.setAuthorityPrefix("");
+    authoritiesConverter.setAuthoritiesClaimName(AUTHORITIES_KEY);
+    stringConverter = new JwtAuthenticationConverter();
+    stringConverter.setJwtGrantedAuthoritiesConverter(authoritiesConverter);
+    stringManager = AuthorityAuthorizationManager.hasAuthority(AuthoritiesConstants.ADMIN);
+
+    // Authorities registered on first use, as without a repository
+    AuthorityRegistry authorityRegistry = new AuthorityRegistry(new StaticListableBeanFactory().getBeanProvider(AuthorityRepository.class));
+    bitsetConverter = new AuthoritySetJwtAuthenticationConverter(authorityRegistry);
+    bitsetManager = authorityRegistry.hasAuthority(AuthoritiesConstants.ADMIN);
+
+    stringAuthentication = stringConverter.convert(jwt);
+    bitsetAuthentication = bitsetConverter.convert(jwt);
+  }
+
+  @Benchmark
+  public boolean stringCheck() {
+    return stringManager.check(() -> stringAuthentication, null).isGranted();
+  }
+
+  @Benchmark
+  public boolean bitsetCheck() {
+    return bitsetManager.check(() -> bitsetAuthentication, null).isGranted();
+  }
+
+  @Benchmark
+  public boolean stringConvertAndCheck() {
+    Authentication authentication = stringConverter.convert(jwt);
+    return stringManager.check(() -> authentication, null).isGranted();
+  }
+
+  @Benchmark
+  public boolean bitsetConvertAndCheck() {
+    Authentication authentication = bitsetConverter.convert(jwt);
+    return bitsetManager.check(() -> authentication, null).isGranted();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(AuthorityRegistryBenchmark.class.getSimpleName()).build()).run();
+  }
+}
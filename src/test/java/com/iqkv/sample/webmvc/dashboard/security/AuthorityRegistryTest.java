@@ -0,0 +1,134 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.security;
+
+import static com.iqkv.boot.security.SecurityUtils.AUTHORITIES_KEY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import com.iqkv.boot.security.AuthoritiesConstants;
+import com.iqkv.sample.webmvc.dashboard.domain.Authority;
+import com.iqkv.sample.webmvc.dashboard.repository.AuthorityRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Unit tests for the {@link AuthorityRegistry} class.
+ */
+class AuthorityRegistryTest {
+
+  private AuthorityRegistry authorityRegistry;
+
+  @BeforeEach
+  public void setup() {
+    AuthorityRepository authorityRepository = mock(AuthorityRepository.class);
+    when(authorityRepository.findAll(any(Sort.class))).thenReturn(
+        List.of(new Authority().name(AuthoritiesConstants.ADMIN), new Authority().name(AuthoritiesConstants.USER))
+    );
+    StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+    beanFactory.addBean("authorityRepository", authorityRepository);
+    authorityRegistry = new AuthorityRegistry(beanFactory.getBeanProvider(AuthorityRepository.class));
+    authorityRegistry.registerAuthorities();
+  }
+
+  @Test
+  void shouldAssignIndexesInNameOrder() {
+    assertThat(authorityRegistry.index(AuthoritiesConstants.ADMIN)).isZero();
+    assertThat(authorityRegistry.index(AuthoritiesConstants.USER)).isEqualTo(1);
+    assertThat(authorityRegistry.index("ROLE_OTHER")).isEqualTo(2);
+    assertThat(authorityRegistry.index("ROLE_OTHER")).isEqualTo(2);
+  }
+
+  @Test
+  void shouldInternSetsOfTheSameAuthorities() {
+    AuthoritySet parsed = authorityRegistry.parse(AuthoritiesConstants.USER + " " + AuthoritiesConstants.ADMIN);
+    AuthoritySet listed = authorityRegistry.authorities(List.of(AuthoritiesConstants.ADMIN, AuthoritiesConstants.USER));
+
+    assertThat(listed).isSameAs(parsed);
+    assertThat(authorityRegistry.parse(AuthoritiesConstants.USER + " " + AuthoritiesConstants.ADMIN)).isSameAs(parsed);
+    assertThat(parsed).extracting(GrantedAuthority::getAuthority).containsExactly(AuthoritiesConstants.ADMIN, AuthoritiesConstants.USER);
+    assertThat(authorityRegistry.parse("")).isEmpty();
+  }
+
+  @Test
+  void shouldTestBitsBeyondTheFirstWord() {
+    for (int i = 0; i < 100; i++) {
+      authorityRegistry.index("ROLE_" + i);
+    }
+    AuthoritySet set = authorityRegistry.authorities(Set.of("ROLE_97", AuthoritiesConstants.USER));
+
+    assertThat(set.contains(authorityRegistry.index("ROLE_97"))).isTrue();
+    assertThat(set.contains(authorityRegistry.index("ROLE_96"))).isFalse();
+    assertThat(set.contains(authorityRegistry.index(AuthoritiesConstants.USER))).isTrue();
+    assertThat(set.contains(1000)).isFalse();
+    assertThat(set.containsAny(authorityRegistry.authorities(Set.of("ROLE_97")))).isTrue();
+    assertThat(set.containsAny(authorityRegistry.authorities(Set.of(AuthoritiesConstants.ADMIN)))).isFalse();
+  }
+
+  @Test
+  void shouldCheckAuthoritiesOfJwtAuthentications() {
+    Authentication admin = authentication(AuthoritiesConstants.ADMIN + " " + AuthoritiesConstants.USER);
+    Authentication user = authentication(AuthoritiesConstants.USER);
+
+    assertThat(admin.getAuthorities()).isSameAs(authentication(AuthoritiesConstants.ADMIN + " " + AuthoritiesConstants.USER).getAuthorities());
+    assertThat(authorityRegistry.hasAuthority(admin, AuthoritiesConstants.ADMIN)).isTrue();
+    assertThat(authorityRegistry.hasAuthority(user, AuthoritiesConstants.ADMIN)).isFalse();
+    assertThat(authorityRegistry.hasAnyAuthority(user, "ROLE_OTHER", AuthoritiesConstants.USER)).isTrue();
+
+    AuthorizationManager<Object> manager = authorityRegistry.hasAuthority(AuthoritiesConstants.ADMIN);
+    assertThat(manager.check(() -> admin, null).isGranted()).isTrue();
+    assertThat(manager.check(() -> user, null).isGranted()).isFalse();
+  }
+
+  @Test
+  void shouldCheckAuthoritiesOfOtherAuthentications() {
+    Authentication admin = new TestingAuthenticationToken("admin", "admin", AuthoritiesConstants.ADMIN);
+    Authentication user = new TestingAuthenticationToken("user", "user", AuthoritiesConstants.USER);
+
+    assertThat(authorityRegistry.hasAuthority(admin, AuthoritiesConstants.ADMIN)).isTrue();
+    assertThat(authorityRegistry.hasAuthority(user, AuthoritiesConstants.ADMIN)).isFalse();
+    assertThat(authorityRegistry.hasAuthority(null, AuthoritiesConstants.ADMIN)).isFalse();
+
+    AuthorizationManager<Object> manager = authorityRegistry.hasAuthority(AuthoritiesConstants.ADMIN);
+    assertThat(manager.check(() -> admin, null).isGranted()).isTrue();
+    assertThat(manager.check(() -> user, null).isGranted()).isFalse();
+  }
+
+  private Authentication authentication(String claim) {
+    Jwt jwt = Jwt.withTokenValue("token")
+        .header("alg", "HS512")
+        .subject("user")
+        .issuedAt(Instant.now())
+        .expiresAt(Instant.now().plusSeconds(60))
+        .claim(AUTHORITIES_KEY, claim)
+        .build();
+    return new AuthoritySetJwtAuthenticationConverter(authorityRegistry).convert(jwt);
+  }
+}
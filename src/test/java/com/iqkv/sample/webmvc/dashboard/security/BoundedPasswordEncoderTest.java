@@ -0,0 +1,108 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.iqkv.sample.webmvc.dashboard.management.SecurityMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Unit tests for the {@link BoundedPasswordEncoder} class.
+ */
+class BoundedPasswordEncoderTest {
+
+  private MeterRegistry meterRegistry;
+
+  private BoundedPasswordEncoder passwordEncoder;
+
+  @BeforeEach
+  public void setup() {
+    meterRegistry = new SimpleMeterRegistry();
+    passwordEncoder = new BoundedPasswordEncoder(4, 1, 1, new SecurityMetersService(meterRegistry));
+  }
+
+  @AfterEach
+  public void tearDown() {
+    passwordEncoder.shutdown();
+  }
+
+  @Test
+  void shouldEncodeAndMatchOnHashingPool() {
+    String encoded = passwordEncoder.encode("password");
+
+    assertThat(encoded).startsWith("$2a$04$");
+    assertThat(passwordEncoder.matches("password", encoded)).isTrue();
+    assertThat(passwordEncoder.matches("other", encoded)).isFalse();
+    assertThat(meterRegistry.get("security.authentication.password-hashing").timer().count()).isEqualTo(3);
+  }
+
+  @Test
+  void shouldUpgradeHashesOfAnotherCost() {
+    assertThat(passwordEncoder.upgradeEncoding(passwordEncoder.encode("password"))).isFalse();
+    assertThat(passwordEncoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("password"))).isTrue();
+    assertThat(passwordEncoder.upgradeEncoding("$2a$10$gSAhZrxMllrbgj/kkK9UceBPpChGWJA7SYIb1Mqo.n5aNLq1/oRrC")).isTrue();
+    assertThat(passwordEncoder.upgradeEncoding(null)).isFalse();
+  }
+
+  @Test
+  void shouldRejectWhenSaturated() throws Exception {
+    BoundedPasswordEncoder slowEncoder = new BoundedPasswordEncoder(12, 1, 1, new SecurityMetersService(meterRegistry));
+    ExecutorService callers = Executors.newFixedThreadPool(2);
+    try {
+      CountDownLatch started = new CountDownLatch(2);
+      List<CompletableFuture<String>> pending = new ArrayList<>();
+      for (int i = 0; i < 2; i++) {
+        pending.add(
+            CompletableFuture.supplyAsync(
+                () -> {
+                  started.countDown();
+                  return slowEncoder.encode("password");
+                },
+                callers
+            )
+        );
+      }
+      started.await(5, TimeUnit.SECONDS);
+      // One hash running, one queued: nothing left for a third caller
+      Thread.sleep(50);
+
+      assertThatExceptionOfType(PasswordHashingRejectedException.class).isThrownBy(() -> slowEncoder.encode("password"));
+      assertThat(meterRegistry.get("security.authentication.password-hashing.rejected").counter().count()).isEqualTo(1);
+      for (CompletableFuture<String> future : pending) {
+        assertThat(future.get(30, TimeUnit.SECONDS)).startsWith("$2a$12$");
+      }
+    } finally {
+      callers.shutdown();
+      slowEncoder.shutdown();
+    }
+  }
+}
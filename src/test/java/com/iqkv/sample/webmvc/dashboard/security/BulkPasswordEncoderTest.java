@@ -0,0 +1,62 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iqkv.sample.webmvc.dashboard.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Unit tests for the {@link BulkPasswordEncoder} class.
+ */
+class BulkPasswordEncoderTest {
+
+  private BulkPasswordEncoder passwordEncoder;
+
+  @BeforeEach
+  public void setup() {
+    passwordEncoder = new BulkPasswordEncoder(4, 3);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    passwordEncoder.shutdown();
+  }
+
+  @Test
+  void shouldEncodeAllInOrder() {
+    List<String> passwords = IntStream.range(0, 20).mapToObj(i -> "password-" + i).toList();
+
+    List<String> hashes = passwordEncoder.encodeAll(passwords);
+
+    BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder();
+    assertThat(hashes).hasSize(passwords.size()).allSatisfy(hash -> assertThat(hash).startsWith("$2a$04$"));
+    for (int i = 0; i < passwords.size(); i++) {
+      assertThat(bcrypt.matches(passwords.get(i), hashes.get(i))).isTrue();
+    }
+  }
+
+  @Test
+  void shouldEncodeNothing() {
+    assertThat(passwordEncoder.encodeAll(List.of())).isEmpty();
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.security;
+
+import static com.iqkv.boot.security.SecurityUtils.AUTHORITIES_KEY;
+import static com.iqkv.boot.security.SecurityUtils.JWT_ALGORITHM;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.iqkv.sample.webmvc.dashboard.management.SecurityMetersService;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+/**
+ * Decode throughput of the bearer tokens with and without the {@link CachingJwtDecoder}, over a working set of
+ * {@code tokens} distinct tokens presented in a round-robin fashion.
+ *
+ * <p>Run with {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.iqkv.sample.webmvc.dashboard.security.CachingJwtDecoderBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class CachingJwtDecoderBenchmark {
+
+  @Param({"100", "5000"})
+  private int tokens;
+
+  private String[] tokenValues;
+
+  private JwtDecoder nimbusDecoder;
+
+  private JwtDecoder cachingDecoder;
+
+  private int next;
+
+  @Setup
+  public void setup() {
+    byte[] keyBytes = new byte[64];
+    new SecureRandom().nextBytes(keyBytes);
+    SecretKey secretKey = new SecretKeySpec(keyBytes, JWT_ALGORITHM.getName());
+    JwtEncoder encoder = new NimbusJwtEncoder(new ImmutableSecret<>(secretKey));
+
+    Instant now = Instant.now();
+    tokenValues = new String[tokens];
+    for (int i = 0; i < tokens; i++) {
+      JwtClaimsSet claims = JwtClaimsSet.builder()
+          .issuedAt(now)
+          .expiresAt(now.plusSeconds(3600))
+          .subject("user-" + i)
+          .claim(AUTHORITIES_KEY, "ROLE_USER")
+          .build();
+      tokenValues[i] = encoder.encode(JwtEncoderParameters.from(JwsHeader.with(JWT_ALGORITHM).build(), claims)).getTokenValue();
+    }
+
+    nimbusDecoder = NimbusJwtDecoder.withSecretKey(secretKey).macAlgorithm(JWT_ALGORITHM).build();
+    cachingDecoder = new CachingJwtDecoder(nimbusDecoder, 10_000, new SecurityMetersService(new SimpleMeterRegistry()));
+  }
+
+  private String nextToken() {
+    // Benign data race: any token from the working set will do.
+    int index = next++ % tokens;
+    return tokenValues[index < 0 ? -index : index];
+  }
+
+  @Benchmark
+  public Jwt uncached() {
+    return nimbusDecoder.decode(nextToken());
+  }
+
+  @Benchmark
+  public Jwt cached() {
+    return cachingDecoder.decode(nextToken());
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(CachingJwtDecoderBenchmark.class.getSimpleName()).build()).run();
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.iqkv.sample.webmvc.dashboard.management.SecurityMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+/**
+ * Unit tests for the {@link CachingJwtDecoder} class.
+ */
+class CachingJwtDecoderTest {
+
+  private static final String TOKEN_CACHE_METER_EXPECTED_NAME = "security.authentication.token-cache";
+
+  private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+  private MeterRegistry meterRegistry;
+
+  private MutableClock clock;
+
+  private AtomicInteger delegateCalls;
+
+  private CachingJwtDecoder decoder;
+
+  @BeforeEach
+  public void setup() {
+    meterRegistry = new SimpleMeterRegistry();
+    clock = new MutableClock(NOW);
+    delegateCalls = new AtomicInteger();
+    JwtDecoder delegate = token -> {
+      delegateCalls.incrementAndGet();
+      if (token.startsWith("bad")) {
+        throw new BadJwtException("Malformed token");
+      }
+      Jwt.Builder jwt = Jwt.withTokenValue(token).header("alg", "HS512").subject(token).issuedAt(NOW);
+      if (!token.startsWith("forever")) {
+        jwt.expiresAt(NOW.plusSeconds(60));
+      }
+      return jwt.build();
+    };
+    decoder = new CachingJwtDecoder(delegate, 2, new SecurityMetersService(meterRegistry), clock);
+  }
+
+  @Test
+  void shouldVerifyTokenOnlyOnce() {
+    Jwt first = decoder.decode("token-one");
+    Jwt second = decoder.decode("token-one");
+
+    assertThat(second).isSameAs(first);
+    assertThat(delegateCalls).hasValue(1);
+    assertThat(count("hit")).isEqualTo(1);
+    assertThat(count("miss")).isEqualTo(1);
+  }
+
+  @Test
+  void shouldNotCacheRejectedTokens() {
+    assertThatExceptionOfType(BadJwtException.class).isThrownBy(() -> decoder.decode("bad-token"));
+    assertThatExceptionOfType(BadJwtException.class).isThrownBy(() -> decoder.decode("bad-token"));
+
+    assertThat(delegateCalls).hasValue(2);
+    assertThat(decoder.size()).isZero();
+  }
+
+  @Test
+  void shouldNotCacheTokensWithoutExpiry() {
+    decoder.decode("forever-token");
+    decoder.decode("forever-token");
+
+    assertThat(delegateCalls).hasValue(2);
+  }
+
+  @Test
+  void shouldEvictTokenAtExpiry() {
+    decoder.decode("token-one");
+    clock.set(NOW.plusSeconds(60));
+    decoder.decode("token-one");
+
+    assertThat(delegateCalls).hasValue(2);
+    assertThat(count("eviction")).isEqualTo(1);
+  }
+
+  @Test
+  void shouldStayWithinMaxEntries() {
+    decoder.decode("token-one");
+    decoder.decode("token-two");
+    decoder.decode("token-three");
+
+    assertThat(decoder.size()).isEqualTo(2);
+    assertThat(count("eviction")).isEqualTo(1);
+  }
+
+  private double count(String result) {
+    return meterRegistry.get(TOKEN_CACHE_METER_EXPECTED_NAME).tag("result", result).counter().count();
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private volatile Instant instant;
+
+    private MutableClock(Instant instant) {
+      this.instant = instant;
+    }
+
+    void set(Instant instant) {
+      this.instant = instant;
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return instant;
+    }
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.security;
+
+import static com.iqkv.boot.security.SecurityUtils.JWT_ALGORITHM;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.iqkv.sample.webmvc.dashboard.management.SecurityMetersService;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+/**
+ * Cost of rejecting a flood of bad bearer tokens, comparing the {@link ClassifyingJwtDecoder} with the former
+ * decoder wrapper scanning exception messages.
+ *
+ * <p>Run with {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.iqkv.sample.webmvc.dashboard.security.ClassifyingJwtDecoderBenchmark}, adding {@code -prof gc}
+ * to the runner options to compare allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClassifyingJwtDecoderBenchmark {
+
+  @Param({"no-dots", "not-base64url", "oversized", "unparsable", "invalid-signature"})
+  private String kind;
+
+  private String token;
+
+  private JwtDecoder messageScanningDecoder;
+
+  private JwtDecoder classifyingDecoder;
+
+  @Setup
+  public void setup() {
+    SecretKey secretKey = randomKey();
+    String valid = token(secretKey);
+    token = switch (kind) {
+      case "no-dots" -> "f00dcafe".repeat(16);
+      case "not-base64url" -> valid.substring(0, 10) + '+' + valid.substring(11);
+      case "oversized" -> valid + "A".repeat(16 * 1024);
+      case "unparsable" -> valid.substring(1);
+      case "invalid-signature" -> token(randomKey());
+      default -> throw new IllegalArgumentException(kind);
+    };
+
+    NimbusJwtDecoder nimbusJwtDecoder = NimbusJwtDecoder.withSecretKey(secretKey).macAlgorithm(JWT_ALGORITHM).build();
+    nimbusJwtDecoder.setJwtValidator(ClassifyingJwtDecoder.timestampValidator());
+    SecurityMetersService metersService = new SecurityMetersService(new SimpleMeterRegistry());
+
+    classifyingDecoder = new ClassifyingJwtDecoder(nimbusJwtDecoder, metersService, 8192);
+    messageScanningDecoder = value -> {
+      try {
+        return nimbusJwtDecoder.decode(value);
+      } catch (Exception e) {
+        if (e.getMessage().contains("Invalid signature")) {
+          metersService.trackTokenInvalidSignature();
+        } else if (e.getMessage().contains("Jwt expired at")) {
+          metersService.trackTokenExpired();
+        } else if (
+            e.getMessage().contains("Invalid JWT serialization")
+            || e.getMessage().contains("Malformed token")
+            || e.getMessage().contains("Invalid unsecured/JWS/JWE")
+        ) {
+          metersService.trackTokenMalformed();
+        }
+        throw e;
+      }
+    };
+  }
+
+  @Benchmark
+  public Object messageScanning() {
+    return reject(messageScanningDecoder);
+  }
+
+  @Benchmark
+  public Object classifying() {
+    return reject(classifyingDecoder);
+  }
+
+  private Object reject(JwtDecoder decoder) {
+    try {
+      return decoder.decode(token);
+    } catch (JwtException e) {
+      return e;
+    }
+  }
+
+  private static String token(SecretKey key) {
+    Instant now = Instant.now();
+    JwtClaimsSet claims = JwtClaimsSet.builder().issuedAt(now).expiresAt(now.plusSeconds(3600)).subject("anonymous").build();
+    return new NimbusJwtEncoder(new ImmutableSecret<>(key))
+        .encode(JwtEncoderParameters.from(JwsHeader.with(JWT_ALGORITHM).build(), claims))
+        .getTokenValue();
+  }
+
+  private static SecretKey randomKey() {
+    byte[] keyBytes = new byte[64];
+    new SecureRandom().nextBytes(keyBytes);
+    return new SecretKeySpec(keyBytes, JWT_ALGORITHM.getName());
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(ClassifyingJwtDecoderBenchmark.class.getSimpleName()).build()).run();
+  }
+}
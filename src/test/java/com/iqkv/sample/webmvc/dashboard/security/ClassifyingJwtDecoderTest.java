@@ -0,0 +1,155 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.security;
+
+import static com.iqkv.boot.security.SecurityUtils.JWT_ALGORITHM;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.iqkv.sample.webmvc.dashboard.management.SecurityMetersService;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+/**
+ * Unit tests for the {@link ClassifyingJwtDecoder} class.
+ */
+class ClassifyingJwtDecoderTest {
+
+  private static final String INVALID_TOKENS_METER_EXPECTED_NAME = "security.authentication.invalid-tokens";
+
+  private MeterRegistry meterRegistry;
+
+  private SecretKey secretKey;
+
+  private AtomicInteger delegateCalls;
+
+  private ClassifyingJwtDecoder decoder;
+
+  @BeforeEach
+  public void setup() {
+    meterRegistry = new SimpleMeterRegistry();
+    secretKey = randomKey();
+    delegateCalls = new AtomicInteger();
+    NimbusJwtDecoder nimbusJwtDecoder = NimbusJwtDecoder.withSecretKey(secretKey).macAlgorithm(JWT_ALGORITHM).build();
+    nimbusJwtDecoder.setJwtValidator(ClassifyingJwtDecoder.timestampValidator());
+    decoder = new ClassifyingJwtDecoder(
+        token -> {
+          delegateCalls.incrementAndGet();
+          return nimbusJwtDecoder.decode(token);
+        },
+        new SecurityMetersService(meterRegistry),
+        1024
+    );
+  }
+
+  @Test
+  void shouldDecodeValidToken() {
+    assertThat(decoder.decode(token(secretKey, Instant.now().plusSeconds(60))).getSubject()).isEqualTo("anonymous");
+    assertThat(count("malformed") + count("unsupported") + count("invalid-signature") + count("expired")).isZero();
+  }
+
+  @Test
+  void shouldRejectStructurallyMalformedTokensWithoutDelegate() {
+    String valid = token(secretKey, Instant.now().plusSeconds(60));
+
+    assertRejected("");
+    assertRejected("a2V5");
+    assertRejected("a2V5.a2V5");
+    assertRejected("a2V5.a2V5.a2V5.a2V5");
+    assertRejected(".a2V5.a2V5");
+    assertRejected("a2V5..a2V5");
+    assertRejected("a2V5.a2V5.a2V5a");
+    assertRejected("a2V5.a2+5.a2V5");
+    assertRejected(valid + "a".repeat(1024));
+
+    assertThat(delegateCalls).hasValue(0);
+    assertThat(count("malformed")).isEqualTo(9);
+  }
+
+  @Test
+  void shouldRejectUnsecuredTokenWithoutDelegate() {
+    assertThatExceptionOfType(BadJwtException.class).isThrownBy(() -> decoder.decode("eyJhbGciOiJub25lIn0.e30."));
+
+    assertThat(delegateCalls).hasValue(0);
+    assertThat(count("unsupported")).isEqualTo(1);
+  }
+
+  @Test
+  void shouldClassifyUnparsableToken() {
+    String valid = token(secretKey, Instant.now().plusSeconds(60));
+
+    assertThatExceptionOfType(JwtException.class).isThrownBy(() -> decoder.decode(valid.substring(1)));
+
+    assertThat(delegateCalls).hasValue(1);
+    assertThat(count("malformed")).isEqualTo(1);
+  }
+
+  @Test
+  void shouldClassifyInvalidSignature() {
+    assertThatExceptionOfType(JwtException.class).isThrownBy(() -> decoder.decode(token(randomKey(), Instant.now().plusSeconds(60))));
+
+    assertThat(count("invalid-signature")).isEqualTo(1);
+  }
+
+  @Test
+  void shouldClassifyExpiredToken() {
+    assertThatExceptionOfType(JwtException.class).isThrownBy(() -> decoder.decode(token(secretKey, Instant.now().minusSeconds(600))));
+
+    assertThat(count("expired")).isEqualTo(1);
+  }
+
+  private void assertRejected(String token) {
+    assertThatExceptionOfType(BadJwtException.class).isThrownBy(() -> decoder.decode(token));
+  }
+
+  private double count(String cause) {
+    return meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", cause).counter().count();
+  }
+
+  private static String token(SecretKey key, Instant expiresAt) {
+    JwtClaimsSet claims = JwtClaimsSet.builder()
+        .issuedAt(expiresAt.minusSeconds(60))
+        .expiresAt(expiresAt)
+        .subject("anonymous")
+        .build();
+    return new NimbusJwtEncoder(new ImmutableSecret<>(key))
+        .encode(JwtEncoderParameters.from(JwsHeader.with(JWT_ALGORITHM).build(), claims))
+        .getTokenValue();
+  }
+
+  private static SecretKey randomKey() {
+    byte[] keyBytes = new byte[64];
+    new SecureRandom().nextBytes(keyBytes);
+    return new SecretKeySpec(keyBytes, JWT_ALGORITHM.getName());
+  }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.security;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.lang.ref.Reference;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import com.iqkv.boot.cache.CacheProperties;
+import com.iqkv.sample.webmvc.dashboard.config.ApplicationProperties;
+import com.iqkv.sample.webmvc.dashboard.domain.Authority;
+import com.iqkv.sample.webmvc.dashboard.domain.User;
+import com.iqkv.sample.webmvc.dashboard.management.SecurityMetersService;
+import com.iqkv.sample.webmvc.dashboard.management.UserMetersService;
+import com.iqkv.sample.webmvc.dashboard.repository.UserRepository;
+import com.iqkv.sample.webmvc.dashboard.repository.cache.LoopbackCacheInvalidationBus;
+import com.iqkv.sample.webmvc.dashboard.repository.cache.UserCacheInvalidator;
+import com.iqkv.sample.webmvc.dashboard.repository.cache.UserLookupCache;
+import com.iqkv.sample.webmvc.dashboard.repository.cache.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Cost of {@link DomainUserDetailsService#loadUserByUsername} for a cached user, comparing the {@link UserPrincipal}
+ * snapshots with the former {@link User} entities turned into a new Spring Security user on every call.
+ *
+ * <p>Run with {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.iqkv.sample.webmvc.dashboard.security.DomainUserDetailsServiceBenchmark}, adding
+ * {@code -prof gc} to the runner options to compare the bytes allocated per call. The heap retained by a cached
+ * entity and by a cached snapshot is printed before the benchmark runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DomainUserDetailsServiceBenchmark {
+
+  private static final String LOGIN = "user-42";
+
+  private Cache entityCache;
+
+  private ExecutorService refreshExecutor;
+
+  private UserLookupCache userLookupCache;
+
+  private DomainUserDetailsService domainUserDetailsService;
+
+  @Setup
+  public void setup() {
+    UserRepository userRepository = mock(UserRepository.class);
+    when(userRepository.findOneWithAuthoritiesByLogin(anyString())).thenReturn(Optional.of(user(42)));
+    ApplicationProperties applicationProperties = new ApplicationProperties();
+    ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(UserRepository.USERS_BY_LOGIN_CACHE, UserRepository.USERS_BY_EMAIL_CACHE);
+    UserMetersService userMetersService = new UserMetersService(new SimpleMeterRegistry());
+    refreshExecutor = Executors.newFixedThreadPool(2);
+    userLookupCache = new UserLookupCache(
+        userRepository,
+        cacheManager,
+        userMetersService,
+        new CacheProperties(),
+        applicationProperties,
+        refreshExecutor
+    );
+    domainUserDetailsService = new DomainUserDetailsService(
+        userRepository,
+        userLookupCache,
+        new UserCacheInvalidator(
+            cacheManager,
+            mock(EntityManagerFactory.class),
+            new LoopbackCacheInvalidationBus(),
+            userMetersService,
+            applicationProperties
+        ),
+        new KnownUsersFilter(userRepository, applicationProperties),
+        new SecurityMetersService(new SimpleMeterRegistry())
+    );
+
+    entityCache = new ConcurrentMapCache(UserRepository.USERS_BY_LOGIN_CACHE);
+    entityCache.put(LOGIN, user(42));
+  }
+
+  @TearDown
+  public void tearDown() {
+    refreshExecutor.shutdownNow();
+  }
+
+  @Benchmark
+  public UserDetails entity() {
+    // As DomainUserDetailsService used to, from the cached entity
+    User user = (User) entityCache.get(LOGIN).get();
+    return new org.springframework.security.core.userdetails.User(
+        user.getLogin(),
+        user.getPassword(),
+        user.getAuthorities().stream().map(Authority::getName).map(SimpleGrantedAuthority::new).toList()
+    );
+  }
+
+  @Benchmark
+  public UserDetails principal() {
+    return domainUserDetailsService.loadUserByUsername(LOGIN);
+  }
+
+  /**
+   * A user as loaded from the database with its authorities, each user with its own login, email and hash.
+   */
+  private static User user(int index) {
+    User user = new User();
+    user.setId((long) index);
+    user.setLogin("user-" + index);
+    user.setPassword("$2a$10$" + String.format("%053d", index));
+    user.setFirstName("First" + index);
+    user.setLastName("Last" + index);
+    user.setEmail("user-" + index + "@example.com");
+    user.setActivated(true);
+    user.setLangKey("en");
+    user.setCreatedBy("system");
+    user.setCreatedDate(Instant.now());
+    user.setLastModifiedBy("system");
+    user.setLastModifiedDate(Instant.now());
+    user.setAuthorities(Set.of(new Authority().name("ROLE_USER"), new Authority().name("ROLE_ADMIN")));
+    return user;
+  }
+
+  /**
+   * Heap retained by each of {@code entries} values, from the used heap after a full collection.
+   */
+  private static long retainedBytesPerEntry(IntFunction<Object> value, int entries) {
+    Object[] values = new Object[entries];
+    long before = usedHeap();
+    for (int i = 0; i < entries; i++) {
+      values[i] = value.apply(i);
+    }
+    long after = usedHeap();
+    Reference.reachabilityFence(values);
+    return (after - before) / entries;
+  }
+
+  private static long usedHeap() {
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    Runtime runtime = Runtime.getRuntime();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    int entries = 100_000;
+    System.out.printf("Retained heap per cached entity: %d bytes%n", retainedBytesPerEntry(DomainUserDetailsServiceBenchmark::user, entries));
+    System.out.printf(
+        "Retained heap per cached snapshot: %d bytes%n",
+        retainedBytesPerEntry(index -> UserPrincipal.of(user(index)), entries)
+    );
+    new Runner(new OptionsBuilder().include(DomainUserDetailsServiceBenchmark.class.getSimpleName()).build()).run();
+  }
+}
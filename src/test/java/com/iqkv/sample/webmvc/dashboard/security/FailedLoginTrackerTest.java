@@ -0,0 +1,159 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.iqkv.sample.webmvc.dashboard.config.ApplicationProperties;
+import com.iqkv.sample.webmvc.dashboard.management.FailedLoginsEndpoint;
+import com.iqkv.sample.webmvc.dashboard.management.SecurityMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link FailedLoginTracker} class.
+ */
+class FailedLoginTrackerTest {
+
+  private static final long WINDOW_MILLIS = 60_000;
+
+  private AtomicLong clock;
+
+  private MeterRegistry meterRegistry;
+
+  private FailedLoginTracker tracker;
+
+  @BeforeEach
+  public void setup() {
+    clock = new AtomicLong(10 * WINDOW_MILLIS);
+    meterRegistry = new SimpleMeterRegistry();
+    ApplicationProperties.Security.FailedLogins properties = new ApplicationProperties.Security.FailedLogins();
+    properties.setWindow(Duration.ofMillis(WINDOW_MILLIS));
+    properties.setLoginThreshold(3);
+    properties.setClientThreshold(5);
+    properties.setMaxEntries(10);
+    tracker = new FailedLoginTracker(properties, new SecurityMetersService(meterRegistry), clock::get);
+  }
+
+  @Test
+  void shouldLockOutLoginAfterThreshold() {
+    fail("admin", "203.0.113.1", 2);
+    tracker.checkNotLockedOut("admin", "203.0.113.1");
+
+    fail("ADMIN", "203.0.113.2", 1);
+
+    assertThatExceptionOfType(LoginLockedOutException.class).isThrownBy(() -> tracker.checkNotLockedOut("admin", "203.0.113.3"));
+    tracker.checkNotLockedOut("user", "203.0.113.1");
+    assertThat(
+        meterRegistry.get("security.authentication.throttled").tag("endpoint", "authenticate").tag("key", "locked-login").counter().count()
+    ).isEqualTo(1);
+  }
+
+  @Test
+  void shouldLockOutClientWhateverTheLogin() {
+    for (int i = 0; i < 5; i++) {
+      fail("user-" + i, "203.0.113.1", 1);
+    }
+
+    assertThatExceptionOfType(LoginLockedOutException.class).isThrownBy(() -> tracker.checkNotLockedOut("user-9", "203.0.113.1"));
+    tracker.checkNotLockedOut("user-9", "203.0.113.2");
+  }
+
+  @Test
+  void shouldForgetFailuresLeavingWindow() {
+    fail("admin", "203.0.113.1", 3);
+
+    clock.addAndGet(WINDOW_MILLIS / 2);
+    assertThatExceptionOfType(LoginLockedOutException.class).isThrownBy(() -> tracker.checkNotLockedOut("admin", "203.0.113.1"));
+
+    clock.addAndGet(WINDOW_MILLIS);
+    tracker.checkNotLockedOut("admin", "203.0.113.1");
+    assertThat(tracker.topOffenders(10).get("logins")).extracting(FailedLoginsEndpoint.Offender::failures).containsExactly(2L);
+
+    clock.addAndGet(WINDOW_MILLIS);
+    tracker.sweep();
+    assertThat(tracker.topOffenders(10).get("logins")).isEmpty();
+  }
+
+  @Test
+  void shouldForgetLoginFailuresOnSuccess() {
+    fail("admin", "203.0.113.1", 2);
+
+    tracker.recordSuccess("admin");
+    fail("admin", "203.0.113.1", 2);
+
+    tracker.checkNotLockedOut("admin", "203.0.113.2");
+    assertThat(tracker.topOffenders(10).get("clients")).extracting(FailedLoginsEndpoint.Offender::failures).containsExactly(4L);
+  }
+
+  @Test
+  void shouldListTopOffenders() {
+    fail("admin", "203.0.113.1", 4);
+    fail("user", "203.0.113.1", 1);
+    fail("guest", "203.0.113.2", 2);
+
+    List<FailedLoginsEndpoint.Offender> logins = tracker.topOffenders(2).get("logins");
+
+    assertThat(logins).containsExactly(
+        new FailedLoginsEndpoint.Offender("admin", 4, true),
+        new FailedLoginsEndpoint.Offender("guest", 2, false)
+    );
+    assertThat(tracker.topOffenders(2).get("clients")).containsExactly(
+        new FailedLoginsEndpoint.Offender("203.0.113.1", 5, true),
+        new FailedLoginsEndpoint.Offender("203.0.113.2", 2, false)
+    );
+  }
+
+  @Test
+  void shouldEvictWeakestBeyondMaxEntries() {
+    fail("admin", "203.0.113.1", 3);
+    for (int i = 0; i < 20; i++) {
+      fail("user-" + i, "203.0.113.1", 1);
+    }
+
+    List<FailedLoginsEndpoint.Offender> logins = tracker.topOffenders(100).get("logins");
+    assertThat(logins).hasSizeLessThanOrEqualTo(10);
+    assertThat(logins).extracting(FailedLoginsEndpoint.Offender::key).contains("admin", "user-19");
+    assertThatExceptionOfType(LoginLockedOutException.class).isThrownBy(() -> tracker.checkNotLockedOut("admin", "203.0.113.2"));
+  }
+
+  @Test
+  void shouldNotRotateBackToAnOlderWindow() {
+    FailedLoginTracker.DecayingCounter counter = new FailedLoginTracker.DecayingCounter();
+    long now = 10 * WINDOW_MILLIS;
+    counter.increment(now, WINDOW_MILLIS);
+    counter.increment(now, WINDOW_MILLIS);
+
+    // Increment from a thread that read the clock just before the window rotated
+    counter.increment(now - 1, WINDOW_MILLIS);
+
+    assertThat(counter.estimate(now, WINDOW_MILLIS)).isEqualTo(3);
+  }
+
+  private void fail(String login, String clientAddress, int times) {
+    for (int i = 0; i < times; i++) {
+      tracker.recordFailure(login, clientAddress);
+    }
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.security;
+
+import static com.iqkv.boot.security.SecurityUtils.AUTHORITIES_KEY;
+import static com.iqkv.boot.security.SecurityUtils.JWT_ALGORITHM;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+/**
+ * Tokens minted per second by the {@link HmacJwtMinter} and by the {@link JwtEncoder} it replaces in
+ * {@code AuthenticateController.createToken}.
+ *
+ * <p>Run with {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.iqkv.sample.webmvc.dashboard.security.HmacJwtMinterBenchmark}; the {@code gc} profiler it
+ * enables reports the allocation per token as {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class HmacJwtMinterBenchmark {
+
+  private static final String SUBJECT = "admin";
+
+  private static final String AUTHORITIES = "ROLE_ADMIN ROLE_USER";
+
+  private JwtEncoder jwtEncoder;
+
+  private HmacJwtMinter minter;
+
+  @Setup
+  public void setup() {
+    byte[] keyBytes = new byte[64];
+    new SecureRandom().nextBytes(keyBytes);
+    SecretKey secretKey = new SecretKeySpec(keyBytes, JWT_ALGORITHM.getName());
+    jwtEncoder = new NimbusJwtEncoder(new ImmutableSecret<>(secretKey));
+    minter = new HmacJwtMinter(secretKey, jwtEncoder);
+  }
+
+  @Benchmark
+  public String encoder() {
+    Instant now = Instant.now();
+    JwtClaimsSet claims = JwtClaimsSet.builder()
+        .issuedAt(now)
+        .expiresAt(now.plusSeconds(86_400))
+        .subject(SUBJECT)
+        .claim(AUTHORITIES_KEY, AUTHORITIES)
+        .build();
+    return jwtEncoder.encode(JwtEncoderParameters.from(JwsHeader.with(JWT_ALGORITHM).build(), claims)).getTokenValue();
+  }
+
+  @Benchmark
+  public String minter() {
+    Instant now = Instant.now();
+    return minter.mint(SUBJECT, AUTHORITIES, now, now.plusSeconds(86_400));
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(HmacJwtMinterBenchmark.class.getSimpleName()).addProfiler("gc").build()).run();
+  }
+}
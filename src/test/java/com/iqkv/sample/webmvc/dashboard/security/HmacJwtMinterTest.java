@@ -0,0 +1,103 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.security;
+
+import static com.iqkv.boot.security.SecurityUtils.AUTHORITIES_KEY;
+import static com.iqkv.boot.security.SecurityUtils.JWT_ALGORITHM;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+/**
+ * Unit tests for the {@link HmacJwtMinter} class.
+ */
+class HmacJwtMinterTest {
+
+  private SecretKey secretKey;
+
+  private JwtEncoder jwtEncoder;
+
+  private HmacJwtMinter minter;
+
+  @BeforeEach
+  public void setup() {
+    byte[] keyBytes = new byte[64];
+    new SecureRandom().nextBytes(keyBytes);
+    secretKey = new SecretKeySpec(keyBytes, JWT_ALGORITHM.getName());
+    jwtEncoder = new NimbusJwtEncoder(new ImmutableSecret<>(secretKey));
+    minter = new HmacJwtMinter(secretKey, jwtEncoder);
+  }
+
+  @ParameterizedTest
+  @CsvSource(
+    {
+      "admin, ROLE_ADMIN ROLE_USER",
+      "user, ROLE_USER",
+      "a, ''",
+      "john.doe@localhost, ROLE_USER",
+      "ab, ROLE_A",
+      "abc, ROLE_AB",
+      "o'brien&co=1, ROLE_USER",
+      "élise, ROLE_USER",
+    }
+  )
+  void shouldMintSameTokensAsEncoder(String subject, String authorities) {
+    Instant issuedAt = Instant.now();
+    Instant expiresAt = issuedAt.plusSeconds(86_400);
+
+    assertThat(minter.isFastPath()).isTrue();
+    assertThat(minter.mint(subject, authorities, issuedAt, expiresAt)).isEqualTo(encode(subject, authorities, issuedAt, expiresAt));
+  }
+
+  @ParameterizedTest
+  @CsvSource({ "admin, ROLE_ADMIN ROLE_USER", "élise, ROLE_USER" })
+  void shouldMintVerifiableTokens(String subject, String authorities) {
+    Instant issuedAt = Instant.now();
+
+    var jwt = NimbusJwtDecoder.withSecretKey(secretKey)
+        .macAlgorithm(JWT_ALGORITHM)
+        .build()
+        .decode(minter.mint(subject, authorities, issuedAt, issuedAt.plusSeconds(60)));
+
+    assertThat(jwt.getSubject()).isEqualTo(subject);
+    assertThat(jwt.getClaimAsString(AUTHORITIES_KEY)).isEqualTo(authorities);
+  }
+
+  private String encode(String subject, String authorities, Instant issuedAt, Instant expiresAt) {
+    JwtClaimsSet claims = JwtClaimsSet.builder()
+        .issuedAt(issuedAt)
+        .expiresAt(expiresAt)
+        .subject(subject)
+        .claim(AUTHORITIES_KEY, authorities)
+        .build();
+    return jwtEncoder.encode(JwtEncoderParameters.from(JwsHeader.with(JWT_ALGORITHM).build(), claims)).getTokenValue();
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.iqkv.sample.webmvc.dashboard.config.ApplicationProperties;
+import com.iqkv.sample.webmvc.dashboard.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link KnownUsersFilter} class.
+ */
+class KnownUsersFilterTest {
+
+  private UserRepository userRepository;
+
+  private ApplicationProperties applicationProperties;
+
+  private KnownUsersFilter knownUsersFilter;
+
+  @BeforeEach
+  public void setup() {
+    userRepository = mock(UserRepository.class);
+    when(userRepository.count()).thenReturn(2L);
+    when(userRepository.streamAllLoginsAndEmails()).thenReturn(Stream.of("admin", "admin@localhost", "user", "user@localhost"));
+    applicationProperties = new ApplicationProperties();
+    knownUsersFilter = new KnownUsersFilter(userRepository, applicationProperties);
+  }
+
+  @Test
+  void shouldAcceptEverythingUntilBuilt() {
+    assertThat(knownUsersFilter.isReady()).isFalse();
+    assertThat(knownUsersFilter.mightContain("unknown")).isTrue();
+  }
+
+  @Test
+  void shouldRejectUnknownUsersOnceBuilt() {
+    knownUsersFilter.rebuild();
+
+    assertThat(knownUsersFilter.isReady()).isTrue();
+    assertThat(knownUsersFilter.mightContain("admin")).isTrue();
+    assertThat(knownUsersFilter.mightContain("ADMIN@localhost")).isTrue();
+    assertThat(knownUsersFilter.mightContain("unknown")).isFalse();
+  }
+
+  @Test
+  void shouldLearnAddedUsers() {
+    knownUsersFilter.rebuild();
+
+    knownUsersFilter.add("newcomer", "newcomer@localhost");
+
+    assertThat(knownUsersFilter.mightContain("newcomer")).isTrue();
+    assertThat(knownUsersFilter.mightContain("newcomer@localhost")).isTrue();
+  }
+
+  @Test
+  void shouldNotBuildWhenDisabled() {
+    applicationProperties.getSecurity().getKnownUsersFilter().setEnabled(false);
+
+    knownUsersFilter.rebuild();
+
+    assertThat(knownUsersFilter.isReady()).isFalse();
+    assertThat(knownUsersFilter.mightContain("unknown")).isTrue();
+  }
+
+  @Test
+  void shouldStayNearConfiguredFalsePositiveProbability() {
+    KnownUsersFilter.BloomFilter bloomFilter = new KnownUsersFilter.BloomFilter(10_000, 0.01);
+    IntStream.range(0, 10_000).forEach(i -> bloomFilter.put("user-" + i));
+
+    assertThat(IntStream.range(0, 10_000).allMatch(i -> bloomFilter.mightContain("user-" + i))).isTrue();
+    long falsePositives = IntStream.range(0, 100_000).filter(i -> bloomFilter.mightContain("unknown-" + i)).count();
+    assertThat(falsePositives).isLessThan(2_000);
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link StripedTokenBuckets} class.
+ */
+class StripedTokenBucketsTest {
+
+  private AtomicLong clock;
+
+  private StripedTokenBuckets buckets;
+
+  @BeforeEach
+  public void setup() {
+    clock = new AtomicLong(1);
+    buckets = new StripedTokenBuckets(3, Duration.ofSeconds(3), 1024, clock::get);
+  }
+
+  @Test
+  void shouldGrantBurstThenThrottle() {
+    assertThat(buckets.tryAcquire("alice")).isTrue();
+    assertThat(buckets.tryAcquire("alice")).isTrue();
+    assertThat(buckets.tryAcquire("alice")).isTrue();
+
+    assertThat(buckets.tryAcquire("alice")).isFalse();
+    assertThat(buckets.tryAcquire("bob")).isTrue();
+  }
+
+  @Test
+  void shouldRefillOverPeriod() {
+    drain("alice");
+
+    clock.addAndGet(999);
+    assertThat(buckets.tryAcquire("alice")).isFalse();
+
+    clock.addAndGet(1);
+    assertThat(buckets.tryAcquire("alice")).isTrue();
+    assertThat(buckets.tryAcquire("alice")).isFalse();
+
+    clock.addAndGet(60_000);
+    assertThat(buckets.tryAcquire("alice")).isTrue();
+    assertThat(buckets.tryAcquire("alice")).isTrue();
+    assertThat(buckets.tryAcquire("alice")).isTrue();
+    assertThat(buckets.tryAcquire("alice")).isFalse();
+  }
+
+  @Test
+  void shouldRarelyThrottleKeysSharingBucketsWithDrainedOnes() {
+    StripedTokenBuckets sharedBuckets = new StripedTokenBuckets(3, Duration.ofHours(1), 1024, clock::get);
+    for (int i = 0; i < 50; i++) {
+      for (int j = 0; j < 3; j++) {
+        sharedBuckets.tryAcquire("attacker-" + i);
+      }
+    }
+    int throttled = 0;
+    for (int i = 0; i < 200; i++) {
+      if (!sharedBuckets.tryAcquire("user-" + i)) {
+        throttled++;
+      }
+    }
+
+    assertThat(sharedBuckets.tryAcquire("attacker-0")).isFalse();
+    assertThat(throttled).isLessThanOrEqualTo(4);
+  }
+
+  @Test
+  void shouldRejectPermitsBeyondTokenBits() {
+    assertThatIllegalArgumentException().isThrownBy(() -> new StripedTokenBuckets(0, Duration.ofMinutes(1), 16));
+    assertThatIllegalArgumentException().isThrownBy(() -> new StripedTokenBuckets(20_000, Duration.ofMinutes(1), 16));
+  }
+
+  private void drain(String key) {
+    while (buckets.tryAcquire(key)) {
+      // Take every token
+    }
+  }
+}
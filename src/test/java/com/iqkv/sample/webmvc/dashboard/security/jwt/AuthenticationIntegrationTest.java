@@ -23,10 +23,16 @@ import java.lang.annotation.Target;
 
 import com.iqkv.boot.security.SecurityProperties;
 import com.iqkv.sample.webmvc.dashboard.config.ApplicationProperties;
+import com.iqkv.sample.webmvc.dashboard.config.ExecutorsConfiguration;
 import com.iqkv.sample.webmvc.dashboard.config.SecurityConfiguration;
 import com.iqkv.sample.webmvc.dashboard.config.SecurityJwtConfiguration;
 import com.iqkv.sample.webmvc.dashboard.config.WebConfigurer;
+import com.iqkv.sample.webmvc.dashboard.management.ConcurrencyLimitMetersService;
+import com.iqkv.sample.webmvc.dashboard.management.ExecutorMetersService;
 import com.iqkv.sample.webmvc.dashboard.management.SecurityMetersService;
+import com.iqkv.sample.webmvc.dashboard.security.AuthenticationRateLimiter;
+import com.iqkv.sample.webmvc.dashboard.security.AuthorityRegistry;
+import com.iqkv.sample.webmvc.dashboard.security.FailedLoginTracker;
 import com.iqkv.sample.webmvc.dashboard.web.rest.AuthenticateController;
 import org.springframework.boot.test.context.SpringBootTest;
 
@@ -42,7 +48,13 @@ import org.springframework.boot.test.context.SpringBootTest;
         WebConfigurer.class,
         SecurityConfiguration.class,
         SecurityJwtConfiguration.class,
+        ExecutorsConfiguration.class,
+        ExecutorMetersService.class,
+        ConcurrencyLimitMetersService.class,
         SecurityMetersService.class,
+        AuthorityRegistry.class,
+        AuthenticationRateLimiter.class,
+        FailedLoginTracker.class,
         AuthenticateController.class,
         JwtAuthenticationTestUtils.class,
         SecurityProperties.class
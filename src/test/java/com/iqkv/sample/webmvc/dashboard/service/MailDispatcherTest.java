@@ -0,0 +1,116 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import jakarta.mail.internet.MimeMessage;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.iqkv.sample.webmvc.dashboard.config.ApplicationProperties;
+import com.iqkv.sample.webmvc.dashboard.management.MailMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.MailException;
+
+/**
+ * Tests for the {@link MailDispatcher} class, against an in-memory SMTP server.
+ */
+class MailDispatcherTest {
+
+  @RegisterExtension
+  static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+  private MeterRegistry meterRegistry;
+
+  private JavaMailSenderImpl javaMailSender;
+
+  private MailDispatcher mailDispatcher;
+
+  @BeforeEach
+  public void setup() {
+    meterRegistry = new SimpleMeterRegistry();
+    javaMailSender = new JavaMailSenderImpl();
+    javaMailSender.setHost(ServerSetupTest.SMTP.getBindAddress());
+    javaMailSender.setPort(ServerSetupTest.SMTP.getPort());
+    ApplicationProperties applicationProperties = new ApplicationProperties();
+    applicationProperties.getMail().setSessions(2);
+    applicationProperties.getMail().setBatchSize(4);
+    mailDispatcher = new MailDispatcher(javaMailSender, applicationProperties, new MailMetersService(meterRegistry));
+  }
+
+  @AfterEach
+  public void tearDown() {
+    mailDispatcher.shutdown();
+  }
+
+  @Test
+  void shouldSendConcurrentEmailsOverBatchedSessions() throws Exception {
+    int emails = 40;
+    ExecutorService senders = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> sent = new ArrayList<>();
+      for (int i = 0; i < emails; i++) {
+        MimeMessage message = message("user" + i + "@example.com");
+        sent.add(senders.submit(() -> mailDispatcher.send(message)));
+      }
+      for (Future<?> future : sent) {
+        future.get();
+      }
+    } finally {
+      senders.shutdown();
+    }
+
+    assertThat(greenMail.getReceivedMessages()).hasSize(emails);
+    assertThat(meterRegistry.get("mail.delivery.batch-size").summary().totalAmount()).isEqualTo(emails);
+    assertThat(meterRegistry.get("mail.delivery.batch-size").summary().max()).isLessThanOrEqualTo(4);
+    assertThat(meterRegistry.get("mail.delivery.queue").gauge().value()).isZero();
+  }
+
+  @Test
+  void shouldFailEmailsWhenServerIsUnreachable() throws Exception {
+    javaMailSender.setPort(ServerSetupTest.SMTP.getPort() + 1);
+    MimeMessage message = message("john.doe@example.com");
+
+    assertThatExceptionOfType(MailException.class).isThrownBy(() -> mailDispatcher.send(message));
+    assertThat(greenMail.getReceivedMessages()).isEmpty();
+  }
+
+  private MimeMessage message(String to) throws Exception {
+    MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+    MimeMessageHelper message = new MimeMessageHelper(mimeMessage, false, StandardCharsets.UTF_8.name());
+    message.setTo(to);
+    message.setFrom("dashboard@example.com");
+    message.setSubject("testSubject");
+    message.setText("testContent");
+    return mimeMessage;
+  }
+}
@@ -22,6 +22,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -46,6 +47,9 @@ import com.iqkv.boot.mail.MailProperties;
 import com.iqkv.sample.webmvc.dashboard.IntegrationTest;
 import com.iqkv.sample.webmvc.dashboard.config.Constants;
 import com.iqkv.sample.webmvc.dashboard.domain.User;
+import com.iqkv.sample.webmvc.dashboard.repository.UserRepository;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -81,12 +85,20 @@ class MailServiceIT {
   @Autowired
   private MailService mailService;
 
+  @Autowired
+  private UserRepository userRepository;
+
   @BeforeEach
   public void setup() {
     doNothing().when(javaMailSender).send(any(MimeMessage.class));
     when(javaMailSender.createMimeMessage()).thenReturn(new MimeMessage((Session) null));
   }
 
+  @AfterEach
+  public void cleanup() {
+    userRepository.findOneByLogin("john").ifPresent(userRepository::delete);
+  }
+
   @Test
   void testSendEmail() throws Exception {
     mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", false, false);
@@ -149,10 +161,7 @@ class MailServiceIT {
 
   @Test
   void testSendEmailFromTemplate() throws Exception {
-    User user = new User();
-    user.setLangKey(Constants.DEFAULT_LANGUAGE);
-    user.setLogin("john");
-    user.setEmail("john.doe@example.com");
+    User user = createUser(Constants.DEFAULT_LANGUAGE);
     mailService.sendEmailFromTemplate(user, "mail/testEmail", "email.test.title");
     verify(javaMailSender).send(messageCaptor.capture());
     MimeMessage message = messageCaptor.getValue();
@@ -165,10 +174,7 @@ class MailServiceIT {
 
   @Test
   void testSendActivationEmail() throws Exception {
-    User user = new User();
-    user.setLangKey(Constants.DEFAULT_LANGUAGE);
-    user.setLogin("john");
-    user.setEmail("john.doe@example.com");
+    User user = createUser(Constants.DEFAULT_LANGUAGE);
     mailService.sendActivationEmail(user);
     verify(javaMailSender).send(messageCaptor.capture());
     MimeMessage message = messageCaptor.getValue();
@@ -180,10 +186,7 @@ class MailServiceIT {
 
   @Test
   void testCreationEmail() throws Exception {
-    User user = new User();
-    user.setLangKey(Constants.DEFAULT_LANGUAGE);
-    user.setLogin("john");
-    user.setEmail("john.doe@example.com");
+    User user = createUser(Constants.DEFAULT_LANGUAGE);
     mailService.sendCreationEmail(user);
     verify(javaMailSender).send(messageCaptor.capture());
     MimeMessage message = messageCaptor.getValue();
@@ -195,10 +198,7 @@ class MailServiceIT {
 
   @Test
   void testSendPasswordResetMail() throws Exception {
-    User user = new User();
-    user.setLangKey(Constants.DEFAULT_LANGUAGE);
-    user.setLogin("john");
-    user.setEmail("john.doe@example.com");
+    User user = createUser(Constants.DEFAULT_LANGUAGE);
     mailService.sendPasswordResetMail(user);
     verify(javaMailSender).send(messageCaptor.capture());
     MimeMessage message = messageCaptor.getValue();
@@ -220,9 +220,7 @@ class MailServiceIT {
 
   @Test
   void testSendLocalizedEmailForAllSupportedLanguages() throws Exception {
-    User user = new User();
-    user.setLogin("john");
-    user.setEmail("john.doe@example.com");
+    User user = createUser(Constants.DEFAULT_LANGUAGE);
     for (String langKey : languages) {
       user.setLangKey(langKey);
       mailService.sendEmailFromTemplate(user, "mail/testEmail", "email.test.title");
@@ -244,6 +242,34 @@ class MailServiceIT {
     }
   }
 
+  @Test
+  void testSendEmailFromTemplateReadsKeysWhenSending() throws Exception {
+    User user = createUser(Constants.DEFAULT_LANGUAGE);
+    user.setResetKey("reset-key-sent");
+    userRepository.saveAndFlush(user);
+    mailService.sendPasswordResetMail(user);
+    verify(javaMailSender).send(messageCaptor.capture());
+    assertThat(messageCaptor.getValue().getContent().toString()).contains("reset-key-sent");
+  }
+
+  @Test
+  void testSendEmailFromTemplateForDeletedUser() {
+    User user = createUser(Constants.DEFAULT_LANGUAGE);
+    userRepository.delete(user);
+    mailService.sendActivationEmail(user);
+    verify(javaMailSender, never()).send(any(MimeMessage.class));
+  }
+
+  private User createUser(String langKey) {
+    User user = new User();
+    user.setLogin("john");
+    user.setPassword(RandomStringUtils.randomAlphanumeric(60));
+    user.setActivated(true);
+    user.setEmail("john.doe@example.com");
+    user.setLangKey(langKey);
+    return userRepository.saveAndFlush(user);
+  }
+
   /**
    * Convert a lang key to the Java locale.
    */
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.service;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import com.iqkv.sample.webmvc.dashboard.domain.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+
+/**
+ * Renders per second of a mail template and its subject, through the {@link SpringTemplateEngine} and the message
+ * source as {@link MailService} used to, and through the {@link MailTemplateRenderer}.
+ *
+ * <p>Run with {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.iqkv.sample.webmvc.dashboard.service.MailTemplateRendererBenchmark}, adding {@code -prof gc}
+ * to the runner options to compare the bytes allocated per render.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MailTemplateRendererBenchmark {
+
+  private static final String BASE_URL = "http://127.0.0.1:8080";
+
+  @Param({"mail/activationEmail", "mail/passwordResetEmail"})
+  private String template;
+
+  private SpringTemplateEngine templateEngine;
+
+  private ResourceBundleMessageSource messageSource;
+
+  private MailTemplateRenderer renderer;
+
+  private User user;
+
+  @Setup
+  public void setup() {
+    messageSource = MailTemplateRendererTest.messageSource();
+    templateEngine = MailTemplateRendererTest.templateEngine(messageSource);
+    renderer = new MailTemplateRenderer(templateEngine, messageSource, BASE_URL, true);
+    user = MailTemplateRendererTest.user("john.doe", "Ab12Cd34Ef56Gh78Ij90", "Zy98Xw76Vu54Ts32Rq10");
+  }
+
+  @Benchmark
+  public int engine() {
+    Context context = new Context(Locale.ENGLISH);
+    context.setVariable("user", user);
+    context.setVariable("baseUrl", BASE_URL);
+    String content = templateEngine.process(template, context);
+    String subject = messageSource.getMessage("email.activation.title", null, Locale.ENGLISH);
+    return content.length() + subject.length();
+  }
+
+  @Benchmark
+  public int precompiled() {
+    String content = renderer.render(template, Locale.ENGLISH, user);
+    String subject = renderer.subject("email.activation.title", Locale.ENGLISH);
+    return content.length() + subject.length();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(MailTemplateRendererBenchmark.class.getSimpleName()).build()).run();
+  }
+}
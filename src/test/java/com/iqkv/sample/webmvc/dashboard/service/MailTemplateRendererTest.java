@@ -0,0 +1,152 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import java.util.Locale;
+
+import com.iqkv.sample.webmvc.dashboard.domain.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.context.IContext;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+/**
+ * Tests for the {@link MailTemplateRenderer} class, comparing its output with the {@link SpringTemplateEngine} one.
+ */
+class MailTemplateRendererTest {
+
+  private static final String BASE_URL = "http://127.0.0.1:8080";
+
+  private static final String[] TEMPLATES = { "mail/activationEmail", "mail/creationEmail", "mail/passwordResetEmail", "mail/testEmail" };
+
+  private static final Locale[] LOCALES = { Locale.ENGLISH, Locale.FRENCH, Locale.ITALIAN, Locale.forLanguageTag("ru") };
+
+  private SpringTemplateEngine templateEngine;
+
+  private ResourceBundleMessageSource messageSource;
+
+  private MailTemplateRenderer renderer;
+
+  @BeforeEach
+  public void setup() {
+    messageSource = messageSource();
+    templateEngine = spy(templateEngine(messageSource));
+    renderer = new MailTemplateRenderer(templateEngine, messageSource, BASE_URL, true);
+  }
+
+  @Test
+  void shouldRenderLikeTheEngine() {
+    User user = user("john.doe", "Ab12Cd34Ef56Gh78Ij90", "Zy98Xw76Vu54Ts32Rq10");
+
+    for (String template : TEMPLATES) {
+      for (Locale locale : LOCALES) {
+        assertThat(renderer.render(template, locale, user)).isEqualTo(process(template, locale, user));
+        // Second render goes through the precompiled template
+        assertThat(renderer.render(template, locale, user)).isEqualTo(process(template, locale, user));
+      }
+    }
+  }
+
+  @Test
+  void shouldPrecompileMailTemplates() {
+    User user = user("john.doe", "Ab12Cd34Ef56Gh78Ij90", "Zy98Xw76Vu54Ts32Rq10");
+
+    for (String template : TEMPLATES) {
+      for (Locale locale : LOCALES) {
+        String expected = process(template, locale, user);
+        renderer.render(template, locale, user);
+        clearInvocations(templateEngine);
+
+        assertThat(renderer.render(template, locale, user)).isEqualTo(expected);
+        verify(templateEngine, never()).process(anyString(), any(IContext.class));
+      }
+    }
+  }
+
+  @Test
+  void shouldEscapeLoginsLikeTheEngine() {
+    User user = user("o'neil&<co>@example.com", "Ab12Cd34Ef56Gh78Ij90", null);
+
+    renderer.render("mail/activationEmail", Locale.ENGLISH, user("warm-up", "key", "key"));
+
+    assertThat(renderer.render("mail/activationEmail", Locale.ENGLISH, user)).isEqualTo(process("mail/activationEmail", Locale.ENGLISH, user));
+  }
+
+  @Test
+  void shouldRenderMissingKeysLikeTheEngine() {
+    User user = user("john.doe", null, null);
+
+    renderer.render("mail/creationEmail", Locale.ENGLISH, user("warm-up", "key", "key"));
+
+    assertThat(renderer.render("mail/creationEmail", Locale.ENGLISH, user)).isEqualTo(process("mail/creationEmail", Locale.ENGLISH, user));
+  }
+
+  @Test
+  void shouldResolveSubjects() {
+    assertThat(renderer.subject("email.test.title", Locale.ENGLISH)).isEqualTo("test title");
+    assertThat(renderer.subject("email.test.title", Locale.ENGLISH)).isEqualTo("test title");
+  }
+
+  private String process(String template, Locale locale, User user) {
+    Context context = new Context(locale);
+    context.setVariable("user", user);
+    context.setVariable("baseUrl", BASE_URL);
+    return templateEngine.process(template, context);
+  }
+
+  static User user(String login, String activationKey, String resetKey) {
+    User user = new User();
+    user.setLogin(login);
+    user.setEmail(login + "@example.com");
+    user.setLangKey("en");
+    user.setActivationKey(activationKey);
+    user.setResetKey(resetKey);
+    return user;
+  }
+
+  static ResourceBundleMessageSource messageSource() {
+    ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+    messageSource.setBasename("i18n/messages");
+    messageSource.setDefaultEncoding("UTF-8");
+    messageSource.setFallbackToSystemLocale(false);
+    return messageSource;
+  }
+
+  static SpringTemplateEngine templateEngine(ResourceBundleMessageSource messageSource) {
+    ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+    templateResolver.setPrefix("templates/");
+    templateResolver.setSuffix(".html");
+    templateResolver.setTemplateMode(TemplateMode.HTML);
+    templateResolver.setCharacterEncoding("UTF-8");
+    SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+    templateEngine.setTemplateResolver(templateResolver);
+    templateEngine.setTemplateEngineMessageSource(messageSource);
+    return templateEngine;
+  }
+}
@@ -19,6 +19,7 @@ package com.iqkv.sample.webmvc.dashboard.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
@@ -28,8 +29,10 @@ import java.util.Optional;
 
 import com.iqkv.boot.security.RandomUtil;
 import com.iqkv.sample.webmvc.dashboard.IntegrationTest;
+import com.iqkv.sample.webmvc.dashboard.config.ApplicationProperties;
 import com.iqkv.sample.webmvc.dashboard.domain.User;
 import com.iqkv.sample.webmvc.dashboard.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -73,6 +76,12 @@ class UserServiceIT {
   @Autowired
   private AuditingHandler auditingHandler;
 
+  @Autowired
+  private ApplicationProperties applicationProperties;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
   @MockBean
   private DateTimeProvider dateTimeProvider;
 
@@ -222,4 +231,64 @@ class UserServiceIT {
     Optional<User> maybeDbUser = userRepository.findById(dbUser.getId());
     assertThat(maybeDbUser).contains(dbUser);
   }
+
+  @Test
+  @Transactional
+  void assertThatNotActivatedUsersAreDeletedInSeveralChunks() {
+    Instant now = Instant.now();
+    when(dateTimeProvider.getNow()).thenReturn(Optional.of(now.minus(4, ChronoUnit.DAYS)));
+    for (int i = 0; i < 5; i++) {
+      createNotActivatedUser(DEFAULT_LOGIN + "_" + i);
+    }
+    Instant threeDaysAgo = now.minus(3, ChronoUnit.DAYS);
+    assertThat(userRepository.findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(threeDaysAgo)).hasSize(5);
+    long chunks = meterRegistry.get("users.purge.chunks").timer().count();
+    long completeRuns = meterRegistry.get("users.purge.runs").tag("outcome", "complete").timer().count();
+
+    ApplicationProperties.UserPurge userPurge = applicationProperties.getUserPurge();
+    int chunkSize = userPurge.getChunkSize();
+    userPurge.setChunkSize(2);
+    try {
+      userService.removeNotActivatedUsers();
+    } finally {
+      userPurge.setChunkSize(chunkSize);
+    }
+
+    assertThat(userRepository.findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(threeDaysAgo)).isEmpty();
+    assertThat(meterRegistry.get("users.purge.chunks").timer().count()).isEqualTo(chunks + 3);
+    assertThat(meterRegistry.get("users.purge.runs").tag("outcome", "complete").timer().count()).isEqualTo(completeRuns + 1);
+  }
+
+  @Test
+  @Transactional
+  void assertThatNoNotActivatedUserIsDeletedOnceTimeBudgetIsSpent() {
+    Instant now = Instant.now();
+    when(dateTimeProvider.getNow()).thenReturn(Optional.of(now.minus(4, ChronoUnit.DAYS)));
+    User dbUser = createNotActivatedUser(DEFAULT_LOGIN + "_0");
+    long budgetExhaustedRuns = meterRegistry.get("users.purge.runs").tag("outcome", "budget-exhausted").timer().count();
+
+    ApplicationProperties.UserPurge userPurge = applicationProperties.getUserPurge();
+    Duration timeBudget = userPurge.getTimeBudget();
+    userPurge.setTimeBudget(Duration.ZERO);
+    try {
+      userService.removeNotActivatedUsers();
+    } finally {
+      userPurge.setTimeBudget(timeBudget);
+    }
+
+    assertThat(userRepository.findById(dbUser.getId())).isPresent();
+    assertThat(meterRegistry.get("users.purge.runs").tag("outcome", "budget-exhausted").timer().count()).isEqualTo(budgetExhaustedRuns + 1);
+    userRepository.delete(dbUser);
+  }
+
+  private User createNotActivatedUser(String login) {
+    User notActivated = new User();
+    notActivated.setLogin(login);
+    notActivated.setPassword(RandomStringUtils.randomAlphanumeric(60));
+    notActivated.setActivated(false);
+    notActivated.setActivationKey(RandomStringUtils.randomAlphanumeric(20));
+    notActivated.setEmail(login + "@localhost");
+    notActivated.setLangKey(DEFAULT_LANGKEY);
+    return userRepository.saveAndFlush(notActivated);
+  }
 }
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.iqkv.sample.webmvc.dashboard.config.ApplicationProperties;
+import com.iqkv.sample.webmvc.dashboard.management.ConcurrencyLimitMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Unit tests for the {@link ConcurrencyLimitFilter} and {@link AdaptiveConcurrencyLimit} classes.
+ */
+class ConcurrencyLimitFilterTest {
+
+  private MeterRegistry meterRegistry;
+
+  private ConcurrencyLimitFilter filter;
+
+  @BeforeEach
+  public void setup() {
+    meterRegistry = new SimpleMeterRegistry();
+    ApplicationProperties.ConcurrencyLimit properties = new ApplicationProperties.ConcurrencyLimit();
+    properties.setInitialLimit(1);
+    properties.setMinLimit(1);
+    properties.setMaxLimit(1);
+    properties.setRetryAfter(Duration.ofMillis(1500));
+    filter = new ConcurrencyLimitFilter(properties, new ConcurrencyLimitMetersService(meterRegistry));
+  }
+
+  @Test
+  void shouldGroupRoutes() {
+    assertThat(ConcurrencyLimitFilter.group(request("/api/authenticate"))).isEqualTo(ConcurrencyLimitFilter.Group.AUTH);
+    assertThat(ConcurrencyLimitFilter.group(request("/api/account/reset-password/init"))).isEqualTo(ConcurrencyLimitFilter.Group.AUTH);
+    assertThat(ConcurrencyLimitFilter.group(request("/api/admin/users"))).isEqualTo(ConcurrencyLimitFilter.Group.ADMIN);
+    assertThat(ConcurrencyLimitFilter.group(request("/management/caches"))).isEqualTo(ConcurrencyLimitFilter.Group.ADMIN);
+    assertThat(ConcurrencyLimitFilter.group(request("/api/account"))).isEqualTo(ConcurrencyLimitFilter.Group.PUBLIC);
+    assertThat(ConcurrencyLimitFilter.group(request("/management/health/liveness"))).isNull();
+    assertThat(ConcurrencyLimitFilter.group(request("/index.html"))).isNull();
+  }
+
+  @Test
+  void shouldRejectBeyondLimitOfGroup() throws IOException, ServletException {
+    AtomicReference<MockHttpServletResponse> sameGroup = new AtomicReference<>();
+    AtomicReference<MockHttpServletResponse> otherGroup = new AtomicReference<>();
+    AtomicReference<MockHttpServletResponse> healthProbe = new AtomicReference<>();
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    filter.doFilter(request("/api/account"), response, (FilterChain) (req, res) -> {
+      sameGroup.set(filter("/api/account"));
+      otherGroup.set(filter("/api/authenticate"));
+      healthProbe.set(filter("/management/health"));
+    });
+
+    assertThat(response.getStatus()).isEqualTo(200);
+    assertThat(sameGroup.get().getStatus()).isEqualTo(503);
+    assertThat(sameGroup.get().getHeader("Retry-After")).isEqualTo("2");
+    assertThat(otherGroup.get().getStatus()).isEqualTo(200);
+    assertThat(healthProbe.get().getStatus()).isEqualTo(200);
+    assertThat(meterRegistry.get("http.server.concurrency.rejected").tag("group", "public").counter().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("http.server.concurrency.in-flight").tag("group", "public").gauge().value()).isZero();
+
+    assertThat(filter("/api/account").getStatus()).isEqualTo(200);
+  }
+
+  @Test
+  void shouldShrinkLimitWhenLatencyRises() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 4, 500, 2.0, 0.2);
+    saturate(limit, TimeUnit.MILLISECONDS.toNanos(10), 1000);
+    int steadyLimit = limit.getLimit();
+
+    saturate(limit, TimeUnit.MILLISECONDS.toNanos(200), 50);
+
+    assertThat(steadyLimit).isGreaterThan(50);
+    assertThat(limit.getLimit()).isLessThan(steadyLimit / 2);
+  }
+
+  @Test
+  void shouldKeepLimitWhenFarFromIt() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 4, 500, 2.0, 0.2);
+    for (int i = 0; i < 1000; i++) {
+      assertThat(limit.tryAcquire()).isTrue();
+      limit.release(TimeUnit.MILLISECONDS.toNanos(i < 500 ? 10 : 200));
+    }
+
+    assertThat(limit.getLimit()).isEqualTo(50);
+  }
+
+  /**
+   * Keeps the limit reached, completing requests of the given latency one at a time.
+   */
+  private static void saturate(AdaptiveConcurrencyLimit limit, long latencyNanos, int requests) {
+    while (limit.tryAcquire()) {
+      // Fill up to the limit
+    }
+    for (int i = 0; i < requests; i++) {
+      limit.release(latencyNanos);
+      while (limit.tryAcquire()) {
+        // Refill, the limit may have grown
+      }
+    }
+  }
+
+  private MockHttpServletResponse filter(String path) throws IOException, ServletException {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    filter.doFilter(request(path), response, new MockFilterChain());
+    return response;
+  }
+
+  private static MockHttpServletRequest request(String path) {
+    return new MockHttpServletRequest("GET", path);
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.time.Duration;
+
+import com.iqkv.sample.webmvc.dashboard.config.ApplicationProperties;
+import com.iqkv.sample.webmvc.dashboard.management.SecurityMetersService;
+import com.iqkv.sample.webmvc.dashboard.security.AuthenticationRateLimiter;
+import com.iqkv.sample.webmvc.dashboard.security.RateLimitedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Unit tests for the {@link RateLimitFilter} and {@link AuthenticationRateLimiter} classes.
+ */
+class RateLimitFilterTest {
+
+  private MeterRegistry meterRegistry;
+
+  private AuthenticationRateLimiter rateLimiter;
+
+  private RateLimitFilter filter;
+
+  @BeforeEach
+  public void setup() {
+    meterRegistry = new SimpleMeterRegistry();
+    ApplicationProperties applicationProperties = new ApplicationProperties();
+    ApplicationProperties.Security.RateLimit.Limit authenticate = applicationProperties.getSecurity().getRateLimit().getAuthenticate();
+    authenticate.setClientPermits(2);
+    authenticate.setKeyPermits(1);
+    authenticate.setPeriod(Duration.ofMinutes(1));
+    rateLimiter = new AuthenticationRateLimiter(applicationProperties, new SecurityMetersService(meterRegistry));
+    filter = new RateLimitFilter(rateLimiter);
+  }
+
+  @Test
+  void shouldMatchLimitedEndpoints() {
+    assertThat(RateLimitFilter.endpoint(request("POST", "/api/authenticate"))).isEqualTo(AuthenticationRateLimiter.Endpoint.AUTHENTICATE);
+    assertThat(RateLimitFilter.endpoint(request("POST", "/api/register"))).isEqualTo(AuthenticationRateLimiter.Endpoint.REGISTER);
+    assertThat(RateLimitFilter.endpoint(request("POST", "/api/account/reset-password/init"))).isEqualTo(
+        AuthenticationRateLimiter.Endpoint.RESET_PASSWORD
+    );
+    assertThat(RateLimitFilter.endpoint(request("GET", "/api/activate"))).isEqualTo(AuthenticationRateLimiter.Endpoint.ACTIVATE);
+    assertThat(RateLimitFilter.endpoint(request("GET", "/api/authenticate"))).isNull();
+    assertThat(RateLimitFilter.endpoint(request("POST", "/api/account/reset-password/finish"))).isNull();
+  }
+
+  @Test
+  void shouldThrottleClientWithRetryAfter() throws IOException, ServletException {
+    assertThat(filter("203.0.113.1").getStatus()).isEqualTo(200);
+    assertThat(filter("203.0.113.1").getStatus()).isEqualTo(200);
+
+    MockHttpServletResponse throttled = filter("203.0.113.1");
+
+    assertThat(throttled.getStatus()).isEqualTo(429);
+    assertThat(throttled.getHeader("Retry-After")).isEqualTo("30");
+    assertThat(filter("203.0.113.2").getStatus()).isEqualTo(200);
+    assertThat(
+        meterRegistry.get("security.authentication.throttled").tag("endpoint", "authenticate").tag("key", "client").counter().count()
+    ).isEqualTo(1);
+  }
+
+  @Test
+  void shouldThrottleTargetedLoginRegardlessOfCase() {
+    rateLimiter.checkKey(AuthenticationRateLimiter.Endpoint.AUTHENTICATE, "admin");
+
+    assertThatExceptionOfType(RateLimitedException.class).isThrownBy(() ->
+        rateLimiter.checkKey(AuthenticationRateLimiter.Endpoint.AUTHENTICATE, "ADMIN")
+    );
+    rateLimiter.checkKey(AuthenticationRateLimiter.Endpoint.AUTHENTICATE, "user");
+    assertThat(
+        meterRegistry.get("security.authentication.throttled").tag("endpoint", "authenticate").tag("key", "target").counter().count()
+    ).isEqualTo(1);
+  }
+
+  private MockHttpServletResponse filter(String remoteAddress) throws IOException, ServletException {
+    MockHttpServletRequest request = request("POST", "/api/authenticate");
+    request.setRemoteAddr(remoteAddress);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    filter.doFilter(request, response, new MockFilterChain());
+    return response;
+  }
+
+  private static MockHttpServletRequest request(String method, String path) {
+    return new MockHttpServletRequest(method, path);
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.web.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Cost per request of the {@link SpaWebFilter}, comparing the prefix trie with the former chain of
+ * {@code startsWith} checks and regular expression, for API calls, assets and client routes.
+ *
+ * <p>Run with {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.iqkv.sample.webmvc.dashboard.web.filter.SpaWebFilterBenchmark}, adding {@code -prof gc}
+ * to the runner options to compare allocations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpaWebFilterBenchmark {
+
+  @Param({ "/api/account", "/management/health/readiness", "/content/main.js", "/admin/user-management/edit" })
+  private String path;
+
+  private MockHttpServletRequest request;
+
+  private MockHttpServletResponse response;
+
+  private final FilterChain chain = (servletRequest, servletResponse) -> {};
+
+  private SpaWebFilter trieFilter;
+
+  private SpaWebFilter regexFilter;
+
+  @Setup
+  public void setup() {
+    request = new MockHttpServletRequest("GET", path);
+    response = new MockHttpServletResponse();
+    trieFilter = new SpaWebFilter();
+    regexFilter = new SpaWebFilter() {
+      @Override
+      boolean shouldForward(String uri, int from) {
+        String path = uri.substring(from);
+        return (
+          !path.startsWith("/api")
+          && !path.startsWith("/management")
+          && !path.startsWith("/v3/api-docs")
+          && !path.startsWith("/h2-console")
+          && !path.contains(".")
+          && path.matches("/(.*)")
+        );
+      }
+    };
+  }
+
+  @Benchmark
+  public Object trie() throws ServletException, IOException {
+    trieFilter.doFilterInternal(request, response, chain);
+    return response;
+  }
+
+  @Benchmark
+  public Object regex() throws ServletException, IOException {
+    regexFilter.doFilterInternal(request, response, chain);
+    return response;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(SpaWebFilterBenchmark.class.getSimpleName()).build()).run();
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iqkv.sample.webmvc.dashboard.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Unit tests for the {@link SpaWebFilter} class.
+ */
+class SpaWebFilterTest {
+
+  private final SpaWebFilter filter = new SpaWebFilter();
+
+  @Test
+  void shouldForwardClientRoutes() {
+    assertThat(filter.shouldForward("/", 0)).isTrue();
+    assertThat(filter.shouldForward("/admin/user-management", 0)).isTrue();
+    assertThat(filter.shouldForward("/account/settings", 0)).isTrue();
+    assertThat(filter.shouldForward("/ap", 0)).isTrue();
+  }
+
+  @Test
+  void shouldNotForwardExcludedPrefixesOrFiles() {
+    assertThat(filter.shouldForward("/api/account", 0)).isFalse();
+    assertThat(filter.shouldForward("/apis", 0)).isFalse();
+    assertThat(filter.shouldForward("/management/health", 0)).isFalse();
+    assertThat(filter.shouldForward("/v3/api-docs", 0)).isFalse();
+    assertThat(filter.shouldForward("/h2-console", 0)).isFalse();
+    assertThat(filter.shouldForward("/index.html", 0)).isFalse();
+    assertThat(filter.shouldForward("/content/images/logo.svg", 0)).isFalse();
+    assertThat(filter.shouldForward("/route\nsplit", 0)).isFalse();
+    assertThat(filter.shouldForward("", 0)).isFalse();
+  }
+
+  @Test
+  void shouldSkipContextPath() {
+    assertThat(filter.shouldForward("/dashboard/admin", "/dashboard".length())).isTrue();
+    assertThat(filter.shouldForward("/dashboard/api/account", "/dashboard".length())).isFalse();
+    assertThat(filter.shouldForward("/dashboard", "/dashboard".length())).isFalse();
+  }
+
+  @Test
+  void shouldUseConfiguredPrefixes() {
+    SpaWebFilter customFilter = new SpaWebFilter(List.of("/api", "/docs/"));
+
+    assertThat(customFilter.shouldForward("/docs/guide", 0)).isFalse();
+    assertThat(customFilter.shouldForward("/docs", 0)).isTrue();
+    assertThat(customFilter.shouldForward("/management/health", 0)).isTrue();
+  }
+
+  @Test
+  void shouldForwardToIndex() throws IOException, ServletException {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    filter.doFilter(new MockHttpServletRequest("GET", "/admin/metrics"), response, new MockFilterChain());
+
+    assertThat(response.getForwardedUrl()).isEqualTo("/index.html");
+  }
+}
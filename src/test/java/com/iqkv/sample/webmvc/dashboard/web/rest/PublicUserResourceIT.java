@@ -18,19 +18,24 @@ package com.iqkv.sample.webmvc.dashboard.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.hamcrest.Matchers.containsString;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import jakarta.persistence.EntityManager;
 import java.util.Objects;
 import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import com.iqkv.sample.webmvc.dashboard.IntegrationTest;
 import com.iqkv.sample.webmvc.dashboard.domain.User;
 import com.iqkv.sample.webmvc.dashboard.repository.UserRepository;
 import com.iqkv.boot.security.AuthoritiesConstants;
 import com.iqkv.sample.webmvc.dashboard.service.UserService;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -38,9 +43,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -125,4 +132,38 @@ class PublicUserResourceIT {
         .andExpect(status().isBadRequest());
     restUserMockMvc.perform(get("/api/users?sort=id,desc").accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
   }
+
+  @Test
+  @Transactional
+  void getAllPublicUsersWithCursor() throws Exception {
+    // Initialize the database
+    userRepository.saveAndFlush(user);
+
+    MvcResult firstPage = restUserMockMvc
+        .perform(get("/api/users?sort=login,asc&size=1&cursor=").accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(header().doesNotExist("X-Total-Count"))
+        .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+        .andReturn();
+
+    String firstLogin = JsonPath.read(firstPage.getResponse().getContentAsString(), "$[0].login");
+    Matcher next = Pattern.compile("cursor=([^&>]+)[^>]*>; rel=\"next\"").matcher(firstPage.getResponse().getHeader(HttpHeaders.LINK));
+    assertThat(next.find()).isTrue();
+
+    MvcResult secondPage = restUserMockMvc
+        .perform(get("/api/users?sort=login,asc&size=1&cursor=" + next.group(1)).accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1))
+        .andReturn();
+    String secondLogin = JsonPath.read(secondPage.getResponse().getContentAsString(), "$[0].login");
+    assertThat(secondLogin).isGreaterThan(firstLogin);
+  }
+
+  @Test
+  @Transactional
+  void getAllPublicUsersWithInvalidCursor() throws Exception {
+    restUserMockMvc.perform(get("/api/users?sort=firstName,asc&cursor=").accept(MediaType.APPLICATION_JSON)).andExpect(status().isBadRequest());
+    restUserMockMvc.perform(get("/api/users?sort=login,asc&cursor=not-a-cursor").accept(MediaType.APPLICATION_JSON)).andExpect(status().isBadRequest());
+  }
 }
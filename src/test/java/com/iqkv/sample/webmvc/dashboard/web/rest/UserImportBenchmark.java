@@ -0,0 +1,127 @@
+/*
+ * Copyright 2025 IQKV Team.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.iqkv.sample.webmvc.dashboard.web.rest;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.iqkv.sample.webmvc.dashboard.security.BulkPasswordEncoder;
+import com.iqkv.sample.webmvc.dashboard.service.dto.UserImportRow;
+import com.iqkv.sample.webmvc.dashboard.web.rest.vm.ManagedUserVM;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Rows per second through the CPU-bound part of a user import, reading and validating a chunk of CSV rows then
+ * hashing their passwords, one after the other as {@code POST /api/admin/users} does or with the
+ * {@link BulkPasswordEncoder}. The database part, two lookups and one batched insert per chunk, is not measured.
+ *
+ * <p>Run with {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.iqkv.sample.webmvc.dashboard.web.rest.UserImportBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class UserImportBenchmark {
+
+  private static final int ROWS = 64;
+
+  @Param({"6", "10"})
+  private int strength;
+
+  private String csv;
+
+  private ObjectReader jsonReader;
+
+  private Validator validator;
+
+  private BCryptPasswordEncoder sequentialEncoder;
+
+  private BulkPasswordEncoder bulkEncoder;
+
+  @Setup
+  public void setup() {
+    StringBuilder builder = new StringBuilder("login,email,firstName,lastName,langKey,password\n");
+    for (int i = 0; i < ROWS; i++) {
+      builder.append("user").append(i).append(",user").append(i).append("@localhost,First,\"Last, ").append(i).append("\",en,password").append(i).append('\n');
+    }
+    csv = builder.toString();
+    jsonReader = new ObjectMapper().readerFor(ManagedUserVM.class);
+    validator = Validation.buildDefaultValidatorFactory().getValidator();
+    sequentialEncoder = new BCryptPasswordEncoder(strength);
+    bulkEncoder = new BulkPasswordEncoder(strength, Runtime.getRuntime().availableProcessors());
+  }
+
+  @TearDown
+  public void tearDown() {
+    bulkEncoder.shutdown();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public List<String> sequentialHashing() {
+    List<String> hashes = new ArrayList<>(ROWS);
+    for (String password : readPasswords()) {
+      hashes.add(sequentialEncoder.encode(password));
+    }
+    return hashes;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public List<String> parallelHashing() {
+    return bulkEncoder.encodeAll(readPasswords());
+  }
+
+  private List<String> readPasswords() {
+    UserImportReader reader = new UserImportReader(new BufferedReader(new StringReader(csv)), true, jsonReader, validator);
+    List<String> passwords = new ArrayList<>(ROWS);
+    while (reader.hasNext()) {
+      UserImportRow row = reader.next();
+      passwords.add(row.password());
+    }
+    return passwords;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(UserImportBenchmark.class.getSimpleName()).build()).run();
+  }
+}
@@ -17,24 +17,31 @@
 package com.iqkv.sample.webmvc.dashboard.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import jakarta.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.iqkv.boot.security.AuthoritiesConstants;
 import com.iqkv.sample.webmvc.dashboard.IntegrationTest;
+import com.iqkv.sample.webmvc.dashboard.domain.Authority;
 import com.iqkv.sample.webmvc.dashboard.domain.User;
 import com.iqkv.sample.webmvc.dashboard.repository.UserRepository;
 import com.iqkv.sample.webmvc.dashboard.service.UserService;
@@ -48,9 +55,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -102,6 +112,9 @@ class UserResourceIT {
   @Autowired
   private CacheManager cacheManager;
 
+  @Autowired
+  private PasswordEncoder passwordEncoder;
+
   @Autowired
   private MockMvc restUserMockMvc;
 
@@ -294,6 +307,132 @@ class UserResourceIT {
         .andExpect(jsonPath("$.[*].langKey").value(hasItem(DEFAULT_LANGKEY)));
   }
 
+  @Test
+  @Transactional
+  void importUsersFromCsv() throws Exception {
+    String csv = String.join(
+        "\n",
+        "login,email,firstName,lastName,authorities,password",
+        DEFAULT_LOGIN + "," + DEFAULT_EMAIL + ",\"" + DEFAULT_FIRSTNAME + ", Jr\"," + DEFAULT_LASTNAME + ",ROLE_USER ROLE_ADMIN," + DEFAULT_PASSWORD,
+        "anotherlogin,anothermail@localhost,,,,",
+        "",
+        DEFAULT_LOGIN.toUpperCase() + ",thirdmail@localhost,,,,",
+        "admin,fourthmail@localhost,,,,",
+        "fifthlogin,not-an-email,,,,",
+        "sixthlogin,\"unterminated,,,,"
+    );
+
+    restUserMockMvc
+        .perform(post("/api/admin/import/users").contentType("text/csv").content(csv))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.imported").value(2))
+        .andExpect(jsonPath("$.rejected").value(4))
+        .andExpect(jsonPath("$.errors[*].line").value(contains(7, 8, 5, 6)));
+
+    User imported = userRepository.findOneWithAuthoritiesByLogin(DEFAULT_LOGIN).orElseThrow();
+    assertThat(imported.getEmail()).isEqualTo(DEFAULT_EMAIL);
+    assertThat(imported.getFirstName()).isEqualTo(DEFAULT_FIRSTNAME + ", Jr");
+    assertThat(imported.isActivated()).isTrue();
+    assertThat(imported.getAuthorities()).extracting(Authority::getName).containsExactlyInAnyOrder(AuthoritiesConstants.USER, AuthoritiesConstants.ADMIN);
+    assertThat(passwordEncoder.matches(DEFAULT_PASSWORD, imported.getPassword())).isTrue();
+    assertThat(userRepository.findOneByLogin("anotherlogin")).isPresent();
+  }
+
+  @Test
+  @Transactional
+  void importUsersFromNdjson() throws Exception {
+    AdminUserDTO userDTO = new AdminUserDTO();
+    userDTO.setLogin(UPDATED_LOGIN);
+    userDTO.setEmail(UPDATED_EMAIL);
+    userDTO.setLangKey(UPDATED_LANGKEY);
+    String ndjson = om.writeValueAsString(userDTO) + "\n{\"login\": \n";
+
+    restUserMockMvc
+        .perform(post("/api/admin/import/users").contentType(MediaType.APPLICATION_NDJSON).content(ndjson))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.imported").value(1))
+        .andExpect(jsonPath("$.rejected").value(1))
+        .andExpect(jsonPath("$.errors[0].line").value(2));
+
+    assertThat(userRepository.findOneByLogin(UPDATED_LOGIN)).hasValueSatisfying(imported ->
+        assertThat(imported.getLangKey()).isEqualTo(UPDATED_LANGKEY)
+    );
+  }
+
+  @Test
+  @Transactional
+  void importUsersWithInvalidCsvHeader() throws Exception {
+    restUserMockMvc
+        .perform(post("/api/admin/import/users").contentType("text/csv").content("login,nickname\n" + DEFAULT_LOGIN + ",john"))
+        .andExpect(status().isBadRequest());
+
+    assertThat(userRepository.findOneByLogin(DEFAULT_LOGIN)).isEmpty();
+  }
+
+  @Test
+  @Transactional
+  void exportUsers() throws Exception {
+    // Initialize the database
+    userRepository.saveAndFlush(user);
+
+    // Export all the users
+    MvcResult result = restUserMockMvc
+        .perform(get("/api/admin/export/users").accept(MediaType.APPLICATION_NDJSON))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+        .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+        .andReturn();
+
+    assertExportedUsers(result.getResponse().getContentAsString());
+  }
+
+  @Test
+  @Transactional
+  void exportUsersGzipped() throws Exception {
+    // Initialize the database
+    userRepository.saveAndFlush(user);
+
+    // Export all the users
+    MvcResult result = restUserMockMvc
+        .perform(get("/api/admin/export/users").accept(MediaType.APPLICATION_NDJSON).header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+        .andReturn();
+
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+      assertExportedUsers(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  @Transactional
+  void exportUsersNotGzippedWhenRefused() throws Exception {
+    // Initialize the database
+    userRepository.saveAndFlush(user);
+
+    // Export all the users
+    MvcResult result = restUserMockMvc
+        .perform(get("/api/admin/export/users").accept(MediaType.APPLICATION_NDJSON).header(HttpHeaders.ACCEPT_ENCODING, "GZIP;q=0, deflate"))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+        .andReturn();
+
+    assertExportedUsers(result.getResponse().getContentAsString());
+  }
+
+  private void assertExportedUsers(String body) throws Exception {
+    assertThat(body).endsWith("\n");
+    List<AdminUserDTO> exported = new ArrayList<>();
+    for (String line : body.split("\n")) {
+      exported.add(om.readValue(line, AdminUserDTO.class));
+    }
+    assertThat(exported).hasSize(numberOfUsers.intValue() + 1);
+    assertThat(exported).extracting(AdminUserDTO::getId).isSorted();
+    assertThat(exported).extracting(AdminUserDTO::getLogin).contains(DEFAULT_LOGIN);
+    assertThat(exported).filteredOn(dto -> "admin".equals(dto.getLogin())).singleElement()
+        .satisfies(admin -> assertThat(admin.getAuthorities()).contains(AuthoritiesConstants.ADMIN));
+  }
+
   @Test
   @Transactional
   void getUser() throws Exception {
@@ -102,6 +102,16 @@ class ExceptionTranslatorIT {
         .andExpect(jsonPath("$.detail").value("test authentication failed!"));
   }
 
+  @Test
+  void testPasswordHashingRejected() throws Exception {
+    mockMvc
+        .perform(get("/api/exception-translator-test/password-hashing-rejected"))
+        .andExpect(status().isTooManyRequests())
+        .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+        .andExpect(jsonPath("$.message").value("error.http.429"))
+        .andExpect(jsonPath("$.title").value("Too many password hashing requests"));
+  }
+
   @Test
   void testMethodNotSupported() throws Exception {
     mockMvc
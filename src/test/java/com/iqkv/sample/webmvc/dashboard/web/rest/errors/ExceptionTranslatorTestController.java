@@ -19,6 +19,7 @@ package com.iqkv.sample.webmvc.dashboard.web.rest.errors;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 
+import com.iqkv.sample.webmvc.dashboard.security.PasswordHashingRejectedException;
 import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
@@ -63,6 +64,11 @@ public class ExceptionTranslatorTestController {
     throw new BadCredentialsException("test authentication failed!");
   }
 
+  @GetMapping("/password-hashing-rejected")
+  public void passwordHashingRejected() {
+    throw new PasswordHashingRejectedException();
+  }
+
   @GetMapping("/response-status")
   public void exceptionWithResponseStatus() {
     throw new TestResponseStatusException();